@@ -0,0 +1,83 @@
+package codearchitect99.taskory;
+
+import codearchitect99.taskory.event.Event;
+import codearchitect99.taskory.hashtag.Hashtag;
+import codearchitect99.taskory.tag.model.Color;
+import codearchitect99.taskory.tag.model.Tag;
+import codearchitect99.taskory.task.model.Status;
+import codearchitect99.taskory.task.model.Task;
+import codearchitect99.taskory.task.model.TaskItem;
+import codearchitect99.taskory.user.model.Role;
+import codearchitect99.taskory.user.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like a typical account, for benchmarks that need no database.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        return User.builder().id(1L).username("benchmark").roles(List.of(Role.USER)).build();
+    }
+
+    public static Tag tag(long id) {
+        return Tag.builder().id(id).user(user()).title("tag " + id).color(Color.BLUE).build();
+    }
+
+    public static List<Hashtag> hashtags(int count) {
+        List<Hashtag> hashtags = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Hashtag hashtag = new Hashtag();
+            hashtag.setId(id);
+            hashtag.setTitle("hashtag" + id);
+            hashtags.add(hashtag);
+        }
+        return hashtags;
+    }
+
+    public static Event event(long id, int tasks, int hashtags) {
+        LocalDateTime start = LocalDateTime.of(2024, 7, 1, 9, 0);
+        Event event = Event.builder()
+                .id(id)
+                .user(user())
+                .title("event " + id)
+                .description("benchmark event")
+                .location("office")
+                .tag(tag(1))
+                .startDateTime(start)
+                .dueDateTime(start.plusDays(2))
+                .hashtags(hashtags(hashtags))
+                .tasks(new ArrayList<>())
+                .build();
+        for (long taskId = 1; taskId <= tasks; taskId++) {
+            event.getTasks().add(task(taskId, null, 0, 0));
+        }
+        return event;
+    }
+
+    public static Task task(long id, Event event, int items, int hashtags) {
+        Task task = Task.builder()
+                .id(id)
+                .user(user())
+                .title("task " + id)
+                .description("benchmark task")
+                .status(Status.TODO)
+                .deadline(LocalDate.of(2024, 7, 3))
+                .tag(tag(1))
+                .event(event)
+                .hashtags(hashtags(hashtags))
+                .items(new ArrayList<>())
+                .build();
+        for (long itemId = 1; itemId <= items; itemId++) {
+            task.getItems().add(TaskItem.builder().id(itemId).task(task).title("item " + itemId).completed(itemId % 2 == 0).build());
+        }
+        return task;
+    }
+}
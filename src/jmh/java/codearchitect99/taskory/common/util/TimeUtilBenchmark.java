@@ -0,0 +1,28 @@
+package codearchitect99.taskory.common.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date-time parsing and formatting done for every event request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeUtilBenchmark {
+
+    private final String dateTimeString = "2024-07-01T09:30";
+    private final LocalDateTime dateTime = LocalDateTime.of(2024, 7, 1, 9, 30);
+
+    @Benchmark
+    public LocalDateTime stringToLocalDateTime() {
+        return TimeUtil.stringToLocalDateTime(dateTimeString);
+    }
+
+    @Benchmark
+    public String localDateTimeToString() {
+        return TimeUtil.localDateTimeToString(dateTime);
+    }
+}
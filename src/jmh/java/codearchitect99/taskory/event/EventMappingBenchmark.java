@@ -0,0 +1,37 @@
+package codearchitect99.taskory.event;
+
+import codearchitect99.taskory.BenchmarkFixtures;
+import codearchitect99.taskory.event.payload.EventResponse;
+import codearchitect99.taskory.event.payload.EventSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping an event entity graph to its response payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventMappingBenchmark {
+
+    @Param({"0", "20"})
+    public int tasks;
+
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        event = BenchmarkFixtures.event(1, tasks, 3);
+    }
+
+    @Benchmark
+    public EventSummary eventSummary() {
+        return new EventSummary(event);
+    }
+
+    @Benchmark
+    public EventResponse eventResponse() {
+        return new EventResponse(event);
+    }
+}
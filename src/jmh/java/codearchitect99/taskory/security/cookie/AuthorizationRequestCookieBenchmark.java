@@ -0,0 +1,72 @@
+package codearchitect99.taskory.security.cookie;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java serialization ({@link CookieUtil#serialize}) against {@link OAuth2AuthorizationRequestCodec}
+ * for the OAuth2 authorization request cookie. The cookie sizes are asserted in OAuth2AuthorizationRequestCodecTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthorizationRequestCookieBenchmark {
+
+    private OAuth2AuthorizationRequestCodec codec;
+    private OAuth2AuthorizationRequest authorizationRequest;
+    private String serializedCookie;
+    private String encodedCookie;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("codearchitect99")).setLevel(Level.WARN);
+
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        codec = new OAuth2AuthorizationRequestCodec(Base64.getEncoder().encodeToString(keyBytes));
+
+        // Shaped like the request Spring builds for Google login
+        authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("123456789012-abcdefghijklmnopqrstuvwxyz012345.apps.googleusercontent.com")
+                .redirectUri("http://localhost:8080/oauth2/code/google")
+                .scopes(Set.of("openid", "profile", "email"))
+                .state("4x2Jk9bQ0cVw1zY7rT5uN3mL8pHs6dFgA1eC2bD3fE4=")
+                .additionalParameters(Map.of("nonce", "u8sVt2W3xY4zA5bC6dE7fG8hI9jK0lM1nO2pQ3rS4tU"))
+                .attributes(Map.of("registration_id", "google", "nonce", "Zx9Yw8Vu7Ts6Rq5Po4Nm3Lk2Ji1Hg0Fe9Dc8Ba7Zy6X"))
+                .build();
+
+        serializedCookie = CookieUtil.serialize(authorizationRequest);
+        encodedCookie = codec.encode(authorizationRequest);
+    }
+
+    @Benchmark
+    public String serializationEncode() {
+        return CookieUtil.serialize(authorizationRequest);
+    }
+
+    @Benchmark
+    public OAuth2AuthorizationRequest serializationDecode() {
+        return CookieUtil.deserialize(serializedCookie, OAuth2AuthorizationRequest.class);
+    }
+
+    @Benchmark
+    public String codecEncode() {
+        return codec.encode(authorizationRequest);
+    }
+
+    @Benchmark
+    public Optional<OAuth2AuthorizationRequest> codecDecode() {
+        return codec.decode(encodedCookie);
+    }
+}
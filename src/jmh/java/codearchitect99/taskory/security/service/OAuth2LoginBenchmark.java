@@ -0,0 +1,191 @@
+package codearchitect99.taskory.security.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import codearchitect99.taskory.security.cookie.HttpCookieOAuth2AuthorizationRequestRepository;
+import codearchitect99.taskory.security.cookie.OAuth2AuthorizationRequestCodec;
+import codearchitect99.taskory.security.handler.OAuth2AuthenticationSuccessHandler;
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.security.token.RefreshTokenService;
+import codearchitect99.taskory.security.token.TokenServiceImpl;
+import codearchitect99.taskory.user.SocialAccountRepository;
+import codearchitect99.taskory.user.UserRepository;
+import codearchitect99.taskory.user.UserService;
+import codearchitect99.taskory.user.model.Role;
+import codearchitect99.taskory.user.model.SocialAccount;
+import codearchitect99.taskory.user.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Concurrent OAuth2 logins of returning users against a local stand-in for the identity provider.
+ * Repositories are stubs that wait for a simulated database round trip, so the numbers show how many
+ * round trips a login costs: {@code loginUncached} looks the social account up once and saves nothing,
+ * {@code loginCached} skips the lookup entirely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class OAuth2LoginBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final long DB_ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private HttpServer identityProvider;
+    private ExecutorService identityProviderExecutor;
+    private OAuth2UserRequest[] userRequests;
+    private CustomOAuth2UserService cachedUserService;
+    private CustomOAuth2UserService uncachedUserService;
+    private OAuth2AuthenticationSuccessHandler successHandler;
+
+    @State(Scope.Thread)
+    public static class Login {
+        private int next;
+
+        int nextUser() {
+            next = (next + 1) % USERS;
+            return next;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        ((Logger) LoggerFactory.getLogger("codearchitect99")).setLevel(Level.WARN);
+
+        // Userinfo endpoint answering for the user named in the bearer token
+        identityProvider = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        identityProviderExecutor = Executors.newFixedThreadPool(16);
+        identityProvider.setExecutor(identityProviderExecutor);
+        identityProvider.createContext("/userinfo", exchange -> {
+            String user = exchange.getRequestHeaders().getFirst("Authorization").substring("Bearer user-".length());
+            byte[] body = ("{\"sub\":\"sub-" + user + "\",\"email\":\"user" + user + "@example.com\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        identityProvider.start();
+
+        ClientRegistration clientRegistration = ClientRegistration.withRegistrationId("google")
+                .clientId("client-id")
+                .clientSecret("client-secret")
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .redirectUri("http://localhost:8080/oauth2/code/google")
+                .authorizationUri("http://localhost/authorize")
+                .tokenUri("http://localhost/token")
+                .userInfoUri("http://localhost:" + identityProvider.getAddress().getPort() + "/userinfo")
+                .userNameAttributeName("sub")
+                .build();
+
+        Map<String, SocialAccount> socialAccounts = new HashMap<>();
+        Map<Long, User> users = new HashMap<>();
+        userRequests = new OAuth2UserRequest[USERS];
+        for (int i = 0; i < USERS; i++) {
+            String email = "user" + i + "@example.com";
+            User user = User.builder().id((long) i).username(email).roles(List.of(Role.USER)).build();
+            users.put(user.getId(), user);
+            socialAccounts.put(email, SocialAccount.builder()
+                    .id((long) i).user(user).subId("sub-" + i).username(email).provider("google").build());
+            OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "user-" + i,
+                    Instant.now(), Instant.now().plus(Duration.ofDays(1)));
+            userRequests[i] = new OAuth2UserRequest(clientRegistration, accessToken);
+        }
+
+        SocialAccountRepository socialAccountRepository = mock(SocialAccountRepository.class, withSettings().stubOnly());
+        when(socialAccountRepository.findByUsername(anyString())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(DB_ROUND_TRIP_NANOS);
+            return Optional.ofNullable(socialAccounts.get(invocation.<String>getArgument(0)));
+        });
+        when(socialAccountRepository.save(any())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(DB_ROUND_TRIP_NANOS);
+            return invocation.getArgument(0);
+        });
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(DB_ROUND_TRIP_NANOS);
+            return Optional.ofNullable(users.get(invocation.<Long>getArgument(0)));
+        });
+        UserService userService = mock(UserService.class, withSettings().stubOnly());
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(userRepository, 10_000, Duration.ofMinutes(5));
+
+        cachedUserService = new CustomOAuth2UserService(socialAccountRepository, userService,
+                new SocialAccountCache(10_000, Duration.ofHours(1)), userPrincipalCache);
+        uncachedUserService = new CustomOAuth2UserService(socialAccountRepository, userService,
+                new SocialAccountCache(0, Duration.ofHours(1)), userPrincipalCache);
+
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        String key = Base64.getEncoder().encodeToString(keyBytes);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class, withSettings().stubOnly());
+        when(refreshTokenService.issue(anyLong())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(DB_ROUND_TRIP_NANOS);
+            return "refresh-token";
+        });
+        when(refreshTokenService.getRefreshTtl()).thenReturn(Duration.ofDays(14));
+        successHandler = new OAuth2AuthenticationSuccessHandler(
+                new HttpCookieOAuth2AuthorizationRequestRepository(new OAuth2AuthorizationRequestCodec(key)),
+                new TokenServiceImpl(Duration.ofMinutes(15), key, 10_000),
+                refreshTokenService,
+                new ObjectMapper(),
+                List.of("http://localhost:3000/oauth2/redirect"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        identityProvider.stop(0);
+        identityProviderExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public OAuth2User loginUncached(Login login) {
+        return uncachedUserService.loadUser(userRequests[login.nextUser()]);
+    }
+
+    @Benchmark
+    public OAuth2User loginCached(Login login) {
+        return cachedUserService.loadUser(userRequests[login.nextUser()]);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse loginAndRedirect(Login login) throws IOException {
+        UserPrincipal userPrincipal = (UserPrincipal) cachedUserService.loadUser(userRequests[login.nextUser()]);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oauth2/code/google");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        successHandler.onAuthenticationSuccess(request, response,
+                new OAuth2AuthenticationToken(userPrincipal, userPrincipal.getAuthorities(), "google"));
+        return response;
+    }
+}
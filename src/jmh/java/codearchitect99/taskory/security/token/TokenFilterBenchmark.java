@@ -0,0 +1,95 @@
+package codearchitect99.taskory.security.token;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.security.service.CustomUserDetailsService;
+import codearchitect99.taskory.security.service.UserPrincipalCache;
+import codearchitect99.taskory.user.UserRepository;
+import codearchitect99.taskory.user.model.Role;
+import codearchitect99.taskory.user.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of authenticating one request with a bearer token.
+ * {@code legacy*} repeats what the filter did before: verify the token, then parse it again for the user id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenFilterBenchmark {
+
+    private TokenServiceImpl cachedTokenService;
+    private TokenServiceImpl uncachedTokenService;
+    private TokenFilter tokenFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("codearchitect99")).setLevel(Level.WARN);
+
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        String key = Base64.getEncoder().encodeToString(keyBytes);
+        cachedTokenService = new TokenServiceImpl(Duration.ofHours(1), key, 10_000);
+        uncachedTokenService = new TokenServiceImpl(Duration.ofHours(1), key, 0);
+
+        User user = User.builder().id(1L).username("benchmark").roles(List.of(Role.USER)).build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(userRepository, 10_000, Duration.ofMinutes(5));
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(mock(RevokedTokenRepository.class), 100_000, 0.001);
+        tokenFilter = new TokenFilter(cachedTokenService, new CustomUserDetailsService(userRepository, userPrincipalCache), tokenRevocationService);
+
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+        token = cachedTokenService.createToken(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities()));
+    }
+
+    @Benchmark
+    public Long legacyDoubleParse() {
+        if (uncachedTokenService.isValidatedToken(token)) {
+            return uncachedTokenService.getUserIdFromToken(token);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifySingleParse() {
+        return uncachedTokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyCached() {
+        return cachedTokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            tokenFilter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
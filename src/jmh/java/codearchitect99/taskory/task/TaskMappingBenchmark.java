@@ -0,0 +1,38 @@
+package codearchitect99.taskory.task;
+
+import codearchitect99.taskory.BenchmarkFixtures;
+import codearchitect99.taskory.task.model.Task;
+import codearchitect99.taskory.task.payload.TaskResponse;
+import codearchitect99.taskory.task.payload.TaskSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a task entity graph to its response payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMappingBenchmark {
+
+    @Param({"0", "20"})
+    public int items;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkFixtures.task(1, BenchmarkFixtures.event(1, 0, 2), items, 3);
+    }
+
+    @Benchmark
+    public TaskSummary taskSummary() {
+        return new TaskSummary(task);
+    }
+
+    @Benchmark
+    public TaskResponse taskResponse() {
+        return new TaskResponse(task);
+    }
+}
@@ -0,0 +1,48 @@
+package codearchitect99.taskory.task.service;
+
+import codearchitect99.taskory.BenchmarkFixtures;
+import codearchitect99.taskory.task.model.Task;
+import codearchitect99.taskory.task.model.TaskItem;
+import codearchitect99.taskory.task.payload.TaskItemDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item diffing of a task update: half of the stored items are kept and edited,
+ * the other half are removed, and as many new items are added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskItemDiffBenchmark {
+
+    @Param({"10", "200"})
+    public int items;
+
+    private Task task;
+    private List<TaskItem> existingItems;
+    private List<TaskItemDto> requestedItems;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkFixtures.task(1, null, items, 0);
+        existingItems = List.copyOf(task.getItems());
+        requestedItems = new ArrayList<>();
+        for (TaskItem item : existingItems) {
+            if (item.getId() % 2 == 0) {
+                requestedItems.add(new TaskItemDto(item.getId(), task.getId(), item.getTitle() + " edited", !item.isCompleted()));
+            }
+        }
+        for (int i = 0; i < items / 2; i++) {
+            requestedItems.add(new TaskItemDto(null, task.getId(), "new item " + i, false));
+        }
+    }
+
+    @Benchmark
+    public TaskItemDiff diff() {
+        return TaskItemDiff.of(task, existingItems, requestedItems);
+    }
+}
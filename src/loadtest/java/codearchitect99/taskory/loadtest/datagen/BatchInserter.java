@@ -0,0 +1,64 @@
+package codearchitect99.taskory.loadtest.datagen;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers rows of several insert statements and writes them with JDBC batches.
+ * Statements are flushed in the order they were registered, so parents registered first
+ * are always written before the rows that reference them.
+ */
+class BatchInserter {
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<String, List<Object[]>> rowsBySql = new LinkedHashMap<>();
+    private int buffered;
+    private long written;
+
+    BatchInserter(JdbcTemplate jdbcTemplate, int batchSize, String... insertSqls) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        for (String sql : insertSqls) {
+            rowsBySql.put(sql, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Buffers one row, flushing every statement once the batch size is reached.
+     *
+     * @param sql a registered insert statement
+     * @param row the parameters of the row
+     */
+    void add(String sql, Object... row) {
+        List<Object[]> rows = rowsBySql.get(sql);
+        if (rows == null) {
+            throw new IllegalArgumentException("Unregistered statement: " + sql);
+        }
+        rows.add(row);
+        if (++buffered >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all buffered rows in registration order.
+     */
+    void flush() {
+        for (Map.Entry<String, List<Object[]>> entry : rowsBySql.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                jdbcTemplate.batchUpdate(entry.getKey(), entry.getValue());
+                written += entry.getValue().size();
+                entry.getValue().clear();
+            }
+        }
+        buffered = 0;
+    }
+
+    long getWritten() {
+        return written;
+    }
+}
@@ -0,0 +1,285 @@
+package codearchitect99.taskory.loadtest.datagen;
+
+import codearchitect99.taskory.routine.model.Routine;
+import codearchitect99.taskory.routine.repository.RoutineRepository;
+import codearchitect99.taskory.tag.model.Color;
+import codearchitect99.taskory.task.model.Status;
+import codearchitect99.taskory.user.UserRepository;
+import codearchitect99.taskory.user.model.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the embedded load test database with a synthetic dataset of a chosen scale.
+ * Sizes follow skewed distributions instead of fixed counts: a few heavy users own most tasks,
+ * a few hashtags of every user carry most usages, and routines have years of check history.
+ * Rows are written with JDBC batches, one transaction per chunk of users.
+ * Generation is skipped when the database already holds users, so restarts reuse the dataset.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@Order(1)
+public class DatasetGenerator implements ApplicationRunner {
+    private static final String INSERT_USER = "INSERT INTO User (user_id, username, disabled) VALUES (?, ?, false)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO User_roles (user_id, roles) VALUES (?, ?)";
+    private static final String INSERT_TAG = "INSERT INTO Tag (tag_id, user_id, title, color) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_HASHTAG = "INSERT INTO Hashtag (hashtag_id, user_id, title) VALUES (?, ?, ?)";
+    private static final String INSERT_HASHTAG_USAGE = "INSERT INTO HashtagUsage (hashtag_id, user_id, usage_count) VALUES (?, ?, ?)";
+    private static final String INSERT_EVENT = "INSERT INTO Event (event_id, user_id, title, tag_id, description, start_date_time, due_date_time, location) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EVENT_HASHTAG = "INSERT INTO Event_hashtags (Event_event_id, hashtags_hashtag_id) VALUES (?, ?)";
+    private static final String INSERT_TASK = "INSERT INTO Task (task_id, user_id, title, event_id, tag_id, description, status, deadline) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TASK_HASHTAG = "INSERT INTO Task_hashtags (Task_task_id, hashtags_hashtag_id) VALUES (?, ?)";
+    private static final String INSERT_TASK_ITEM = "INSERT INTO TaskItem (task_id, title, completed) VALUES (?, ?, ?)";
+    private static final String INSERT_ROUTINE_HISTORY = "INSERT INTO RoutineHistory (user_id, routine_id, checked_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final RoutineRepository routineRepository;
+
+    @Value("${app.loadtest.datagen.users}")
+    private int users;
+
+    @Value("${app.loadtest.datagen.seed}")
+    private long seed;
+
+    @Value("${app.loadtest.datagen.batch-size}")
+    private int batchSize;
+
+    @Value("${app.loadtest.datagen.users-per-transaction}")
+    private int usersPerTransaction;
+
+    @Value("${app.loadtest.datagen.years}")
+    private int years;
+
+    @Value("${app.loadtest.datagen.tags-per-user}")
+    private int tagsPerUser;
+
+    @Value("${app.loadtest.datagen.hashtags-per-user}")
+    private int hashtagsPerUser;
+
+    @Value("${app.loadtest.datagen.mean-tasks-per-user}")
+    private int meanTasksPerUser;
+
+    @Value("${app.loadtest.datagen.max-items-per-task}")
+    private int maxItemsPerTask;
+
+    @Value("${app.loadtest.datagen.max-hashtags-per-entry}")
+    private int maxHashtagsPerEntry;
+
+    @Value("${app.loadtest.datagen.events-per-year}")
+    private int eventsPerYear;
+
+    @Value("${app.loadtest.datagen.routines-per-user}")
+    private int routinesPerUser;
+
+    @Value("${app.loadtest.datagen.routine-check-rate}")
+    private double routineCheckRate;
+
+    private long nextTagId = 1;
+    private long nextHashtagId = 1;
+    private long nextEventId = 1;
+    private long nextTaskId = 1;
+
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            UserRepository userRepository, RoutineRepository routineRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.routineRepository = routineRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.count() > 0) {
+            log.info("[LOG] Load test database already holds users, skipping dataset generation");
+            return;
+        }
+
+        log.info("[LOG] Generating dataset: {} users over {} years, seed {}", users, years, seed);
+        Random random = new Random(seed);
+        LocalDate lastDay = LocalDate.now().plusMonths(3);
+        LocalDate firstDay = lastDay.minusYears(years);
+        long startedAt = System.nanoTime();
+        long rows = 0;
+
+        for (long firstUser = 1; firstUser <= users; firstUser += usersPerTransaction) {
+            long from = firstUser;
+            long to = Math.min(users, firstUser + usersPerTransaction - 1);
+            Long written = transactionTemplate.execute(status -> generateUsers(random, from, to, firstDay, lastDay));
+            rows += written != null ? written : 0;
+            log.info("[LOG] Generated users {} to {} of {}", from, to, users);
+        }
+
+        // Rows were inserted with explicit keys, so the identity columns must continue after them
+        restartIdentity("User", "user_id", users + 1);
+        restartIdentity("Tag", "tag_id", nextTagId);
+        restartIdentity("Hashtag", "hashtag_id", nextHashtagId);
+        restartIdentity("Event", "event_id", nextEventId);
+        restartIdentity("Task", "task_id", nextTaskId);
+
+        log.info("[LOG] Generated {} rows in {} s", rows, (System.nanoTime() - startedAt) / 1_000_000_000);
+    }
+
+    private long generateUsers(Random random, long from, long to, LocalDate firstDay, LocalDate lastDay) {
+        BatchInserter inserter = new BatchInserter(jdbcTemplate, batchSize,
+                INSERT_USER, INSERT_USER_ROLE, INSERT_TAG, INSERT_HASHTAG, INSERT_HASHTAG_USAGE, INSERT_EVENT, INSERT_EVENT_HASHTAG,
+                INSERT_TASK, INSERT_TASK_HASHTAG, INSERT_TASK_ITEM, INSERT_ROUTINE_HISTORY);
+
+        List<Routine> routines = new ArrayList<>();
+        for (long userId = from; userId <= to; userId++) {
+            generateUser(random, inserter, userId, firstDay, lastDay);
+            for (int i = 0; i < routinesPerUser; i++) {
+                routines.add(Routine.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .title("routine " + i)
+                        .description("generated routine")
+                        .days(randomDays(random))
+                        .build());
+            }
+        }
+
+        // Routines are persisted through JPA, after their users have been written
+        inserter.flush();
+        for (Routine routine : routineRepository.saveAll(routines)) {
+            generateRoutineHistory(random, inserter, routine, firstDay, LocalDate.now());
+        }
+        inserter.flush();
+        return inserter.getWritten() + routines.size();
+    }
+
+    private void generateUser(Random random, BatchInserter inserter, long userId, LocalDate firstDay, LocalDate lastDay) {
+        inserter.add(INSERT_USER, userId, "user" + userId);
+        inserter.add(INSERT_USER_ROLE, userId, Role.USER.name());
+
+        long[] tagIds = new long[tagsPerUser];
+        Color[] colors = Color.values();
+        for (int i = 0; i < tagsPerUser; i++) {
+            tagIds[i] = nextTagId++;
+            inserter.add(INSERT_TAG, tagIds[i], userId, "tag " + i, colors[i % colors.length].name());
+        }
+
+        // Usages are assigned before the hashtag rows are written, so the usage counters match the join tables
+        long firstHashtagId = nextHashtagId;
+        nextHashtagId += hashtagsPerUser;
+        long[] hashtagUsages = new long[hashtagsPerUser];
+
+        long days = ChronoUnit.DAYS.between(firstDay, lastDay);
+        int eventCount = eventsPerYear * years;
+        long[] eventIds = new long[eventCount];
+        List<Object[]> eventHashtags = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            eventIds[i] = nextEventId++;
+            LocalDateTime start = firstDay.plusDays(random.nextLong(days)).atTime(LocalTime.of(7 + random.nextInt(13), random.nextInt(4) * 15));
+            // Mostly meetings of a few hours, occasionally trips of several days
+            LocalDateTime due = random.nextInt(10) == 0 ? start.plusDays(1 + random.nextInt(6)) : start.plusMinutes(30L + random.nextInt(8) * 30L);
+            events.add(new Object[]{eventIds[i], userId, "event " + i, tagIds[skewedIndex(random, tagsPerUser)],
+                    "generated event", start, due, random.nextBoolean() ? "office" : null});
+            for (int hashtag : pickHashtags(random)) {
+                hashtagUsages[hashtag]++;
+                eventHashtags.add(new Object[]{eventIds[i], firstHashtagId + hashtag});
+            }
+        }
+
+        int taskCount = logNormal(random, meanTasksPerUser);
+        List<Object[]> tasks = new ArrayList<>(taskCount);
+        List<Object[]> taskHashtags = new ArrayList<>();
+        List<Object[]> taskItems = new ArrayList<>();
+        Status[] statuses = Status.values();
+        for (int i = 0; i < taskCount; i++) {
+            long taskId = nextTaskId++;
+            // Older tasks are mostly done, and about a third of all tasks belong to an event
+            Status status = random.nextInt(10) < 6 ? Status.DONE : statuses[random.nextInt(statuses.length)];
+            Long eventId = eventCount > 0 && random.nextInt(3) == 0 ? eventIds[random.nextInt(eventCount)] : null;
+            LocalDate deadline = random.nextInt(4) == 0 ? null : firstDay.plusDays(random.nextLong(days));
+            tasks.add(new Object[]{taskId, userId, "task " + i, eventId, tagIds[skewedIndex(random, tagsPerUser)],
+                    "generated task", status.name(), deadline});
+            for (int hashtag : pickHashtags(random)) {
+                hashtagUsages[hashtag]++;
+                taskHashtags.add(new Object[]{taskId, firstHashtagId + hashtag});
+            }
+            int items = random.nextInt(maxItemsPerTask + 1);
+            for (int item = 0; item < items; item++) {
+                taskItems.add(new Object[]{taskId, "item " + item, status == Status.DONE || random.nextBoolean()});
+            }
+        }
+
+        for (int i = 0; i < hashtagsPerUser; i++) {
+            inserter.add(INSERT_HASHTAG, firstHashtagId + i, userId, "hashtag" + userId + "x" + i);
+            inserter.add(INSERT_HASHTAG_USAGE, firstHashtagId + i, userId, hashtagUsages[i]);
+        }
+        events.forEach(row -> inserter.add(INSERT_EVENT, row));
+        eventHashtags.forEach(row -> inserter.add(INSERT_EVENT_HASHTAG, row));
+        tasks.forEach(row -> inserter.add(INSERT_TASK, row));
+        taskHashtags.forEach(row -> inserter.add(INSERT_TASK_HASHTAG, row));
+        taskItems.forEach(row -> inserter.add(INSERT_TASK_ITEM, row));
+    }
+
+    private void generateRoutineHistory(Random random, BatchInserter inserter, Routine routine, LocalDate firstDay, LocalDate today) {
+        boolean[] days = routine.getDays();
+        for (LocalDate day = firstDay; day.isBefore(today); day = day.plusDays(1)) {
+            if (days[day.getDayOfWeek().getValue() - 1] && random.nextDouble() < routineCheckRate) {
+                inserter.add(INSERT_ROUTINE_HISTORY, routine.getUser().getId(), routine.getId(),
+                        day.atTime(LocalTime.of(6 + random.nextInt(16), random.nextInt(60))));
+            }
+        }
+    }
+
+    private boolean[] randomDays(Random random) {
+        // Daily, weekday or a few days a week
+        boolean[] days = new boolean[7];
+        int kind = random.nextInt(3);
+        for (int i = 0; i < days.length; i++) {
+            days[i] = kind == 0 || (kind == 1 && i < 5) || (kind == 2 && random.nextInt(7) < 3);
+        }
+        return days;
+    }
+
+    private int[] pickHashtags(Random random) {
+        int[] picked = new int[random.nextInt(maxHashtagsPerEntry + 1)];
+        for (int i = 0; i < picked.length; i++) {
+            picked[i] = skewedIndex(random, hashtagsPerUser);
+        }
+        return Arrays.stream(picked).distinct().toArray();
+    }
+
+    /**
+     * Picks an index in [0, bound) where low indexes are much more likely, so a few values dominate.
+     */
+    private int skewedIndex(Random random, int bound) {
+        double uniform = random.nextDouble();
+        return (int) (bound * uniform * uniform * uniform);
+    }
+
+    /**
+     * Draws a log-normal count with the given mean, giving a long tail of heavy users.
+     */
+    private int logNormal(Random random, int mean) {
+        double sigma = 1.0;
+        return (int) Math.round(mean * Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2));
+    }
+
+    private void restartIdentity(String table, String column, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+    }
+}
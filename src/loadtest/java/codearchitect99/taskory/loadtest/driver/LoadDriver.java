@@ -0,0 +1,371 @@
+package codearchitect99.taskory.loadtest.driver;
+
+import codearchitect99.taskory.common.util.TimeUtil;
+import codearchitect99.taskory.security.token.TokenService;
+import codearchitect99.taskory.task.model.Status;
+import codearchitect99.taskory.task.payload.SaveTaskRequest;
+import codearchitect99.taskory.task.payload.TaskItemDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Replays a mixed read/write workload against the API and reports throughput and latency percentiles.
+ * Virtual users are sampled from the load test database and authenticate with freshly issued access tokens.
+ * Every worker thread sends its next request as soon as the previous one returns (a closed workload),
+ * and only requests finishing after the warmup are recorded.
+ * Without a configured base URL the driver targets the server of its own process.
+ * The results are also written as JSON to the results directory, one file per run, so runs can be compared.
+ */
+@Slf4j
+@Component
+@Profile("loaddriver")
+@Order(2)
+public class LoadDriver implements ApplicationRunner {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final DateTimeFormatter RESULTS_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final ApplicationContext applicationContext;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<LoadOperation, Timer> timers = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, AtomicLong> errors = new EnumMap<>(LoadOperation.class);
+    private LoadOperation[] weightedOperations;
+
+    @Value("${app.url-base}")
+    private String urlBase;
+
+    @Value("${app.loadtest.driver.base-url:}")
+    private String baseUrl;
+
+    @Value("${app.loadtest.driver.threads}")
+    private int threads;
+
+    @Value("${app.loadtest.driver.warmup}")
+    private Duration warmup;
+
+    @Value("${app.loadtest.driver.duration}")
+    private Duration duration;
+
+    @Value("${app.loadtest.driver.sample-users}")
+    private int sampleUsers;
+
+    @Value("${app.loadtest.driver.request-timeout}")
+    private Duration requestTimeout;
+
+    @Value("${app.loadtest.driver.exit-on-finish}")
+    private boolean exitOnFinish;
+
+    @Value("${app.loadtest.driver.results-dir:}")
+    private String resultsDir;
+
+    private record VirtualUser(long userId, String token, List<Long> tagIds, List<Long> taskIds) {
+    }
+
+    private record OperationResult(LoadOperation operation, long requests, double requestsPerSecond, long errors,
+                                   double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    /**
+     * One run as written to the results directory; serverThreads is null when the server runs in another process.
+     */
+    private record RunResult(String finishedAt, String target, String serverThreads, String tomcatMaxThreads,
+                             int driverThreads, String warmup, String duration,
+                             long requests, double requestsPerSecond, long errors, List<OperationResult> operations) {
+    }
+
+    @Autowired
+    public LoadDriver(JdbcTemplate jdbcTemplate, TokenService tokenService, ObjectMapper objectMapper,
+                      Environment environment, ApplicationContext applicationContext) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        String target = StringUtils.hasText(baseUrl)
+                ? baseUrl
+                : "http://localhost:" + environment.getRequiredProperty("local.server.port") + urlBase;
+        List<VirtualUser> virtualUsers = loadVirtualUsers();
+        if (virtualUsers.isEmpty()) {
+            log.warn("[LOG] No users found for the load test, run the datagen profile first");
+            return;
+        }
+
+        List<LoadOperation> weighted = new ArrayList<>();
+        for (LoadOperation operation : LoadOperation.values()) {
+            for (int i = 0; i < operation.getWeight(); i++) {
+                weighted.add(operation);
+            }
+            timers.put(operation, Timer.builder("loadtest.request")
+                    .tag("operation", operation.name())
+                    .publishPercentiles(PERCENTILES)
+                    // One window for the whole run, so percentiles cover every recorded request
+                    .distributionStatisticExpiry(warmup.plus(duration).plusMinutes(1))
+                    .distributionStatisticBufferLength(1)
+                    .register(registry));
+            errors.put(operation, new AtomicLong());
+        }
+        weightedOperations = weighted.toArray(LoadOperation[]::new);
+
+        log.info("[LOG] Load test against {}: {} users, {} threads, warmup {}, duration {}",
+                target, virtualUsers.size(), threads, warmup, duration);
+        String serverMode = null;
+        if (!StringUtils.hasText(baseUrl)) {
+            serverMode = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) ? "virtual" : "platform";
+            log.info("[LOG] Server requests run on {} threads", serverMode);
+        }
+        long recordFrom = System.nanoTime() + warmup.toNanos();
+        long endAt = recordFrom + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> work(target, virtualUsers, recordFrom, endAt));
+        }
+        workers.shutdown();
+        workers.awaitTermination(warmup.plus(duration).plus(requestTimeout).toMillis(), TimeUnit.MILLISECONDS);
+
+        long failed = report(target, serverMode);
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext, () -> failed > 0 ? 1 : 0));
+        }
+    }
+
+    private List<VirtualUser> loadVirtualUsers() {
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT user_id FROM User WHERE disabled = false ORDER BY user_id LIMIT ?", Long.class, sampleUsers);
+        List<VirtualUser> virtualUsers = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            List<Long> tagIds = jdbcTemplate.queryForList("SELECT tag_id FROM Tag WHERE user_id = ?", Long.class, userId);
+            List<Long> taskIds = jdbcTemplate.queryForList(
+                    "SELECT task_id FROM Task WHERE user_id = ? ORDER BY task_id LIMIT 100", Long.class, userId);
+            if (!tagIds.isEmpty() && !taskIds.isEmpty()) {
+                virtualUsers.add(new VirtualUser(userId, tokenService.createToken(userId), tagIds, taskIds));
+            }
+        }
+        return virtualUsers;
+    }
+
+    private void work(String target, List<VirtualUser> virtualUsers, long recordFrom, long endAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < endAt) {
+            VirtualUser user = virtualUsers.get(random.nextInt(virtualUsers.size()));
+            LoadOperation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            long startedAt = System.nanoTime();
+            boolean succeeded;
+            try {
+                HttpResponse<Void> response = httpClient.send(request(target, user, operation, random), HttpResponse.BodyHandlers.discarding());
+                succeeded = response.statusCode() < 400;
+            } catch (IOException e) {
+                succeeded = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finishedAt = System.nanoTime();
+            if (finishedAt >= recordFrom && finishedAt < endAt) {
+                timers.get(operation).record(finishedAt - startedAt, TimeUnit.NANOSECONDS);
+                if (!succeeded) {
+                    errors.get(operation).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private HttpRequest request(String target, VirtualUser user, LoadOperation operation, ThreadLocalRandom random) {
+        long taskId = user.taskIds().get(random.nextInt(user.taskIds().size()));
+        LocalDate day = LocalDate.now().minusDays(random.nextInt(365));
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(requestTimeout)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + user.token());
+
+        return switch (operation) {
+            case LIST_TASKS -> builder.uri(URI.create(target + "/task")).GET().build();
+            case GET_TASK -> builder.uri(URI.create(target + "/task/" + taskId)).GET().build();
+            case EVENTS_IN_PERIOD -> {
+                LocalDateTime start = day.withDayOfMonth(1).atStartOfDay();
+                yield builder.uri(URI.create(target + "/event/period?startDate=" + TimeUtil.localDateTimeToString(start)
+                        + "&endDate=" + TimeUtil.localDateTimeToString(start.plusMonths(1)))).GET().build();
+            }
+            case AGENDA -> builder.uri(URI.create(target + "/agenda?date=" + day)).GET().build();
+            case LIST_TAGS -> builder.uri(URI.create(target + "/tag")).GET().build();
+            case HASHTAG_AUTOCOMPLETE -> builder.uri(URI.create(target + "/hashtags/autocomplete?prefix=hashtag" + user.userId())).GET().build();
+            case CREATE_TASK -> {
+                SaveTaskRequest saveTaskRequest = new SaveTaskRequest("load test task", null,
+                        user.tagIds().get(random.nextInt(user.tagIds().size())), List.of(), "created by the load driver",
+                        Status.TODO.name(), List.of(new TaskItemDto(null, null, "load test item", false)), day.plusDays(7).toString());
+                yield builder.uri(URI.create(target + "/task"))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofString(toJson(saveTaskRequest)))
+                        .build();
+            }
+            case UPDATE_TASK_STATUS -> {
+                Status status = Status.values()[random.nextInt(Status.values().length)];
+                yield builder.uri(URI.create(target + "/task/status/" + taskId + "?status=" + status + "&deadline=" + day))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .build();
+            }
+        };
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Logs the results per operation and in total, and writes them to the results directory.
+     *
+     * @param target     the base URL the requests were sent to.
+     * @param serverMode the thread mode of the server, or null if the server runs in another process.
+     * @return the number of failed requests
+     */
+    private long report(String target, String serverMode) {
+        double seconds = duration.toMillis() / 1000.0;
+        long totalCount = 0;
+        long totalErrors = 0;
+        List<OperationResult> operations = new ArrayList<>();
+        log.info("[LOG] {}", String.format("%-22s %9s %9s %8s %9s %9s %9s %9s",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (LoadOperation operation : LoadOperation.values()) {
+            HistogramSnapshot snapshot = timers.get(operation).takeSnapshot();
+            long failed = errors.get(operation).get();
+            totalCount += snapshot.count();
+            totalErrors += failed;
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            OperationResult result = new OperationResult(operation, snapshot.count(), snapshot.count() / seconds, failed,
+                    percentiles[0].value(TimeUnit.MILLISECONDS), percentiles[1].value(TimeUnit.MILLISECONDS),
+                    percentiles[2].value(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS));
+            operations.add(result);
+            log.info("[LOG] {}", String.format("%-22s %9d %9.1f %8d %9.1f %9.1f %9.1f %9.1f",
+                    operation, result.requests(), result.requestsPerSecond(), result.errors(),
+                    result.p50Ms(), result.p95Ms(), result.p99Ms(), result.maxMs()));
+        }
+        log.info("[LOG] Total {} requests, {} req/s, {} errors", totalCount, String.format("%.1f", totalCount / seconds), totalErrors);
+
+        RunResult run = new RunResult(LocalDateTime.now().toString(), target, serverMode,
+                environment.getProperty("server.tomcat.threads.max"), threads, warmup.toString(), duration.toString(),
+                totalCount, totalCount / seconds, totalErrors, operations);
+        writeResults(run);
+        return totalErrors;
+    }
+
+    private void writeResults(RunResult run) {
+        if (!StringUtils.hasText(resultsDir)) {
+            return;
+        }
+        String mode = run.serverThreads() != null ? run.serverThreads() : "remote";
+        Path file = Path.of(resultsDir, "results-" + mode + "-" + RESULTS_FILE_TIME.format(LocalDateTime.now()) + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), run);
+            log.info("[LOG] Load test results written to {}", file.toAbsolutePath());
+            writeComparison();
+        } catch (IOException e) {
+            log.error("[LOG] Failed to write the load test results to {}", file, e);
+        }
+    }
+
+    /**
+     * Once the results directory holds a run of each thread mode, writes the latest of both side by side
+     * to comparison.md, ready to be attached to a change.
+     */
+    private void writeComparison() throws IOException {
+        Optional<RunResult> platform = latestResult("platform");
+        Optional<RunResult> virtual = latestResult("virtual");
+        if (platform.isEmpty() || virtual.isEmpty()) {
+            return;
+        }
+        StringBuilder table = new StringBuilder()
+                .append("Platform run ").append(platform.get().finishedAt())
+                .append(", virtual run ").append(virtual.get().finishedAt())
+                .append(": ").append(virtual.get().driverThreads()).append(" driver threads, Tomcat max threads ")
+                .append(virtual.get().tomcatMaxThreads()).append(", duration ").append(virtual.get().duration()).append("\n\n")
+                .append("| operation | mode | requests | req/s | errors | p50 ms | p95 ms | p99 ms | max ms |\n")
+                .append("|---|---|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (LoadOperation operation : LoadOperation.values()) {
+            appendRow(table, platform.get(), operation);
+            appendRow(table, virtual.get(), operation);
+        }
+        for (RunResult run : List.of(platform.get(), virtual.get())) {
+            table.append(String.format("| total | %s | %d | %.1f | %d | | | | |%n",
+                    run.serverThreads(), run.requests(), run.requestsPerSecond(), run.errors()));
+        }
+        Path file = Path.of(resultsDir, "comparison.md");
+        Files.writeString(file, table);
+        log.info("[LOG] Thread mode comparison written to {}", file.toAbsolutePath());
+    }
+
+    private static void appendRow(StringBuilder table, RunResult run, LoadOperation operation) {
+        run.operations().stream()
+                .filter(result -> result.operation() == operation)
+                .findFirst()
+                .ifPresent(result -> table.append(String.format("| %s | %s | %d | %.1f | %d | %.1f | %.1f | %.1f | %.1f |%n",
+                        operation, run.serverThreads(), result.requests(), result.requestsPerSecond(), result.errors(),
+                        result.p50Ms(), result.p95Ms(), result.p99Ms(), result.maxMs())));
+    }
+
+    private Optional<RunResult> latestResult(String mode) throws IOException {
+        Optional<Path> latest;
+        try (Stream<Path> files = Files.list(Path.of(resultsDir))) {
+            // File names end with the finish time, so the last in name order is the latest
+            latest = files.filter(path -> path.getFileName().toString().startsWith("results-" + mode + "-"))
+                    .max(Comparator.comparing(path -> path.getFileName().toString()));
+        }
+        if (latest.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.readValue(latest.get().toFile(), RunResult.class));
+    }
+}
@@ -0,0 +1,27 @@
+package codearchitect99.taskory.loadtest.driver;
+
+import lombok.Getter;
+
+/**
+ * Requests replayed by the load driver, with their share of the mixed workload.
+ * Weights approximate a read-heavy client: mostly list and detail views, some edits.
+ */
+@Getter
+public enum LoadOperation {
+    LIST_TASKS(20, false),
+    GET_TASK(20, false),
+    EVENTS_IN_PERIOD(20, false),
+    AGENDA(10, false),
+    LIST_TAGS(5, false),
+    HASHTAG_AUTOCOMPLETE(10, false),
+    CREATE_TASK(8, true),
+    UPDATE_TASK_STATUS(7, true);
+
+    private final int weight;
+    private final boolean write;
+
+    LoadOperation(int weight, boolean write) {
+        this.weight = weight;
+        this.write = write;
+    }
+}
@@ -0,0 +1,44 @@
+package codearchitect99.taskory.agenda;
+
+import codearchitect99.taskory.agenda.payload.AgendaResponse;
+import codearchitect99.taskory.user.CurrentUserRef;
+import codearchitect99.taskory.user.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequestMapping("${app.url-base}/agenda")
+public class AgendaController {
+
+    private final AgendaService agendaService;
+
+    @Autowired
+    public AgendaController(AgendaService agendaService) {
+        this.agendaService = agendaService;
+    }
+
+    /**
+     * Get today's routines, tasks due on the day and events of the day in one response.
+     * @param user Authenticated user
+     * @param dateString Day of the agenda (yyyy-MM-dd), today if omitted
+     * @return AgendaResponse
+     */
+    @GetMapping
+    public ResponseEntity<AgendaResponse> getAgenda(@CurrentUserRef User user,
+                                                    @RequestParam(value = "date", required = false) String dateString) {
+        try {
+            LocalDate date = dateString != null ? LocalDate.parse(dateString) : LocalDate.now();
+            return ResponseEntity.ok(agendaService.getAgenda(user, date));
+        } catch (DateTimeParseException exception) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package codearchitect99.taskory.agenda;
+
+import codearchitect99.taskory.agenda.payload.AgendaResponse;
+import codearchitect99.taskory.event.EventService;
+import codearchitect99.taskory.event.payload.EventSummary;
+import codearchitect99.taskory.routine.payload.RoutineResponse;
+import codearchitect99.taskory.routine.service.RoutineService;
+import codearchitect99.taskory.task.payload.TaskSummary;
+import codearchitect99.taskory.task.service.TaskService;
+import codearchitect99.taskory.user.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Service that assembles the daily agenda shown on the home screen.
+ * The routine, task and event queries are independent, so they run concurrently on the bounded query executor.
+ */
+@Slf4j
+@Service
+public class AgendaService {
+
+    private final RoutineService routineService;
+    private final TaskService taskService;
+    private final EventService eventService;
+    private final TaskExecutor queryExecutor;
+
+    @Autowired
+    public AgendaService(RoutineService routineService, TaskService taskService, EventService eventService,
+                         @Qualifier("queryExecutor") TaskExecutor queryExecutor) {
+        this.routineService = routineService;
+        this.taskService = taskService;
+        this.eventService = eventService;
+        this.queryExecutor = queryExecutor;
+    }
+
+    /**
+     * Get the agenda of a day
+     * @param user User information
+     * @param date Day of the agenda
+     * @return AgendaResponse
+     */
+    public AgendaResponse getAgenda(User user, LocalDate date) {
+        CompletableFuture<List<RoutineResponse>> routines =
+                CompletableFuture.supplyAsync(() -> routineService.findAllOn(user, date), queryExecutor);
+        CompletableFuture<List<TaskSummary>> tasks =
+                CompletableFuture.supplyAsync(() -> taskService.findAllDueOn(user, date), queryExecutor);
+        CompletableFuture<List<EventSummary>> events =
+                CompletableFuture.supplyAsync(() -> eventService.findEventsInPeriod(user, date.atStartOfDay(), date.plusDays(1).atStartOfDay()), queryExecutor);
+
+        try {
+            return new AgendaResponse(date.toString(), routines.join(), tasks.join(), events.join());
+        } catch (CompletionException exception) {
+            log.error("[LOG] Failed to load agenda for date: {}", date);
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw exception;
+        }
+    }
+}
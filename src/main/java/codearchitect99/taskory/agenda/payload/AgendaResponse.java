@@ -0,0 +1,20 @@
+package codearchitect99.taskory.agenda.payload;
+
+import codearchitect99.taskory.event.payload.EventSummary;
+import codearchitect99.taskory.routine.payload.RoutineResponse;
+import codearchitect99.taskory.task.payload.TaskSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class AgendaResponse {
+    private String date;
+    private List<RoutineResponse> routines;
+    private List<TaskSummary> tasks;
+    private List<EventSummary> events;
+}
@@ -0,0 +1,63 @@
+package codearchitect99.taskory.batch;
+
+import codearchitect99.taskory.batch.payload.BatchRequest;
+import codearchitect99.taskory.batch.payload.BatchResponse;
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.security.ratelimit.RateLimitFilter;
+import codearchitect99.taskory.user.CurrentUser;
+import codearchitect99.taskory.user.CurrentUserRef;
+import codearchitect99.taskory.user.model.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("${app.url-base}/batch")
+public class BatchController {
+
+    private final BatchService batchService;
+    private final RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    public BatchController(BatchService batchService, RateLimitFilter rateLimitFilter) {
+        this.batchService = batchService;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    /**
+     * Run several read requests at once, e.g. everything the dashboard loads at startup.
+     * Each sub-request gets its own status; the batch itself fails only if it is malformed.
+     * Every sub-request costs one read token of the rate limit, like the GET request it stands for.
+     * @param user Authenticated user
+     * @param userPrincipal Authenticated principal
+     * @param batchRequest Sub-requests, each with a client-chosen id, an endpoint path and its query parameters
+     * @param request HTTP request, to charge the rate limit of the client
+     * @return BatchResponse with a response per sub-request, in request order
+     */
+    @PostMapping
+    public ResponseEntity<BatchResponse> execute(@CurrentUserRef User user,
+                                                 @CurrentUser UserPrincipal userPrincipal,
+                                                 @Valid @RequestBody BatchRequest batchRequest,
+                                                 HttpServletRequest request) {
+        try {
+            batchService.validate(batchRequest.getRequests());
+            // The rate limit filter has taken one token for the batch request itself
+            long waitMillis = rateLimitFilter.tryConsumeReads(request, batchRequest.getRequests().size() - 1);
+            if (waitMillis > 0) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, RateLimitFilter.retryAfterSeconds(waitMillis))
+                        .build();
+            }
+            return ResponseEntity.ok(batchService.execute(user, userPrincipal, batchRequest.getRequests()));
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+}
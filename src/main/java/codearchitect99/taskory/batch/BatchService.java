@@ -0,0 +1,151 @@
+package codearchitect99.taskory.batch;
+
+import codearchitect99.taskory.batch.payload.BatchResponse;
+import codearchitect99.taskory.batch.payload.SubRequest;
+import codearchitect99.taskory.batch.payload.SubResponse;
+import codearchitect99.taskory.common.util.TimeUtil;
+import codearchitect99.taskory.event.EventService;
+import codearchitect99.taskory.hashtag.HashtagService;
+import codearchitect99.taskory.hashtag.HashtagUsageService;
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.tag.TagService;
+import codearchitect99.taskory.task.service.TaskService;
+import codearchitect99.taskory.user.UserService;
+import codearchitect99.taskory.user.model.Role;
+import codearchitect99.taskory.user.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service that runs several read operations of one user in a single request.
+ * Each operation stands for a GET endpoint, is addressed by its path and calls the same service method,
+ * so the token and the user are checked once for the whole batch; the rate limit is charged per sub-request.
+ * The operations run concurrently on the bounded query executor; a failing operation only fails its own response.
+ */
+@Slf4j
+@Service
+public class BatchService {
+
+    private static final Set<String> MEMBERS = Set.of(Role.USER.getName(), Role.ADMIN.getName());
+    private static final Set<String> ALL_USERS = Set.of(Role.USER.getName(), Role.TEMP_USER.getName(), Role.ADMIN.getName());
+
+    private final Map<String, Operation> operations = new HashMap<>();
+    private final TaskExecutor queryExecutor;
+
+    @Value("${app.batch.max-requests}")
+    private int maxRequests;
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(User user, UserPrincipal userPrincipal, Map<String, String> params);
+    }
+
+    // Authorities are those the security configuration requires for the endpoint
+    private record Operation(Set<String> authorities, Handler handler) {
+    }
+
+    @Autowired
+    public BatchService(TagService tagService, HashtagService hashtagService, HashtagUsageService hashtagUsageService,
+                        TaskService taskService, EventService eventService, UserService userService,
+                        @Qualifier("queryExecutor") TaskExecutor queryExecutor,
+                        @Value("${app.hashtag.trending.max-limit}") int maxTrendingLimit) {
+        this.queryExecutor = queryExecutor;
+
+        // The agenda is left out: it runs its own queries on the query executor, and waiting for them
+        // from a task of the same bounded executor could exhaust it
+        operations.put("/tag", new Operation(MEMBERS, (user, principal, params) -> tagService.findAll(user)));
+        operations.put("/hashtags", new Operation(MEMBERS, (user, principal, params) -> hashtagService.findAll(user)));
+        operations.put("/hashtags/usage", new Operation(MEMBERS, (user, principal, params) -> hashtagUsageService.findUsage(user)));
+        operations.put("/hashtags/trending", new Operation(MEMBERS, (user, principal, params) ->
+                hashtagUsageService.findTrending(user, Math.min(Integer.parseInt(params.getOrDefault("limit", "10")), maxTrendingLimit))));
+        operations.put("/task", new Operation(MEMBERS, (user, principal, params) -> taskService.findAll(user)));
+        operations.put("/event/all", new Operation(MEMBERS, (user, principal, params) -> eventService.findAll(user)));
+        operations.put("/event/period", new Operation(MEMBERS, (user, principal, params) ->
+                eventService.findEventsInPeriod(user, required(params, "startDate"), required(params, "endDate"))));
+        operations.put("/event/upcoming", new Operation(MEMBERS, (user, principal, params) ->
+                eventService.findUpcomingEvents(user, TimeUtil.stringToLocalDateTime(required(params, "date")))));
+        operations.put("/user/profile", new Operation(ALL_USERS, (user, principal, params) ->
+                userService.getByUsername(principal.getUsername())));
+    }
+
+    /**
+     * Check the size of a batch
+     * @param requests Sub-requests
+     * @throws IllegalArgumentException if there are no sub-requests or more than allowed
+     */
+    public void validate(List<SubRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxRequests) {
+            throw new IllegalArgumentException("A batch must contain 1 to " + maxRequests + " requests");
+        }
+    }
+
+    /**
+     * Run the sub-requests of a batch
+     * @param user Authenticated user
+     * @param userPrincipal Principal of the user, for the authorities and the profile
+     * @param requests Sub-requests
+     * @return BatchResponse with a response per sub-request, in request order
+     * @throws IllegalArgumentException if there are no sub-requests or more than allowed
+     */
+    public BatchResponse execute(User user, UserPrincipal userPrincipal, List<SubRequest> requests) {
+        validate(requests);
+
+        Set<String> authorities = new HashSet<>();
+        for (GrantedAuthority authority : userPrincipal.getAuthorities()) {
+            authorities.add(authority.getAuthority());
+        }
+
+        List<CompletableFuture<SubResponse>> responses = requests.stream()
+                .map(request -> {
+                    Operation operation = operations.get(request.getPath());
+                    if (operation == null) {
+                        return CompletableFuture.completedFuture(SubResponse.of(request.getId(), HttpStatus.NOT_FOUND.value()));
+                    }
+                    if (operation.authorities().stream().noneMatch(authorities::contains)) {
+                        return CompletableFuture.completedFuture(SubResponse.of(request.getId(), HttpStatus.FORBIDDEN.value()));
+                    }
+                    return CompletableFuture.supplyAsync(() -> run(operation, request, user, userPrincipal), queryExecutor);
+                })
+                .toList();
+
+        return new BatchResponse(responses.stream().map(CompletableFuture::join).toList());
+    }
+
+    private static SubResponse run(Operation operation, SubRequest request, User user, UserPrincipal userPrincipal) {
+        Map<String, String> params = request.getParams() != null ? request.getParams() : Map.of();
+        try {
+            Object body = operation.handler().handle(user, userPrincipal, params);
+            return new SubResponse(request.getId(), HttpStatus.OK.value(), body);
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            return SubResponse.of(request.getId(), HttpStatus.BAD_REQUEST.value());
+        } catch (UsernameNotFoundException exception) {
+            return SubResponse.of(request.getId(), HttpStatus.NOT_FOUND.value());
+        } catch (RuntimeException exception) {
+            log.error("[LOG] Batch request failed: {} {}", request.getId(), request.getPath(), exception);
+            return SubResponse.of(request.getId(), HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,19 @@
+package codearchitect99.taskory.batch.payload;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRequest {
+    // Validated element by element, so a sub-request without id or path fails the batch with 400
+    @NotNull private List<@Valid @NotNull SubRequest> requests;
+}
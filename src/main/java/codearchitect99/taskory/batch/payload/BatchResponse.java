@@ -0,0 +1,15 @@
+package codearchitect99.taskory.batch.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class BatchResponse {
+    // In the order of the requests
+    private List<SubResponse> responses;
+}
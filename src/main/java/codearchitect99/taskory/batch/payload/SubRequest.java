@@ -0,0 +1,25 @@
+package codearchitect99.taskory.batch.payload;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * A read operation within a batch, addressed like the GET endpoint it stands for.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubRequest {
+    // Chosen by the client to match responses to requests
+    @NotNull private String id;
+    // Path below the API base, e.g. "/event/upcoming"
+    @NotNull private String path;
+    // Query parameters of the endpoint
+    private Map<String, String> params;
+}
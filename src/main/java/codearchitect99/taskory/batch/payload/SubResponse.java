@@ -0,0 +1,23 @@
+package codearchitect99.taskory.batch.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Result of a sub-request, with the status and body the GET endpoint would have returned
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SubResponse {
+    private String id;
+    private int status;
+    private Object body;
+
+    public static SubResponse of(String id, int status) {
+        return new SubResponse(id, status, null);
+    }
+}
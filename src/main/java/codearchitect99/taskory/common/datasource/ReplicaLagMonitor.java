@@ -0,0 +1,71 @@
+package codearchitect99.taskory.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically measures how far the replica lags behind the primary.
+ * The replica is usable only while the last check succeeded and reported a lag within the limit;
+ * a failed check, a stopped replication (no lag value) or too much lag send reads to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    /**
+     * @param replicaJdbcTemplate template on the replica pool.
+     * @param lagQuery query reporting the replication status, e.g. {@code SHOW REPLICA STATUS}.
+     * @param lagColumn column of the lag in seconds, e.g. {@code Seconds_Behind_Master}.
+     * @param maxLagSeconds the largest lag at which reads still go to the replica.
+     */
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, String lagQuery, String lagColumn, long maxLagSeconds) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * Measure the replica lag.
+     * Runs once at startup and then periodically; until the first check the replica is not used.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms}")
+    public void check() {
+        Number lag;
+        try {
+            lag = replicaJdbcTemplate.query(lagQuery, resultSet -> resultSet.next() ? (Number) resultSet.getObject(lagColumn) : null);
+        } catch (DataAccessException e) {
+            log.warn("[LOG] Replica lag check failed: {}", e.getMessage());
+            lag = null;
+        }
+
+        boolean usable = lag != null && lag.longValue() <= maxLagSeconds;
+        lagSeconds = lag != null ? lag.doubleValue() : Double.NaN;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("[LOG] Replica usable again, lag {} s", lag);
+            } else {
+                log.warn("[LOG] Reads fall back to the primary, replica lag {} s exceeds {} s or is unknown", lag, maxLagSeconds);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * @return the last measured lag in seconds, or NaN if unknown.
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
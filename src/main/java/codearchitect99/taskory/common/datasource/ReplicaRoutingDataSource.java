@@ -0,0 +1,96 @@
+package codearchitect99.taskory.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything else to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the connection
+ * is only chosen once the transaction's read-only flag is known.
+ * Reads fall back to the primary while the replica lags too far behind, and after a thread has written,
+ * its later reads stay on the primary until {@link #unpin()}, so a request always reads its own writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    public enum Pool {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Pool pool = route();
+        (pool == Pool.REPLICA ? replicaRoutes : primaryRoutes).increment();
+        return pool;
+    }
+
+    private Pool route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                PINNED_TO_PRIMARY.set(Boolean.TRUE);
+            }
+            return Pool.PRIMARY;
+        }
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return Pool.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            fallbacks.increment();
+            return Pool.PRIMARY;
+        }
+        return Pool.REPLICA;
+    }
+
+    /**
+     * Lets reads of the current thread use the replica again, at the end of a request.
+     */
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Carries the primary pin of the calling thread to the thread that runs the task,
+     * so queries fanned out after a write still read from the primary.
+     *
+     * @param task the task to run.
+     * @return the task with the caller's routing.
+     */
+    public static Runnable wrap(Runnable task) {
+        if (!Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return task;
+        }
+        return () -> {
+            Boolean replaced = PINNED_TO_PRIMARY.get();
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                PINNED_TO_PRIMARY.set(replaced);
+            }
+        };
+    }
+
+    public long getRoutes(Pool pool) {
+        return (pool == Pool.REPLICA ? replicaRoutes : primaryRoutes).sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+}
@@ -0,0 +1,117 @@
+package codearchitect99.taskory.config;
+
+import codearchitect99.taskory.common.datasource.ReplicaRoutingDataSource;
+import codearchitect99.taskory.monitoring.sql.SqlStatementCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor configuration for work that is fanned out from a request thread.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${app.query-executor.max-concurrency}")
+    private int queryMaxConcurrency;
+
+    @Value("${app.query-executor.queue-capacity}")
+    private int queryQueueCapacity;
+
+    @Value("${app.background-executor.max-concurrency}")
+    private int backgroundMaxConcurrency;
+
+    @Value("${app.background-executor.queue-capacity}")
+    private int backgroundQueueCapacity;
+
+    @Value("${app.mvc-async-executor.max-concurrency}")
+    private int mvcAsyncMaxConcurrency;
+
+    @Value("${app.mvc-async-executor.queue-capacity}")
+    private int mvcAsyncQueueCapacity;
+
+    /**
+     * Bounded executor for read queries that run concurrently on behalf of a single request.
+     * The pool size is the database budget shared by all such requests; when the queue is full,
+     * the caller runs the query itself instead of opening more connections.
+     * The workers are virtual threads, so a query waiting on the database does not hold a platform thread.
+     *
+     * @return the query executor.
+     */
+    @Bean(name = "queryExecutor")
+    public ThreadPoolTaskExecutor queryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(queryMaxConcurrency);
+        executor.setMaxPoolSize(queryMaxConcurrency);
+        executor.setQueueCapacity(queryQueueCapacity);
+        executor.setThreadNamePrefix("query-");
+        executor.setVirtualThreads(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Queries run for a request count towards that request's SQL statement budget,
+        // and read from the primary if the request has written
+        executor.setTaskDecorator(task -> SqlStatementCounter.wrap(ReplicaRoutingDataSource.wrap(task)));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for long-running maintenance work that is started by a request but not awaited by it,
+     * such as chunked bulk deletions.
+     * The workers are virtual threads, as the jobs mostly wait on the database, and their number is capped
+     * so the jobs cannot take over the connection pool. Submitting never blocks: jobs beyond the cap wait
+     * in a bounded queue, and once that is full the submit fails with a TaskRejectedException.
+     *
+     * @return the background executor.
+     */
+    @Bean(name = "backgroundExecutor")
+    public ThreadPoolTaskExecutor backgroundExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(backgroundMaxConcurrency);
+        executor.setMaxPoolSize(backgroundMaxConcurrency);
+        executor.setQueueCapacity(backgroundQueueCapacity);
+        executor.setThreadNamePrefix("background-");
+        executor.setVirtualThreads(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for outbox dispatches woken up by a commit, apart from the background executor,
+     * so a wake-up never waits behind bulk deletions. Wake-ups are coalesced by the dispatcher,
+     * so one worker and a single queued run are enough; any further one is rejected and left to the poll.
+     *
+     * @return the outbox executor.
+     */
+    @Bean(name = "outboxExecutor")
+    public ThreadPoolTaskExecutor outboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("outbox-");
+        executor.setVirtualThreads(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded executor for asynchronous request processing, such as streamed exports.
+     * Without it, Spring MVC falls back to an unbounded SimpleAsyncTaskExecutor.
+     *
+     * @return the MVC async executor.
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mvcAsyncMaxConcurrency);
+        executor.setMaxPoolSize(mvcAsyncMaxConcurrency);
+        executor.setQueueCapacity(mvcAsyncQueueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setVirtualThreads(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,72 @@
+package codearchitect99.taskory.config;
+
+import codearchitect99.taskory.hashtag.HashtagAutocompleteIndex;
+import codearchitect99.taskory.security.service.SocialAccountCache;
+import codearchitect99.taskory.security.service.UserPrincipalCache;
+import codearchitect99.taskory.security.token.TokenServiceImpl;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Metrics that Spring Boot does not bind on its own.
+ * HTTP, Hibernate, connection pool and executor metrics come from the actuator auto-configuration;
+ * this adds {@code @Timed} support for controller methods and hit rates of the application's Caffeine caches.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records {@code @Timed} methods, tagged with class and method name.
+     *
+     * @param meterRegistry the registry to record to.
+     * @return the timed aspect.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Exposes the statistics of the application caches with the same meter names as Micrometer's cache binders,
+     * tagged with {@code cache}, so hit rate is {@code cache_gets_total{result="hit"} / cache_gets_total}.
+     *
+     * @return the cache meter binder.
+     */
+    @Bean
+    public MeterBinder applicationCacheMetrics(HashtagAutocompleteIndex hashtagAutocompleteIndex,
+                                               UserPrincipalCache userPrincipalCache,
+                                               SocialAccountCache socialAccountCache,
+                                               TokenServiceImpl tokenService) {
+        Map<String, Supplier<CacheStats>> caches = Map.of(
+                "hashtag-autocomplete", hashtagAutocompleteIndex::stats,
+                "user-principal", userPrincipalCache::stats,
+                "social-account", socialAccountCache::stats,
+                "verified-token", tokenService::verifiedTokenStats);
+        return meterRegistry -> caches.forEach((name, stats) -> bindCache(meterRegistry, name, stats));
+    }
+
+    private static void bindCache(MeterRegistry meterRegistry, String name, Supplier<CacheStats> stats) {
+        FunctionCounter.builder("cache.gets", stats, cacheStats -> cacheStats.get().hitCount())
+                .tag("cache", name)
+                .tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", stats, cacheStats -> cacheStats.get().missCount())
+                .tag("cache", name)
+                .tag("result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached value")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", stats, cacheStats -> cacheStats.get().evictionCount())
+                .tag("cache", name)
+                .description("The number of cache evictions")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,121 @@
+package codearchitect99.taskory.config;
+
+import codearchitect99.taskory.common.datasource.PrimaryPinResetFilter;
+import codearchitect99.taskory.common.datasource.ReplicaLagMonitor;
+import codearchitect99.taskory.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a replica pool when {@code app.datasource.replica.enabled} is set.
+ * The primary pool keeps the {@code spring.datasource} settings; without a replica the auto-configured
+ * data source is used unchanged. Both pools report the usual Hikari metrics, tagged by pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Connection pool of the primary, configured by {@code spring.datasource}.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @return the primary pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Read-only connection pool of the replica.
+     *
+     * @return the replica pool.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username}") String username,
+                                              @Value("${app.datasource.replica.password}") String password,
+                                              @Value("${app.datasource.replica.maximum-pool-size}") int maximumPoolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${app.datasource.replica.lag-query}") String lagQuery,
+                                               @Value("${app.datasource.replica.lag-column}") String lagColumn,
+                                               @Value("${app.datasource.replica.max-lag-seconds}") long maxLagSeconds) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource), lagQuery, lagColumn, maxLagSeconds);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                             ReplicaLagMonitor replicaLagMonitor) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+    }
+
+    /**
+     * The data source used by JPA and JDBC.
+     * Connections are fetched lazily, on the first statement, when the transaction's read-only flag is set.
+     *
+     * @return the routing data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public PrimaryPinResetFilter primaryPinResetFilter() {
+        return new PrimaryPinResetFilter();
+    }
+
+    /**
+     * Connections routed per pool, fallbacks to the primary, and the replica lag.
+     *
+     * @return the routing meter binder.
+     */
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRoutingDataSource replicaRoutingDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        return meterRegistry -> {
+            for (ReplicaRoutingDataSource.Pool pool : ReplicaRoutingDataSource.Pool.values()) {
+                FunctionCounter.builder("taskory.datasource.routed", replicaRoutingDataSource, routing -> routing.getRoutes(pool))
+                        .tag("pool", pool.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+            FunctionCounter.builder("taskory.datasource.replica.fallbacks", replicaRoutingDataSource, ReplicaRoutingDataSource::getFallbacks)
+                    .register(meterRegistry);
+            Gauge.builder("taskory.datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagSeconds)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package codearchitect99.taskory.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance jobs, such as purging expired tokens.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
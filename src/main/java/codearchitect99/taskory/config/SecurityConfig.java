@@ -3,11 +3,13 @@ package codearchitect99.taskory.config;
 import codearchitect99.taskory.security.cookie.HttpCookieOAuth2AuthorizationRequestRepository;
 import codearchitect99.taskory.security.handler.OAuth2AuthenticationFailureHandler;
 import codearchitect99.taskory.security.handler.OAuth2AuthenticationSuccessHandler;
+import codearchitect99.taskory.security.ratelimit.RateLimitFilter;
 import codearchitect99.taskory.security.service.CustomOAuth2UserService;
 import codearchitect99.taskory.security.token.TokenFilter;
 import codearchitect99.taskory.user.model.Role;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
@@ -63,6 +65,7 @@ public class SecurityConfig {
     );
 
     private final TokenFilter tokenFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
@@ -72,6 +75,7 @@ public class SecurityConfig {
      * Constructor to inject security-related dependencies.
      *
      * @param tokenFilter the JWT token filter to validate tokens.
+     * @param rateLimitFilter the filter limiting request rates per user or client IP.
      * @param httpCookieOAuth2AuthorizationRequestRepository the repository for managing OAuth2 authorization cookies.
      * @param customOAuth2UserService the service to manage OAuth2 user information.
      * @param oAuth2AuthenticationSuccessHandler handler for OAuth2 authentication success events.
@@ -79,11 +83,13 @@ public class SecurityConfig {
      */
     @Autowired
     public SecurityConfig(TokenFilter tokenFilter,
+                          RateLimitFilter rateLimitFilter,
                           HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository,
                           CustomOAuth2UserService customOAuth2UserService,
                           OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler,
                           OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler) {
         this.tokenFilter = tokenFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.httpCookieOAuth2AuthorizationRequestRepository = httpCookieOAuth2AuthorizationRequestRepository;
         this.customOAuth2UserService = customOAuth2UserService;
         this.oAuth2AuthenticationSuccessHandler = oAuth2AuthenticationSuccessHandler;
@@ -140,15 +146,23 @@ public class SecurityConfig {
         // TODO: The request is not working due to role management issues
         httpSecurity.authorizeHttpRequests(auth -> auth
                 .requestMatchers("/oauth2/**").permitAll() // Permit all OAuth2 requests
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll() // Actuator, served only on the internal management port
                 .requestMatchers(urlBase + "/auth/**").permitAll() // Permit all auth-related requests
+                .requestMatchers(HttpMethod.GET, urlBase + "/user/account/deletion/*").permitAll() // Deletion progress, polled after the account is gone
                 .requestMatchers(urlBase + "/user/**").hasAnyAuthority(Role.USER.getName(), Role.TEMP_USER.getName(), Role.ADMIN.getName()) // User roles access
                 .requestMatchers(urlBase + "/event/**").hasAnyAuthority(Role.USER.getName(), Role.ADMIN.getName()) // Event access
                 .requestMatchers(urlBase + "/task/**").hasAnyAuthority(Role.USER.getName(), Role.ADMIN.getName()) // Task access
                 .requestMatchers(urlBase + "/tag/**").hasAnyAuthority(Role.USER.getName(), Role.ADMIN.getName()) // Tag access
+                .requestMatchers(urlBase + "/hashtags/**").hasAnyAuthority(Role.USER.getName(), Role.ADMIN.getName()) // Hashtag access
+                .requestMatchers(urlBase + "/agenda/**").hasAnyAuthority(Role.USER.getName(), Role.ADMIN.getName()) // Agenda access
+                .requestMatchers(urlBase + "/export/**").hasAnyAuthority(Role.USER.getName(), Role.ADMIN.getName()) // Account export
+                .requestMatchers(HttpMethod.POST, urlBase + "/batch").hasAnyAuthority(Role.USER.getName(), Role.TEMP_USER.getName(), Role.ADMIN.getName()) // Batch reads, authorized per sub-request
                 .anyRequest().denyAll()); // Deny all other requests
 
         // Add the JWT token filter before UsernamePasswordAuthenticationFilter
         httpSecurity.addFilterBefore(tokenFilter, UsernamePasswordAuthenticationFilter.class);
+        // Rate limit once the user is known from the token
+        httpSecurity.addFilterAfter(rateLimitFilter, TokenFilter.class);
 
         return httpSecurity.build();
     }
@@ -0,0 +1,60 @@
+package codearchitect99.taskory.config;
+
+import codearchitect99.taskory.monitoring.sql.CountingStatementInspector;
+import codearchitect99.taskory.monitoring.sql.JdbcTimingListener;
+import codearchitect99.taskory.monitoring.sql.StatementRecordingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the per-request SQL counting of {@link codearchitect99.taskory.monitoring.sql.SqlStatementFilter}
+ * into Hibernate and the connection pool.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    /**
+     * Registers the statement inspector that counts the statements Hibernate prepares.
+     *
+     * @return the Hibernate properties customizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    /**
+     * Wraps the data source in a proxy that measures the execution time of every statement,
+     * and records the statements for counters that were started to record them.
+     * Only connection pools are wrapped; routing data sources delegate to them and would time every statement twice.
+     * Static, so the post processor does not force early initialization of this configuration.
+     *
+     * @return the data source post processor.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcTimingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof DelegatingDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new JdbcTimingListener())
+                            .listener(new StatementRecordingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
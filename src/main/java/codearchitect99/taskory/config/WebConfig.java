@@ -0,0 +1,37 @@
+package codearchitect99.taskory.config;
+
+import codearchitect99.taskory.user.CurrentUserRefArgumentResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentUserRefArgumentResolver currentUserRefArgumentResolver;
+    private final AsyncTaskExecutor mvcAsyncExecutor;
+
+    @Autowired
+    public WebConfig(CurrentUserRefArgumentResolver currentUserRefArgumentResolver,
+                     @Qualifier("mvcAsyncExecutor") AsyncTaskExecutor mvcAsyncExecutor) {
+        this.currentUserRefArgumentResolver = currentUserRefArgumentResolver;
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserRefArgumentResolver);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // The timeout stays spring.mvc.async.request-timeout; exports guard against stalls themselves
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+}
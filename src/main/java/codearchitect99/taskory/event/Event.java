@@ -45,7 +45,9 @@ public class Event extends BaseTimeEntity {
     private List<Task> tasks = new ArrayList<>();
 
     @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable
+    @JoinTable(name = "Event_hashtags",
+            joinColumns = @JoinColumn(name = "Event_event_id"),
+            inverseJoinColumns = @JoinColumn(name = "hashtags_hashtag_id"))
     private List<Hashtag> hashtags = new ArrayList<>();
 
     @Column(name = "description")
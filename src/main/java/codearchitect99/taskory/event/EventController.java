@@ -6,8 +6,9 @@ import codearchitect99.taskory.event.payload.EventSummary;
 import codearchitect99.taskory.event.payload.SaveEventRequest;
 import codearchitect99.taskory.security.model.UserPrincipal;
 import codearchitect99.taskory.user.CurrentUser;
-import codearchitect99.taskory.user.UserRepository;
+import codearchitect99.taskory.user.CurrentUserRef;
 import codearchitect99.taskory.user.model.User;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,32 +21,26 @@ import java.util.List;
 
 @Slf4j
 @RestController
+@Timed(value = "taskory.controller", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequestMapping("${app.url-base}/event")
 public class EventController {
 
-    private final UserRepository userRepository;
     private final EventService eventService;
 
     @Autowired
-    public EventController(UserRepository userRepository, EventService eventService) {
-        this.userRepository = userRepository;
+    public EventController(EventService eventService) {
         this.eventService = eventService;
     }
 
     @GetMapping("/period")
     public ResponseEntity<List<EventSummary>> findAllEventsInPeriod(
-            @CurrentUser UserPrincipal userPrincipal,
+            @CurrentUserRef User user,
             @RequestParam("startDate") String startDateString,
             @RequestParam("endDate") String endDateString) {
 
         try {
-            User user = userRepository.findById(userPrincipal.getId())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found."));
-
             List<EventSummary> events = eventService.findEventsInPeriod(user, startDateString, endDateString);
             return ResponseEntity.ok(events);
-        } catch (UsernameNotFoundException exception) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         } catch (DateTimeParseException exception) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
@@ -54,19 +49,14 @@ public class EventController {
 
     /**
      * Create a new event.
-     * @param userPrincipal Authenticated user
+     * @param user Authenticated user
      * @param saveEventRequest Event data to be saved
      * @return The saved EventResponse
      */
     @PostMapping("/create")
-    public ResponseEntity<EventResponse> create(@CurrentUser UserPrincipal userPrincipal, @RequestBody SaveEventRequest saveEventRequest) {
-        try {
-            User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("user not found"));
-            EventResponse response = eventService.save(user, saveEventRequest);
-            return ResponseEntity.ok(response);
-        } catch (UsernameNotFoundException exception) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+    public ResponseEntity<EventResponse> create(@CurrentUserRef User user, @RequestBody SaveEventRequest saveEventRequest) {
+        EventResponse response = eventService.save(user, saveEventRequest);
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -118,18 +108,13 @@ public class EventController {
 
     /**
      * Get all events for the authenticated user.
-     * @param userPrincipal Authenticated user
+     * @param user Authenticated user
      * @return List of EventResponse
      */
     @GetMapping("/all")
-    public ResponseEntity<List<EventSummary>> findAll(@CurrentUser UserPrincipal userPrincipal) {
-        try {
-            User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("user not found"));
-            List<EventSummary> events = eventService.findAll(user);
-            return ResponseEntity.ok(events);
-        } catch (UsernameNotFoundException exception) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+    public ResponseEntity<List<EventSummary>> findAll(@CurrentUserRef User user) {
+        List<EventSummary> events = eventService.findAll(user);
+        return ResponseEntity.ok(events);
     }
 
     @GetMapping("/tags")
@@ -139,8 +124,7 @@ public class EventController {
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<EventSummary>> getUpcomingEvents(@CurrentUser UserPrincipal userPrincipal, @RequestParam("date") String date) {
-        User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("user not found"));
+    public ResponseEntity<List<EventSummary>> getUpcomingEvents(@CurrentUserRef User user, @RequestParam("date") String date) {
         List<EventSummary> response = eventService.findUpcomingEvents(user, TimeUtil.stringToLocalDateTime(date));
         return ResponseEntity.ok(response);
 
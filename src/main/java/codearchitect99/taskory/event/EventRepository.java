@@ -2,8 +2,13 @@ package codearchitect99.taskory.event;
 
 import codearchitect99.taskory.tag.model.Tag;
 import codearchitect99.taskory.user.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -28,4 +33,20 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findOngoingAndUpcommingEvents(@Param("user") User user, @Param("currentDate") LocalDateTime currentDate);
 
     List<Event> findByTag(Tag tag);
+
+    @Query("SELECT e.id FROM Event e WHERE e.tag.id = :tagId")
+    List<Long> findIdsByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+    @Query("SELECT e.id FROM Event e WHERE e.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Without declared tables, a native statement would clear the whole second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "Event_hashtags"))
+    @Query(value = "DELETE FROM Event_hashtags WHERE Event_event_id IN (:eventIds)", nativeQuery = true)
+    int deleteHashtagLinksByEventIdIn(@Param("eventIds") List<Long> eventIds);
+
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
@@ -5,7 +5,11 @@ import codearchitect99.taskory.event.payload.EventResponse;
 import codearchitect99.taskory.event.payload.EventSummary;
 import codearchitect99.taskory.event.payload.SaveEventRequest;
 import codearchitect99.taskory.event.payload.TaskInEventDto;
+import codearchitect99.taskory.hashtag.Hashtag;
 import codearchitect99.taskory.hashtag.HashtagRepository;
+import codearchitect99.taskory.hashtag.HashtagUsageService;
+import codearchitect99.taskory.outbox.DomainEvent;
+import codearchitect99.taskory.outbox.DomainEventPublisher;
 import codearchitect99.taskory.tag.TagRepository;
 import codearchitect99.taskory.task.model.Task;
 import codearchitect99.taskory.task.repository.TaskRepository;
@@ -30,13 +34,18 @@ public class EventService {
     private final TagRepository tagRepository;
     private final HashtagRepository hashtagRepository;
     private final TaskRepository taskRepository;
+    private final HashtagUsageService hashtagUsageService;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Autowired
-    public EventService(EventRepository eventRepository, TagRepository tagRepository, HashtagRepository hashtagRepository, TaskRepository taskRepository) {
+    public EventService(EventRepository eventRepository, TagRepository tagRepository, HashtagRepository hashtagRepository, TaskRepository taskRepository, HashtagUsageService hashtagUsageService,
+                        DomainEventPublisher domainEventPublisher) {
         this.eventRepository = eventRepository;
         this.tagRepository = tagRepository;
         this.hashtagRepository = hashtagRepository;
         this.taskRepository = taskRepository;
+        this.hashtagUsageService = hashtagUsageService;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
     /**
@@ -66,12 +75,13 @@ public class EventService {
             event.setTag(null);
         }
         if (saveEventRequest.getHashtagIds() != null) {
-            event.setHashtags(hashtagRepository.findAllById(saveEventRequest.getHashtagIds()));
+            event.setHashtags(hashtagRepository.findAllCachedById(saveEventRequest.getHashtagIds()));
         } else {
             event.setHashtags(null);
         }
 
         eventRepository.save(event);
+        hashtagUsageService.recordChange(null, event.getHashtags());
 
         if (saveEventRequest.getTasks() != null && !saveEventRequest.getTasks().isEmpty()) {
             List<Task> newTasks = saveEventRequest.getTasks().stream()
@@ -88,7 +98,9 @@ public class EventService {
             taskRepository.saveAll(newTasks);
             event.setTasks(new ArrayList<>(newTasks));
             eventRepository.save(event);
+            domainEventPublisher.publish(DomainEvent.Aggregate.TASK, idsOf(newTasks), DomainEvent.Change.CREATED, user.getId());
         }
+        domainEventPublisher.publish(DomainEvent.Aggregate.EVENT, event.getId(), DomainEvent.Change.CREATED, user.getId());
 
 
         return new EventResponse(event);
@@ -129,10 +141,24 @@ public class EventService {
      * @return EventSummary list
      * @throws IllegalArgumentException if the endDate is before the startDate
      */
+    @Transactional(readOnly = true)
     public List<EventSummary> findEventsInPeriod(User user, String startDateString, String endDateString) {
         LocalDateTime startDateTime = TimeUtil.stringToLocalDateTime(startDateString);
         LocalDateTime endDateTime = TimeUtil.stringToLocalDateTime(endDateString);
+        return findEventsInPeriod(user, startDateTime, endDateTime);
+    }
 
+    /**
+     * Find events in period
+     *
+     * @param user user information
+     * @param startDateTime start of the period
+     * @param endDateTime end of the period
+     * @return EventSummary list
+     * @throws IllegalArgumentException if the endDate is before the startDate
+     */
+    @Transactional(readOnly = true)
+    public List<EventSummary> findEventsInPeriod(User user, LocalDateTime startDateTime, LocalDateTime endDateTime) {
         // Check if endDate is before startDate
         if (endDateTime.isBefore(startDateTime)) {
             throw new IllegalArgumentException("End date cannot be before start date.");
@@ -165,6 +191,7 @@ public class EventService {
 
         /* Create and Update */
         List<Task> newTaskList = new ArrayList<>();
+        List<Long> updatedTaskIds = new ArrayList<>();
         if (saveEventRequest.getTasks() != null && !saveEventRequest.getTasks().isEmpty()) {
             List<Long> requestExistingIdList = saveEventRequest.getTasks().stream()
                     .map(TaskInEventDto::getId)
@@ -178,6 +205,7 @@ public class EventService {
                     updateTask.setStatus(task.getStatus());
 
                     taskRepository.save(updateTask);
+                    updatedTaskIds.add(updateTask.getId());
                 } else {
                     Task newTask = Task.builder()
                             .user(foundEvent.getUser())
@@ -194,7 +222,9 @@ public class EventService {
                     .filter(task -> !requestExistingIdList.contains(task.getId()))
                     .toList();
 
+            hashtagUsageService.recordChange(hashtagsOf(taskListToDelete), null);
             taskRepository.deleteAll(taskListToDelete);
+            domainEventPublisher.publish(DomainEvent.Aggregate.TASK, idsOf(taskListToDelete), DomainEvent.Change.DELETED, foundEvent.getUser().getId());
 
             existingTasks.removeAll(taskListToDelete);
         }
@@ -208,11 +238,13 @@ public class EventService {
         } else {
             foundEvent.setTag(null);
         }
+        List<Hashtag> previousHashtags = foundEvent.getHashtags() != null ? new ArrayList<>(foundEvent.getHashtags()) : null;
         if (saveEventRequest.getHashtagIds() != null) {
-            foundEvent.setHashtags(hashtagRepository.findAllById(saveEventRequest.getHashtagIds()));
+            foundEvent.setHashtags(hashtagRepository.findAllCachedById(saveEventRequest.getHashtagIds()));
         } else {
             foundEvent.setHashtags(null);
         }
+        hashtagUsageService.recordChange(previousHashtags, foundEvent.getHashtags());
         foundEvent.setTitle(saveEventRequest.getTitle());
         foundEvent.setDescription(saveEventRequest.getDescription());
         foundEvent.setStartDateTime(TimeUtil.stringToLocalDateTime(saveEventRequest.getStartDateTime()));
@@ -222,6 +254,15 @@ public class EventService {
 
 
         Event result = eventRepository.save(foundEvent);
+
+        // New tasks only have ids once merged into the saved event
+        List<Long> createdTaskIds = idsOf(result.getTasks()).stream()
+                .filter(taskId -> !existingTasksMap.containsKey(taskId))
+                .toList();
+        Long userId = result.getUser().getId();
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, createdTaskIds, DomainEvent.Change.CREATED, userId);
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, updatedTaskIds, DomainEvent.Change.UPDATED, userId);
+        domainEventPublisher.publish(DomainEvent.Aggregate.EVENT, eventId, DomainEvent.Change.UPDATED, userId);
         return new EventResponse(result);
     }
 
@@ -229,10 +270,36 @@ public class EventService {
      * Delete event by event id
      * @param id event id for delete
      */
+    @Transactional
     public void deleteById(Long id) throws EventNotFoundException {
-        if (eventRepository.existsById(id)) {
-            eventRepository.deleteById(id);
-        } else throw new EventNotFoundException();
+        Event event = eventRepository.findById(id).orElseThrow(EventNotFoundException::new);
+        List<Hashtag> releasedHashtags = hashtagsOf(event.getTasks());
+        if (event.getHashtags() != null) {
+            releasedHashtags.addAll(event.getHashtags());
+        }
+        hashtagUsageService.recordChange(releasedHashtags, null);
+        eventRepository.delete(event);
+
+        // Tasks of the event are deleted with it
+        Long userId = event.getUser().getId();
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, idsOf(event.getTasks()), DomainEvent.Change.DELETED, userId);
+        domainEventPublisher.publish(DomainEvent.Aggregate.EVENT, id, DomainEvent.Change.DELETED, userId);
+    }
+
+    private static List<Long> idsOf(List<Task> tasks) {
+        return tasks != null ? tasks.stream().map(Task::getId).toList() : List.of();
+    }
+
+    private static List<Hashtag> hashtagsOf(List<Task> tasks) {
+        List<Hashtag> hashtags = new ArrayList<>();
+        if (tasks != null) {
+            for (Task task : tasks) {
+                if (task.getHashtags() != null) {
+                    hashtags.addAll(task.getHashtags());
+                }
+            }
+        }
+        return hashtags;
     }
 
 
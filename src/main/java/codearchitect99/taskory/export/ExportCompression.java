@@ -0,0 +1,34 @@
+package codearchitect99.taskory.export;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Compression of an account export.
+ * NONE and GZIP stream a single NDJSON document, ZIP writes one NDJSON entry per table.
+ */
+@Getter
+public enum ExportCompression {
+    NONE("application/x-ndjson", ".ndjson"),
+    GZIP("application/gzip", ".ndjson.gz"),
+    ZIP("application/zip", ".zip");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportCompression(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Parse a compression request parameter
+     * @param value none, gzip or zip, in any case
+     * @return ExportCompression
+     * @throws IllegalArgumentException if the value is not supported
+     */
+    public static ExportCompression from(String value) {
+        return ExportCompression.valueOf(value.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,74 @@
+package codearchitect99.taskory.export;
+
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.user.CurrentUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+@Slf4j
+@RestController
+@RequestMapping("${app.url-base}/export")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final Duration retryAfter;
+
+    @Autowired
+    public ExportController(ExportService exportService, @Value("${app.export.retry-after}") Duration retryAfter) {
+        this.exportService = exportService;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Download all data of the current user as NDJSON.
+     * An uncompressed or GZIP export is complete only if its last line is the "end" record.
+     * @param compression none, gzip or zip
+     * @return The export, streamed while it is read from the database; 503 if too many exports are running
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@CurrentUser UserPrincipal userPrincipal,
+                                                        @RequestParam(value = "compression", defaultValue = "none") String compression) {
+        ExportCompression exportCompression;
+        try {
+            exportCompression = ExportCompression.from(compression);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (!exportService.tryReserveSlot()) {
+            log.warn("[LOG] Export rejected, all export slots are in use: user {}", userPrincipal.getId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter.toSeconds()))
+                    .build();
+        }
+
+        Long userId = userPrincipal.getId();
+        StreamingResponseBody body = outputStream -> {
+            try {
+                exportService.export(userId, exportCompression, outputStream);
+            } finally {
+                exportService.releaseSlot();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportCompression.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("taskory-export" + exportCompression.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,237 @@
+package codearchitect99.taskory.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a complete export of an account as NDJSON, one JSON object per row.
+ * Every table is read through a forward-only cursor of scalar projections, so no entity is loaded
+ * and memory stays constant regardless of account size. Rows are written straight to the response;
+ * a slow client blocks the writes, which in turn pauses reading from the cursor.
+ * All tables are read in one read-only transaction, so the export is a consistent snapshot.
+ * That transaction holds a connection for the whole download, so only a few exports run at a time.
+ * There is no limit on the total length of an export; instead, one that makes no progress for the stall timeout,
+ * e.g. because the client stopped reading, is aborted. A complete NDJSON export ends with an "end" record,
+ * and compressed exports end with their GZIP or ZIP trailer, so a client can tell a truncated download.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    /**
+     * Exported table
+     * @param name Value of the "type" field, and entry name in ZIP exports
+     * @param query JPQL selecting scalar columns of one user's rows, with a :userId parameter
+     * @param columns Field names of the selected columns, in order
+     */
+    private record ExportTable(String name, String query, List<String> columns) {
+    }
+
+    /**
+     * Value of the "type" field of the record that ends an NDJSON export
+     */
+    public static final String END_TYPE = "end";
+
+    private static final List<ExportTable> TABLES = List.of(
+            new ExportTable("tag",
+                    "SELECT t.id, t.title, t.color FROM Tag t WHERE t.user.id = :userId ORDER BY t.id",
+                    List.of("id", "title", "color")),
+            new ExportTable("hashtag",
+                    "SELECT h.id, h.title, u.usageCount FROM Hashtag h LEFT JOIN HashtagUsage u ON u.hashtagId = h.id " +
+                            "WHERE h.user.id = :userId ORDER BY h.id",
+                    List.of("id", "title", "usageCount")),
+            new ExportTable("event",
+                    "SELECT e.id, e.title, e.description, e.location, e.startDateTime, e.dueDateTime, e.tag.id, e.createdAt, e.updatedAt " +
+                            "FROM Event e WHERE e.user.id = :userId ORDER BY e.id",
+                    List.of("id", "title", "description", "location", "startDateTime", "dueDateTime", "tagId", "createdAt", "updatedAt")),
+            new ExportTable("event_hashtag",
+                    "SELECT e.id, h.id FROM Event e JOIN e.hashtags h WHERE e.user.id = :userId ORDER BY e.id",
+                    List.of("eventId", "hashtagId")),
+            new ExportTable("task",
+                    "SELECT t.id, t.title, t.description, t.status, t.deadline, t.tag.id, t.event.id, t.createdAt, t.updatedAt " +
+                            "FROM Task t WHERE t.user.id = :userId ORDER BY t.id",
+                    List.of("id", "title", "description", "status", "deadline", "tagId", "eventId", "createdAt", "updatedAt")),
+            new ExportTable("task_hashtag",
+                    "SELECT t.id, h.id FROM Task t JOIN t.hashtags h WHERE t.user.id = :userId ORDER BY t.id",
+                    List.of("taskId", "hashtagId")),
+            new ExportTable("task_item",
+                    "SELECT i.id, i.task.id, i.title, i.completed FROM TaskItem i WHERE i.task.user.id = :userId ORDER BY i.id",
+                    List.of("id", "taskId", "title", "completed")),
+            new ExportTable("routine",
+                    "SELECT r.id, r.title, r.description, r.days FROM Routine r WHERE r.user.id = :userId ORDER BY r.id",
+                    List.of("id", "title", "description", "days")),
+            new ExportTable("routine_history",
+                    "SELECT h.id, h.routine.id, h.checkedAt FROM RoutineHistory h WHERE h.user.id = :userId ORDER BY h.id",
+                    List.of("id", "routineId", "checkedAt"))
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore slots;
+
+    private final Set<ProgressOutputStream> running = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.export.fetch-size}")
+    private int fetchSize;
+
+    @Value("${app.export.stall-timeout}")
+    private Duration stallTimeout;
+
+    @Autowired
+    public ExportService(ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                         @Value("${app.export.max-concurrent}") int maxConcurrent) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserve one of the concurrent export slots. Must be released with {@link #releaseSlot()} once the export ends.
+     * @return false if the maximum number of exports is already running
+     */
+    public boolean tryReserveSlot() {
+        return slots.tryAcquire();
+    }
+
+    /**
+     * Release a slot reserved with {@link #tryReserveSlot()}
+     */
+    public void releaseSlot() {
+        slots.release();
+    }
+
+    /**
+     * Write all data of a user to the output stream
+     * @param userId User id
+     * @param compression Compression of the output
+     * @param outputStream Output, not closed by this method
+     * @throws IOException if writing fails, including when the export was aborted for making no progress
+     */
+    public void export(Long userId, ExportCompression compression, OutputStream outputStream) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ProgressOutputStream progress = new ProgressOutputStream(outputStream, System.nanoTime());
+        running.add(progress);
+        try {
+            switch (compression) {
+                case NONE -> writeTables(userId, progress, null);
+                case GZIP -> {
+                    GZIPOutputStream gzip = new GZIPOutputStream(progress, 8192);
+                    writeTables(userId, gzip, null);
+                    gzip.finish();
+                }
+                case ZIP -> {
+                    ZipOutputStream zip = new ZipOutputStream(progress);
+                    writeTables(userId, zip, zip);
+                    zip.finish();
+                }
+            }
+            progress.flush();
+        } finally {
+            running.remove(progress);
+            progress.finish();
+        }
+        log.info("[LOG] Account exported: user {}, {} in {} ms", userId, compression, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Abort running exports that made no progress for the stall timeout
+     */
+    @Scheduled(fixedDelayString = "${app.export.stall-check-interval-ms}")
+    public void abortStalled() {
+        long now = System.nanoTime();
+        for (ProgressOutputStream progress : running) {
+            if (progress.abortIfStalled(now, stallTimeout)) {
+                log.warn("[LOG] Export aborted, no progress for {}", stallTimeout);
+            }
+        }
+    }
+
+    private void writeTables(Long userId, OutputStream outputStream, ZipOutputStream zip) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    long rows = 0;
+                    for (ExportTable table : TABLES) {
+                        if (zip != null) {
+                            generator.flush();
+                            zip.putNextEntry(new ZipEntry(table.name() + ".ndjson"));
+                        }
+                        rows += writeTable(userId, table, generator, zip == null);
+                        if (zip != null) {
+                            generator.flush();
+                            zip.closeEntry();
+                        }
+                    }
+                    if (zip == null) {
+                        // Written last, so a download without it was cut off
+                        generator.writeStartObject();
+                        generator.writeStringField("type", END_TYPE);
+                        generator.writeNumberField("rows", rows);
+                        generator.writeEndObject();
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    // Typically the client went away; rolls back the read-only transaction and closes the cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return Number of rows written
+     */
+    private long writeTable(Long userId, ExportTable table, JsonGenerator generator, boolean withType) throws IOException {
+        List<String> columns = table.columns();
+        try (Stream<Object[]> rows = entityManager.createQuery(table.query(), Object[].class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            long count = 0;
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                generator.writeStartObject();
+                if (withType) {
+                    generator.writeStringField("type", table.name());
+                }
+                for (int i = 0; i < columns.size(); i++) {
+                    generator.writeFieldName(columns.get(i));
+                    generator.writeObject(row[i]);
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+            return count;
+        }
+    }
+}
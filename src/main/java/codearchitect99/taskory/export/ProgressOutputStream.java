@@ -0,0 +1,93 @@
+package codearchitect99.taskory.export;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Output stream of a running export that records when it last made progress, so a stalled export can be aborted.
+ * Aborting interrupts the writing thread, which ends a write blocked on a slow client or a fetch blocked on the
+ * database, and fails every later write. Only the thread that created the stream may write to it.
+ */
+class ProgressOutputStream extends FilterOutputStream {
+
+    private final Thread writer = Thread.currentThread();
+    // Guards the interrupt, so it cannot reach the writer after the export has finished
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long lastProgressNanos;
+    private volatile boolean aborted;
+    private boolean finished;
+
+    ProgressOutputStream(OutputStream out, long nowNanos) {
+        super(out);
+        this.lastProgressNanos = nowNanos;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkAborted();
+        out.write(b);
+        lastProgressNanos = System.nanoTime();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkAborted();
+        out.write(b, off, len);
+        lastProgressNanos = System.nanoTime();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkAborted();
+        out.flush();
+        lastProgressNanos = System.nanoTime();
+    }
+
+    /**
+     * Abort the export if it made no progress within the timeout
+     * @param nowNanos Current time from {@link System#nanoTime()}
+     * @param stallTimeout Longest allowed time without progress
+     * @return true if the export was aborted by this call
+     */
+    boolean abortIfStalled(long nowNanos, Duration stallTimeout) {
+        if (nowNanos - lastProgressNanos < stallTimeout.toNanos()) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (finished || aborted) {
+                return false;
+            }
+            aborted = true;
+            writer.interrupt();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mark the export as finished and clear an interrupt left by an abort, so it does not leak into the next task
+     * of the writing thread. Called by the writing thread.
+     */
+    void finish() {
+        lock.lock();
+        try {
+            finished = true;
+            if (aborted) {
+                Thread.interrupted();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkAborted() throws IOException {
+        if (aborted) {
+            throw new IOException("Export aborted after making no progress");
+        }
+    }
+}
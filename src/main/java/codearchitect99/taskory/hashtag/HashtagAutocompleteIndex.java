@@ -0,0 +1,196 @@
+package codearchitect99.taskory.hashtag;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user prefix index over hashtag titles for autocomplete.
+ * Each user's hashtags are kept in an immutable array sorted by lower-cased title, so a prefix lookup is
+ * a binary search followed by a scan of the matching range. Matches are ranked by {@link HashtagUsage#getUsageCount()}.
+ * Indexes are built lazily on the first lookup and replaced copy-on-write by {@link HashtagService} writes.
+ * Usage changes are stamped before their transaction commits and each index with the time its read finished,
+ * so a change that may already be part of an index read is not applied on top of it; the index is dropped instead.
+ */
+@Component
+public class HashtagAutocompleteIndex {
+
+    private final HashtagUsageRepository hashtagUsageRepository;
+    private final Cache<Long, UserIndex> indexes;
+    // Orders usage changes against index reads
+    private final AtomicLong clock = new AtomicLong();
+
+    @Autowired
+    public HashtagAutocompleteIndex(HashtagUsageRepository hashtagUsageRepository,
+                                    @Value("${app.hashtag.autocomplete.max-users}") long maxUsers,
+                                    @Value("${app.hashtag.autocomplete.idle-ttl}") Duration idleTtl) {
+        this.hashtagUsageRepository = hashtagUsageRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find the most used hashtags whose title starts with the prefix, ignoring case
+     * @param userId Owner of the hashtags
+     * @param prefix Title prefix
+     * @param limit Maximum number of results
+     * @return HashtagResponse list ordered by usage, then title
+     */
+    public List<HashtagResponse> search(Long userId, String prefix, int limit) {
+        return indexes.get(userId, this::build).search(normalize(prefix), limit);
+    }
+
+    /**
+     * Reflect a saved or renamed hashtag in an already built index
+     * @param userId Owner of the hashtag
+     * @param hashtag Saved hashtag
+     */
+    public void put(Long userId, Hashtag hashtag) {
+        indexes.asMap().computeIfPresent(userId, (key, index) -> index.with(hashtag.getId(), hashtag.getTitle()));
+    }
+
+    /**
+     * Reflect a deleted hashtag in an already built index
+     * @param userId Owner of the hashtag
+     * @param hashtagId Deleted hashtag id
+     */
+    public void remove(Long userId, Long hashtagId) {
+        indexes.asMap().computeIfPresent(userId, (key, index) -> index.without(hashtagId));
+    }
+
+    public CacheStats stats() {
+        return indexes.stats();
+    }
+
+    /**
+     * Stamp a usage change. Must be called after its counters are written and before its transaction commits.
+     * @return Stamp to pass to {@link #addUsage(Long, Long, long, long)}
+     */
+    public long stampUsageChange() {
+        return clock.incrementAndGet();
+    }
+
+    /**
+     * Reflect a committed usage count change in an already built index.
+     * An index read after the change was stamped may already count it, so it is dropped and rebuilt on the next lookup.
+     * @param userId Owner of the hashtag
+     * @param hashtagId Hashtag id
+     * @param delta Change of the usage count
+     * @param stamp Stamp of the change from {@link #stampUsageChange()}
+     */
+    public void addUsage(Long userId, Long hashtagId, long delta, long stamp) {
+        indexes.asMap().computeIfPresent(userId,
+                (key, index) -> index.readStamp() < stamp ? index.withUsage(hashtagId, delta) : null);
+    }
+
+    /**
+     * Drop a user's index so the next lookup rebuilds it
+     * @param userId Owner of the hashtags
+     */
+    public void invalidate(Long userId) {
+        indexes.invalidate(userId);
+    }
+
+    private UserIndex build(Long userId) {
+        List<HashtagUsageResponse> hashtags = hashtagUsageRepository.findAllByUserIdOrderByUsageCountDesc(userId);
+        Entry[] entries = new Entry[hashtags.size()];
+        for (int i = 0; i < entries.length; i++) {
+            HashtagUsageResponse hashtag = hashtags.get(i);
+            entries[i] = new Entry(hashtag.getId(), hashtag.getTitle(), hashtag.getUsageCount());
+        }
+        Arrays.sort(entries, Entry.BY_KEY);
+        return new UserIndex(entries, clock.incrementAndGet());
+    }
+
+    private static String normalize(String title) {
+        return title == null ? "" : title.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Long id, String title, String key, long usage) {
+        static final Comparator<Entry> BY_KEY = Comparator.comparing(Entry::key).thenComparing(Entry::id);
+        static final Comparator<Entry> BY_RANK = Comparator.comparingLong(Entry::usage).reversed().thenComparing(Entry::key);
+
+        Entry(Long id, String title, long usage) {
+            this(id, title, normalize(title), usage);
+        }
+    }
+
+    /**
+     * @param entries Hashtags sorted by key
+     * @param readStamp Stamp taken when the usage counts were read
+     */
+    private record UserIndex(Entry[] entries, long readStamp) {
+
+        List<HashtagResponse> search(String prefix, int limit) {
+            if (limit <= 0) {
+                return List.of();
+            }
+
+            // Lower bound of the prefix in the sorted keys
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid].key().compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            // Keep the top entries of the matching range in a min-heap of the limit size
+            PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, Entry.BY_RANK.reversed());
+            for (int i = low; i < entries.length && entries[i].key().startsWith(prefix); i++) {
+                top.offer(entries[i]);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Entry> ranked = new ArrayList<>(top);
+            ranked.sort(Entry.BY_RANK);
+            return ranked.stream().map(entry -> new HashtagResponse(entry.id(), entry.title())).toList();
+        }
+
+        UserIndex with(Long id, String title) {
+            long usage = 0;
+            List<Entry> list = new ArrayList<>(entries.length + 1);
+            for (Entry entry : entries) {
+                if (entry.id().equals(id)) {
+                    usage = entry.usage();
+                } else {
+                    list.add(entry);
+                }
+            }
+            list.add(new Entry(id, title, usage));
+            list.sort(Entry.BY_KEY);
+            return new UserIndex(list.toArray(Entry[]::new), readStamp);
+        }
+
+        UserIndex withUsage(Long id, long delta) {
+            Entry[] updated = entries.clone();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i].id().equals(id)) {
+                    updated[i] = new Entry(id, updated[i].title(), updated[i].key(), Math.max(updated[i].usage() + delta, 0));
+                }
+            }
+            return new UserIndex(updated, readStamp);
+        }
+
+        UserIndex without(Long id) {
+            return new UserIndex(Arrays.stream(entries)
+                    .filter(entry -> !entry.id().equals(id))
+                    .toArray(Entry[]::new), readStamp);
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package codearchitect99.taskory.hashtag;
 
+import codearchitect99.taskory.user.CurrentUserRef;
 import codearchitect99.taskory.user.model.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@Timed(value = "taskory.controller", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequestMapping("${app.url-base}/hashtags")
 public class HashtagController {
 
     private final HashtagService hashtagService;
+    private final HashtagUsageService hashtagUsageService;
+
+    @Value("${app.hashtag.autocomplete.max-limit}")
+    private int maxAutocompleteLimit;
+
+    @Value("${app.hashtag.trending.max-limit}")
+    private int maxTrendingLimit;
 
     @Autowired
-    public HashtagController(HashtagService hashtagService) {
+    public HashtagController(HashtagService hashtagService, HashtagUsageService hashtagUsageService) {
         this.hashtagService = hashtagService;
+        this.hashtagUsageService = hashtagUsageService;
     }
 
     /**
@@ -26,7 +37,7 @@ public class HashtagController {
      * @return ResponseEntity with HashtagResponse and HTTP status
      */
     @PostMapping
-    public ResponseEntity<HashtagResponse> createHashtag(@AuthenticationPrincipal User user,
+    public ResponseEntity<HashtagResponse> createHashtag(@CurrentUserRef User user,
                                                          @RequestBody SaveHashtagRequest saveHashtagRequest) {
         HashtagResponse hashtagResponse = hashtagService.save(user, saveHashtagRequest);
         return ResponseEntity.ok(hashtagResponse);
@@ -53,11 +64,50 @@ public class HashtagController {
      * @return ResponseEntity with List of HashtagResponse and HTTP status
      */
     @GetMapping
-    public ResponseEntity<List<HashtagResponse>> getAllHashtags(@AuthenticationPrincipal User user) {
+    public ResponseEntity<List<HashtagResponse>> getAllHashtags(@CurrentUserRef User user) {
         List<HashtagResponse> hashtagResponses = hashtagService.findAll(user);
         return ResponseEntity.ok(hashtagResponses);
     }
 
+    /**
+     * Autocomplete the user's hashtags by title prefix
+     * @param user Authenticated user
+     * @param prefix Title prefix, case-insensitive
+     * @param limit Maximum number of suggestions
+     * @return ResponseEntity with List of HashtagResponse ordered by usage
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<HashtagResponse>> autocomplete(@CurrentUserRef User user,
+                                                              @RequestParam(value = "prefix", defaultValue = "") String prefix,
+                                                              @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<HashtagResponse> hashtagResponses = hashtagService.autocomplete(user, prefix, Math.min(limit, maxAutocompleteLimit));
+        return ResponseEntity.ok(hashtagResponses);
+    }
+
+    /**
+     * Get all hashtags of a user with their usage count
+     * @param user Authenticated user
+     * @return ResponseEntity with List of HashtagUsageResponse, most used first
+     */
+    @GetMapping("/usage")
+    public ResponseEntity<List<HashtagUsageResponse>> getUsage(@CurrentUserRef User user) {
+        return ResponseEntity.ok(hashtagUsageService.findUsage(user));
+    }
+
+    /**
+     * Get the user's trending hashtags.
+     * Scores are kept in the memory of each instance and are not persisted: they start empty after a restart,
+     * and an instance only ranks the uses it has seen itself, so results can differ between instances.
+     * @param user Authenticated user
+     * @param limit Maximum number of hashtags
+     * @return ResponseEntity with List of HashtagTrendResponse, highest score first
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<HashtagTrendResponse>> getTrending(@CurrentUserRef User user,
+                                                                  @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(hashtagUsageService.findTrending(user, Math.min(limit, maxTrendingLimit)));
+    }
+
     /**
      * Update a hashtag by its ID
      * @param id Hashtag ID
@@ -1,15 +1,34 @@
 package codearchitect99.taskory.hashtag;
 
 import codearchitect99.taskory.user.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
+public interface HashtagRepository extends JpaRepository<Hashtag, Long>, HashtagRepositoryCustom {
 
+    // Cached until any Hashtag row changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "hashtag.by-user")
+    })
     List<Hashtag> findAllByUser(User user);
 
     void deleteByUser(User user);
+
+    @Query("SELECT h.id FROM Hashtag h WHERE h.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Hashtag h WHERE h.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
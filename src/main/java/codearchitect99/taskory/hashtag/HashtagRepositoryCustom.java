@@ -0,0 +1,16 @@
+package codearchitect99.taskory.hashtag;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface HashtagRepositoryCustom {
+
+    /**
+     * Find all hashtags by ids through the second-level cache.
+     * Only the hashtags that are not cached are loaded, with a single query.
+     * Like {@link HashtagRepository#findAllById}, ids that do not exist are skipped.
+     * @param ids Hashtag ids
+     * @return Hashtag list in request order
+     */
+    List<Hashtag> findAllCachedById(Collection<Long> ids);
+}
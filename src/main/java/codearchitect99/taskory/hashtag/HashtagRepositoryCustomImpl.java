@@ -0,0 +1,27 @@
+package codearchitect99.taskory.hashtag;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+class HashtagRepositoryCustomImpl implements HashtagRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Hashtag> findAllCachedById(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Hashtag> hashtags = new ArrayList<>(entityManager.unwrap(Session.class)
+                .byMultipleIds(Hashtag.class)
+                .multiLoad(distinctIds));
+        hashtags.removeIf(Objects::isNull);
+        return hashtags;
+    }
+}
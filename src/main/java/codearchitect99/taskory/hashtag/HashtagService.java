@@ -1,8 +1,11 @@
 package codearchitect99.taskory.hashtag;
 
+import codearchitect99.taskory.outbox.DomainEvent;
+import codearchitect99.taskory.outbox.DomainEventPublisher;
 import codearchitect99.taskory.user.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,10 +13,22 @@ import java.util.List;
 @Service
 public class HashtagService {
     private final HashtagRepository hashtagRepository;
+    private final HashtagUsageRepository hashtagUsageRepository;
+    private final HashtagAutocompleteIndex autocompleteIndex;
+    private final HashtagTrendTracker trendTracker;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public HashtagService(HashtagRepository hashtagRepository) {
+    public HashtagService(HashtagRepository hashtagRepository, HashtagUsageRepository hashtagUsageRepository,
+                          HashtagAutocompleteIndex autocompleteIndex, HashtagTrendTracker trendTracker,
+                          DomainEventPublisher domainEventPublisher, TransactionTemplate transactionTemplate) {
         this.hashtagRepository = hashtagRepository;
+        this.hashtagUsageRepository = hashtagUsageRepository;
+        this.autocompleteIndex = autocompleteIndex;
+        this.trendTracker = trendTracker;
+        this.domainEventPublisher = domainEventPublisher;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -27,7 +42,12 @@ public class HashtagService {
         hashtag.setUser(user);
         hashtag.setTitle(saveHashtagRequest.getTitle());
 
-        hashtagRepository.save(hashtag);
+        transactionTemplate.executeWithoutResult(status -> {
+            hashtagRepository.save(hashtag);
+            hashtagUsageRepository.createCounter(hashtag.getId(), user.getId());
+            domainEventPublisher.publish(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.CREATED, user.getId());
+        });
+        autocompleteIndex.put(user.getId(), hashtag);
 
         return new HashtagResponse(hashtag);
     }
@@ -67,7 +87,12 @@ public class HashtagService {
         Hashtag hashtag = hashtagRepository.findById(hashtagId).orElseThrow(HashtagNotFoundException::new);
         hashtag.setTitle(saveHashtagRequest.getTitle());
 
-        Hashtag updatedHashtag = hashtagRepository.save(hashtag);
+        Hashtag updatedHashtag = transactionTemplate.execute(status -> {
+            Hashtag saved = hashtagRepository.save(hashtag);
+            domainEventPublisher.publish(DomainEvent.Aggregate.HASHTAG, hashtagId, DomainEvent.Change.UPDATED, saved.getUser().getId());
+            return saved;
+        });
+        autocompleteIndex.put(hashtag.getUser().getId(), updatedHashtag);
         return new HashtagResponse(updatedHashtag);
     }
 
@@ -76,8 +101,23 @@ public class HashtagService {
      * @param id Hashtag id for deletion
      */
     public void deleteById(Long id) throws HashtagNotFoundException {
-        if (hashtagRepository.existsById(id)) {
-            hashtagRepository.deleteById(id);
-        } else throw new HashtagNotFoundException();
+        Hashtag hashtag = hashtagRepository.findById(id).orElseThrow(HashtagNotFoundException::new);
+        transactionTemplate.executeWithoutResult(status -> {
+            hashtagRepository.delete(hashtag);
+            domainEventPublisher.publish(DomainEvent.Aggregate.HASHTAG, id, DomainEvent.Change.DELETED, hashtag.getUser().getId());
+        });
+        autocompleteIndex.remove(hashtag.getUser().getId(), id);
+        trendTracker.remove(hashtag.getUser().getId(), id);
+    }
+
+    /**
+     * Autocomplete hashtags by title prefix
+     * @param user User information
+     * @param prefix Title prefix, case-insensitive
+     * @param limit Maximum number of results
+     * @return HashtagResponse list ordered by usage
+     */
+    public List<HashtagResponse> autocomplete(User user, String prefix, int limit) {
+        return autocompleteIndex.search(user.getId(), prefix, limit);
     }
 }
@@ -0,0 +1,20 @@
+package codearchitect99.taskory.hashtag;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class HashtagTrendResponse {
+    private Long id;
+    private String title;
+    private double score;
+
+    public HashtagTrendResponse(Hashtag hashtag, double score) {
+        this.id = hashtag.getId();
+        this.title = hashtag.getTitle();
+        this.score = score;
+    }
+}
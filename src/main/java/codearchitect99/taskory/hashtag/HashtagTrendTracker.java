@@ -0,0 +1,155 @@
+package codearchitect99.taskory.hashtag;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Exponentially decayed hashtag usage per user, for "trending" lists.
+ * Uses forward decay: a use at time t is stored with weight e^(λ(t - landmark)), so stored scores never
+ * have to be decayed as time passes and their order stays valid. Each user's scores are kept sorted,
+ * which makes reading the top K an O(K) walk. Scores live in memory only: they start empty after a restart,
+ * and each instance only scores the uses recorded on it.
+ */
+@Component
+public class HashtagTrendTracker {
+
+    // Rescale before e^(λ(t - landmark)) gets anywhere near overflowing a double
+    private static final double MAX_EXPONENT = 50;
+
+    private final double lambda;
+    private final Clock clock;
+    private final Cache<Long, UserTrend> trends;
+
+    public HashtagTrendTracker(@Value("${app.hashtag.trending.half-life}") Duration halfLife,
+                               @Value("${app.hashtag.trending.max-users}") long maxUsers,
+                               @Value("${app.hashtag.trending.idle-ttl}") Duration idleTtl) {
+        this(halfLife, maxUsers, idleTtl, Clock.systemUTC());
+    }
+
+    HashtagTrendTracker(Duration halfLife, long maxUsers, Duration idleTtl, Clock clock) {
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.clock = clock;
+        this.trends = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTtl)
+                .build();
+    }
+
+    /**
+     * Record new uses of a hashtag
+     * @param userId Owner of the hashtag
+     * @param hashtagId Hashtag id
+     * @param count Number of uses
+     */
+    public void record(Long userId, Long hashtagId, long count) {
+        if (count <= 0) {
+            return;
+        }
+        trends.get(userId, key -> new UserTrend(clock.millis())).add(hashtagId, count, clock.millis());
+    }
+
+    /**
+     * Forget a hashtag, e.g. after it was deleted
+     * @param userId Owner of the hashtag
+     * @param hashtagId Hashtag id
+     */
+    public void remove(Long userId, Long hashtagId) {
+        UserTrend trend = trends.getIfPresent(userId);
+        if (trend != null) {
+            trend.remove(hashtagId);
+        }
+    }
+
+    /**
+     * Forget all hashtags of a user, e.g. after the account was deleted
+     * @param userId Owner of the hashtags
+     */
+    public void invalidate(Long userId) {
+        trends.invalidate(userId);
+    }
+
+    /**
+     * Top trending hashtags of a user with their decayed use counts as of now
+     * @param userId Owner of the hashtags
+     * @param limit Maximum number of results
+     * @return Hashtag id to decayed count, highest first
+     */
+    public LinkedHashMap<Long, Double> top(Long userId, int limit) {
+        UserTrend trend = trends.getIfPresent(userId);
+        if (trend == null || limit <= 0) {
+            return new LinkedHashMap<>();
+        }
+        return trend.top(limit, clock.millis());
+    }
+
+    private record Score(Long hashtagId, double value) {
+        static final Comparator<Score> BY_VALUE_DESC = Comparator.comparingDouble(Score::value).reversed()
+                .thenComparing(Score::hashtagId);
+    }
+
+    private final class UserTrend {
+        private final Map<Long, Score> scores = new HashMap<>();
+        private final TreeSet<Score> ranking = new TreeSet<>(Score.BY_VALUE_DESC);
+        private long landmark;
+
+        UserTrend(long landmark) {
+            this.landmark = landmark;
+        }
+
+        synchronized void add(Long hashtagId, long count, long now) {
+            if (lambda * (now - landmark) > MAX_EXPONENT) {
+                rescale(now);
+            }
+            double weight = count * Math.exp(lambda * (now - landmark));
+            Score previous = scores.get(hashtagId);
+            if (previous != null) {
+                ranking.remove(previous);
+                weight += previous.value();
+            }
+            Score score = new Score(hashtagId, weight);
+            scores.put(hashtagId, score);
+            ranking.add(score);
+        }
+
+        synchronized void remove(Long hashtagId) {
+            Score previous = scores.remove(hashtagId);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+        }
+
+        synchronized LinkedHashMap<Long, Double> top(int limit, long now) {
+            double decay = Math.exp(-lambda * (now - landmark));
+            LinkedHashMap<Long, Double> top = new LinkedHashMap<>();
+            for (Score score : ranking) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.put(score.hashtagId(), score.value() * decay);
+            }
+            return top;
+        }
+
+        // Move the landmark to now; multiplying every score by the same factor keeps the ranking order
+        private void rescale(long now) {
+            double factor = Math.exp(-lambda * (now - landmark));
+            List<Score> rescaled = new ArrayList<>(scores.size());
+            for (Score score : scores.values()) {
+                rescaled.add(new Score(score.hashtagId(), score.value() * factor));
+            }
+            scores.clear();
+            ranking.clear();
+            for (Score score : rescaled) {
+                scores.put(score.hashtagId(), score);
+                ranking.add(score);
+            }
+            landmark = now;
+        }
+    }
+}
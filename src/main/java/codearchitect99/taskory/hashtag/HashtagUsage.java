@@ -0,0 +1,29 @@
+package codearchitect99.taskory.hashtag;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Usage counter of a hashtag, one row per hashtag.
+ * Counters change with every task and event write, so they are kept out of the cached {@link Hashtag} rows;
+ * updating a counter invalidates no second-level cache region.
+ */
+@Entity(name = "HashtagUsage")
+@Getter
+@NoArgsConstructor
+public class HashtagUsage {
+    @Id
+    @Column(name = "hashtag_id")
+    private Long hashtagId;
+
+    // Owner of the hashtag, so the counters of a user are read in order from one index
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Maintained with bulk updates by HashtagUsageService
+    @Column(name = "usage_count", nullable = false)
+    private long usageCount;
+}
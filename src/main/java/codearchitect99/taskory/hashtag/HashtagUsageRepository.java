@@ -0,0 +1,49 @@
+package codearchitect99.taskory.hashtag;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HashtagUsageRepository extends JpaRepository<HashtagUsage, Long> {
+
+    @Query("SELECT new codearchitect99.taskory.hashtag.HashtagUsageResponse(h.id, h.title, u.usageCount) " +
+            "FROM HashtagUsage u JOIN Hashtag h ON h.id = u.hashtagId WHERE u.userId = :userId ORDER BY u.usageCount DESC")
+    List<HashtagUsageResponse> findAllByUserIdOrderByUsageCountDesc(@Param("userId") Long userId);
+
+    // Native statements declare the tables they write; HashtagUsage is not cached, so no cache region is invalidated.
+    // Counters never drop below zero, even when a link was never counted.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "HashtagUsage"))
+    @Query(value = "INSERT INTO HashtagUsage (hashtag_id, user_id, usage_count) VALUES (:hashtagId, :userId, 0)", nativeQuery = true)
+    int createCounter(@Param("hashtagId") Long hashtagId, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "HashtagUsage"))
+    @Query(value = "UPDATE HashtagUsage SET usage_count = GREATEST(usage_count + :delta, 0) WHERE hashtag_id IN (:ids)", nativeQuery = true)
+    int addUsageCount(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "HashtagUsage"))
+    @Query(value = "UPDATE HashtagUsage h JOIN (" +
+            "SELECT hashtags_hashtag_id AS hashtag_id, COUNT(*) AS uses FROM Task_hashtags " +
+            "WHERE Task_task_id IN (:taskIds) GROUP BY hashtags_hashtag_id) u ON h.hashtag_id = u.hashtag_id " +
+            "SET h.usage_count = GREATEST(h.usage_count - u.uses, 0)", nativeQuery = true)
+    int releaseUsageOfTasks(@Param("taskIds") List<Long> taskIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "HashtagUsage"))
+    @Query(value = "UPDATE HashtagUsage h JOIN (" +
+            "SELECT hashtags_hashtag_id AS hashtag_id, COUNT(*) AS uses FROM Event_hashtags " +
+            "WHERE Event_event_id IN (:eventIds) GROUP BY hashtags_hashtag_id) u ON h.hashtag_id = u.hashtag_id " +
+            "SET h.usage_count = GREATEST(h.usage_count - u.uses, 0)", nativeQuery = true)
+    int releaseUsageOfEvents(@Param("eventIds") List<Long> eventIds);
+}
@@ -0,0 +1,14 @@
+package codearchitect99.taskory.hashtag;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class HashtagUsageResponse {
+    private Long id;
+    private String title;
+    private long usageCount;
+}
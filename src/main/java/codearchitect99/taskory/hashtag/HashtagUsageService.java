@@ -0,0 +1,151 @@
+package codearchitect99.taskory.hashtag;
+
+import codearchitect99.taskory.user.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Keeps the {@link HashtagUsage} counters in step with the task and event hashtag links.
+ * Counters are changed with one bulk update per distinct delta, inside the caller's transaction;
+ * the in-memory autocomplete ranking and trending scores follow once that transaction commits.
+ */
+@Slf4j
+@Service
+public class HashtagUsageService {
+
+    private final HashtagRepository hashtagRepository;
+    private final HashtagUsageRepository hashtagUsageRepository;
+    private final HashtagAutocompleteIndex autocompleteIndex;
+    private final HashtagTrendTracker trendTracker;
+
+    @Autowired
+    public HashtagUsageService(HashtagRepository hashtagRepository, HashtagUsageRepository hashtagUsageRepository,
+                               HashtagAutocompleteIndex autocompleteIndex, HashtagTrendTracker trendTracker) {
+        this.hashtagRepository = hashtagRepository;
+        this.hashtagUsageRepository = hashtagUsageRepository;
+        this.autocompleteIndex = autocompleteIndex;
+        this.trendTracker = trendTracker;
+    }
+
+    /**
+     * Apply the difference between the hashtags a task or event had and the ones it has now
+     * @param before Hashtags before the change, null for none
+     * @param after Hashtags after the change, null for none
+     */
+    @Transactional
+    public void recordChange(Collection<Hashtag> before, Collection<Hashtag> after) {
+        Map<Long, Long> deltas = new HashMap<>();
+        Map<Long, Long> owners = new HashMap<>();
+        if (after != null) {
+            for (Hashtag hashtag : after) {
+                deltas.merge(hashtag.getId(), 1L, Long::sum);
+                owners.put(hashtag.getId(), hashtag.getUser().getId());
+            }
+        }
+        if (before != null) {
+            for (Hashtag hashtag : before) {
+                deltas.merge(hashtag.getId(), -1L, Long::sum);
+                owners.put(hashtag.getId(), hashtag.getUser().getId());
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> idsByDelta = new HashMap<>();
+        deltas.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, key -> new ArrayList<>()).add(id));
+        idsByDelta.forEach((delta, ids) -> hashtagUsageRepository.addUsageCount(ids, delta));
+        long stamp = autocompleteIndex.stampUsageChange();
+
+        afterCommit(() -> deltas.forEach((id, delta) -> {
+            Long userId = owners.get(id);
+            autocompleteIndex.addUsage(userId, id, delta, stamp);
+            trendTracker.record(userId, id, delta);
+        }));
+    }
+
+    /**
+     * Release the hashtag usage of tasks that are about to be bulk deleted.
+     * Must run before their hashtag links are removed.
+     * @param userId Owner of the tasks
+     * @param taskIds Task ids
+     */
+    @Transactional
+    public void releaseTasks(Long userId, List<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            hashtagUsageRepository.releaseUsageOfTasks(taskIds);
+            afterCommit(() -> autocompleteIndex.invalidate(userId));
+        }
+    }
+
+    /**
+     * Release the hashtag usage of events that are about to be bulk deleted.
+     * Must run before their hashtag links are removed.
+     * @param userId Owner of the events
+     * @param eventIds Event ids
+     */
+    @Transactional
+    public void releaseEvents(Long userId, List<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            hashtagUsageRepository.releaseUsageOfEvents(eventIds);
+            afterCommit(() -> autocompleteIndex.invalidate(userId));
+        }
+    }
+
+    /**
+     * Find all hashtags of a user with their usage count
+     * @param user User information
+     * @return HashtagUsageResponse list, most used first
+     */
+    public List<HashtagUsageResponse> findUsage(User user) {
+        return hashtagUsageRepository.findAllByUserIdOrderByUsageCountDesc(user.getId());
+    }
+
+    /**
+     * Find the user's trending hashtags, ranked by exponentially decayed recent use.
+     * Only uses seen by this instance since it started are ranked, see {@link HashtagTrendTracker}.
+     * @param user User information
+     * @param limit Maximum number of results
+     * @return HashtagTrendResponse list, highest score first
+     */
+    public List<HashtagTrendResponse> findTrending(User user, int limit) {
+        LinkedHashMap<Long, Double> top = trendTracker.top(user.getId(), limit);
+        if (top.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Hashtag> hashtags = new HashMap<>();
+        for (Hashtag hashtag : hashtagRepository.findAllCachedById(top.keySet())) {
+            hashtags.put(hashtag.getId(), hashtag);
+        }
+
+        List<HashtagTrendResponse> responses = new ArrayList<>(top.size());
+        top.forEach((id, score) -> {
+            Hashtag hashtag = hashtags.get(id);
+            if (hashtag != null) {
+                responses.add(new HashtagTrendResponse(hashtag, score));
+            }
+        });
+        return responses;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
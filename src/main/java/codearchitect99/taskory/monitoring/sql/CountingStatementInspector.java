@@ -0,0 +1,16 @@
+package codearchitect99.taskory.monitoring.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares towards the current {@link SqlStatementCounter}.
+ * The SQL itself is passed through unchanged.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.recordStatement();
+        return sql;
+    }
+}
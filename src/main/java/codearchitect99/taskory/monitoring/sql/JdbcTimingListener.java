@@ -0,0 +1,28 @@
+package codearchitect99.taskory.monitoring.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Adds the execution time of every JDBC statement to the current {@link SqlStatementCounter}.
+ * The proxy only reports whole milliseconds, so the time is measured here in nanoseconds.
+ */
+public class JdbcTimingListener implements QueryExecutionListener {
+    private static final String STARTED_AT = JdbcTimingListener.class.getName() + ".startedAt";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        if (startedAt != null) {
+            SqlStatementCounter.recordJdbcTime(System.nanoTime() - startedAt);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package codearchitect99.taskory.monitoring.sql;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements and JDBC time of one unit of work, usually an HTTP request.
+ * The counter is bound to the current thread by {@link #start()} and can be carried
+ * to worker threads with {@link #wrap(Runnable)}, so queries fanned out for a request count towards it.
+ * A counter started with {@link #startRecording()} also keeps every executed statement, for tests that inspect the SQL.
+ */
+public final class SqlStatementCounter implements AutoCloseable {
+    private static final ThreadLocal<SqlStatementCounter> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+    private final List<ExecutedStatement> executedStatements;
+    private final SqlStatementCounter previous;
+
+    /**
+     * A statement as it was sent to the database, with the parameters of its first execution.
+     *
+     * @param sql the SQL text.
+     * @param parameters the bound parameters in order.
+     */
+    public record ExecutedStatement(String sql, List<Object> parameters) {
+    }
+
+    private SqlStatementCounter(SqlStatementCounter previous, boolean recording) {
+        this.previous = previous;
+        this.executedStatements = recording ? new CopyOnWriteArrayList<>() : null;
+    }
+
+    /**
+     * Starts counting on the current thread until the returned counter is closed.
+     *
+     * @return the new counter.
+     */
+    public static SqlStatementCounter start() {
+        return start(false);
+    }
+
+    /**
+     * Starts counting on the current thread and keeps the executed statements until the returned counter is closed.
+     *
+     * @return the new counter.
+     */
+    public static SqlStatementCounter startRecording() {
+        return start(true);
+    }
+
+    private static SqlStatementCounter start(boolean recording) {
+        SqlStatementCounter counter = new SqlStatementCounter(CURRENT.get(), recording);
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * Binds the counter of the calling thread to the thread that runs the task.
+     *
+     * @param task the task to run.
+     * @return the task counting towards the caller's counter.
+     */
+    public static Runnable wrap(Runnable task) {
+        SqlStatementCounter counter = CURRENT.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            SqlStatementCounter replaced = CURRENT.get();
+            CURRENT.set(counter);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(replaced);
+            }
+        };
+    }
+
+    static void recordStatement() {
+        SqlStatementCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements.increment();
+        }
+    }
+
+    static void recordJdbcTime(long nanos) {
+        SqlStatementCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.jdbcNanos.add(nanos);
+        }
+    }
+
+    static boolean isRecording() {
+        SqlStatementCounter counter = CURRENT.get();
+        return counter != null && counter.executedStatements != null;
+    }
+
+    static void recordExecution(ExecutedStatement statement) {
+        SqlStatementCounter counter = CURRENT.get();
+        if (counter != null && counter.executedStatements != null) {
+            counter.executedStatements.add(statement);
+        }
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos.sum());
+    }
+
+    public List<ExecutedStatement> getExecutedStatements() {
+        return executedStatements != null ? List.copyOf(executedStatements) : List.of();
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
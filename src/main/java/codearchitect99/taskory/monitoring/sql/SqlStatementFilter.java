@@ -0,0 +1,131 @@
+package codearchitect99.taskory.monitoring.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and JDBC time of every HTTP request.
+ * The values are recorded per endpoint as {@code taskory.sql.statements} and {@code taskory.sql.time},
+ * optionally returned in a {@code Server-Timing} header, and requests running more statements than
+ * the budget of their endpoint are logged, which is how N+1 query patterns show up.
+ * Runs before the security filters, so user lookups of the token filter are counted too.
+ * Only statements run on the request thread are counted: the counter is thread-local and this filter is not
+ * invoked for async dispatches, so the statements of a {@code StreamingResponseBody}, such as the streamed
+ * export, are left out of the request they belong to.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> budgets;
+
+    @Value("${app.monitoring.sql.enabled}")
+    private boolean enabled;
+
+    @Value("${app.monitoring.sql.server-timing}")
+    private boolean serverTiming;
+
+    @Value("${app.monitoring.sql.default-budget}")
+    private long defaultBudget;
+
+    /**
+     * @param meterRegistry the registry to record to.
+     * @param environment the environment holding {@code app.monitoring.sql.budgets},
+     *                    keyed by method and endpoint pattern, e.g. {@code GET /api/v1/task}.
+     */
+    @Autowired
+    public SqlStatementFilter(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.budgets = Binder.get(environment)
+                .bind("app.monitoring.sql.budgets", Bindable.mapOf(String.class, Long.class))
+                .orElse(Map.of());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter counter = SqlStatementCounter.start()) {
+            if (serverTiming) {
+                // The header must be added before the body commits the response
+                HttpServletResponse timedResponse = new OnCommittedResponseWrapper(response) {
+                    @Override
+                    protected void onResponseCommitted() {
+                        addServerTiming(response, counter);
+                    }
+                };
+                filterChain.doFilter(request, timedResponse);
+                if (!response.isCommitted()) {
+                    addServerTiming(response, counter);
+                }
+            } else {
+                filterChain.doFilter(request, response);
+            }
+            record(request, counter);
+        }
+    }
+
+    private void addServerTiming(HttpServletResponse response, SqlStatementCounter counter) {
+        response.setHeader("Server-Timing", String.format("db;dur=%.3f;desc=\"%d statements\"",
+                counter.getJdbcTime().toNanos() / 1_000_000.0, counter.getStatements()));
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Only matched patterns are used as tags, so unknown paths cannot blow up the metric cardinality
+        String endpoint = pattern != null ? pattern.toString() : UNKNOWN_ENDPOINT;
+        String method = request.getMethod();
+        long statements = counter.getStatements();
+
+        DistributionSummary.builder("taskory.sql.statements")
+                .tag("method", method)
+                .tag("uri", endpoint)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder("taskory.sql.time")
+                .tag("method", method)
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .record(counter.getJdbcTime());
+
+        long budget = budgets.getOrDefault(method + " " + endpoint, defaultBudget);
+        if (statements > budget) {
+            Counter.builder("taskory.sql.budget.exceeded")
+                    .tag("method", method)
+                    .tag("uri", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("[LOG] {} {} ran {} SQL statements in {} ms, budget {}",
+                    method, request.getRequestURI(), statements, counter.getJdbcTime().toMillis(), budget);
+        }
+    }
+}
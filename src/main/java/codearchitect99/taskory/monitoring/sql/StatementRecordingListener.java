@@ -0,0 +1,41 @@
+package codearchitect99.taskory.monitoring.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Adds every executed JDBC statement, with its bound parameters, to the current {@link SqlStatementCounter}
+ * if it was started with {@link SqlStatementCounter#startRecording()}. Does nothing otherwise.
+ */
+public class StatementRecordingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!SqlStatementCounter.isRecording()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            List<Object> parameters = parametersList.isEmpty() ? List.of() : parametersOf(parametersList.get(0));
+            SqlStatementCounter.recordExecution(new SqlStatementCounter.ExecutedStatement(queryInfo.getQuery(), parameters));
+        }
+    }
+
+    // Hibernate binds by index; the value is the second argument of every setter except setNull
+    private static List<Object> parametersOf(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .filter(operation -> operation.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1])
+                .toList();
+    }
+}
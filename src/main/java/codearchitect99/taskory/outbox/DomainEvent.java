@@ -0,0 +1,31 @@
+package codearchitect99.taskory.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change of an entity, as delivered to {@link DomainEventSubscriber}s.
+ * Delivery is at least once, so the same event may arrive more than once.
+ *
+ * @param id the outbox id, increasing in commit order on a single instance.
+ * @param aggregate the kind of entity that changed.
+ * @param aggregateId the id of the entity.
+ * @param change what happened to the entity.
+ * @param userId the owner of the entity.
+ * @param occurredAt when the change was written, in UTC.
+ */
+public record DomainEvent(Long id, Aggregate aggregate, Long aggregateId, Change change, Long userId, LocalDateTime occurredAt) {
+
+    public enum Aggregate {
+        TASK,
+        EVENT,
+        TAG,
+        HASHTAG,
+        ROUTINE_HISTORY
+    }
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
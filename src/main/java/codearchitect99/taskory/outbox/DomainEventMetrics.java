@@ -0,0 +1,55 @@
+package codearchitect99.taskory.outbox;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Counts delivered domain events as {@code taskory.domain.events}, by aggregate and change,
+ * and records the delay from commit to delivery as {@code taskory.outbox.lag}.
+ * Events are counted once by id, so a redelivery, e.g. after a crash before the dispatch committed,
+ * does not inflate the counts. The ids seen are kept in memory, bounded and per instance.
+ */
+@Component
+public class DomainEventMetrics implements DomainEventSubscriber {
+
+    // Well above a dispatch batch, so a redelivered batch is still remembered
+    private static final long MAX_COUNTED_EVENTS = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+    private final Cache<Long, Boolean> countedEvents = Caffeine.newBuilder().maximumSize(MAX_COUNTED_EVENTS).build();
+
+    @Autowired
+    public DomainEventMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("taskory.outbox.lag")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        for (DomainEvent event : events) {
+            if (countedEvents.asMap().putIfAbsent(event.id(), Boolean.TRUE) != null) {
+                continue;
+            }
+            Counter.builder("taskory.domain.events")
+                    .tag("aggregate", event.aggregate().name().toLowerCase())
+                    .tag("change", event.change().name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+            lag.record(Duration.between(event.occurredAt(), now));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package codearchitect99.taskory.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Emits domain events from the write methods of the services.
+ * Events are stored in the outbox within the caller's transaction, so they exist exactly when the change commits,
+ * and the dispatcher is woken up once it has.
+ */
+@Service
+public class DomainEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    public DomainEventPublisher(OutboxEventRepository outboxEventRepository, OutboxDispatcher outboxDispatcher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDispatcher = outboxDispatcher;
+    }
+
+    /**
+     * Publish a change of a single entity
+     * @param aggregate Kind of entity
+     * @param aggregateId Entity id
+     * @param change What happened to the entity
+     * @param userId Owner of the entity
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent.Aggregate aggregate, Long aggregateId, DomainEvent.Change change, Long userId) {
+        publish(aggregate, List.of(aggregateId), change, userId);
+    }
+
+    /**
+     * Publish the same change of several entities, e.g. a chunk of a bulk deletion
+     * @param aggregate Kind of entities
+     * @param aggregateIds Entity ids
+     * @param change What happened to the entities
+     * @param userId Owner of the entities
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent.Aggregate aggregate, Collection<Long> aggregateIds, DomainEvent.Change change, Long userId) {
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.saveAll(aggregateIds.stream()
+                .map(aggregateId -> new OutboxEvent(aggregate, aggregateId, change, userId))
+                .toList());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.requestDispatch();
+            }
+        });
+    }
+}
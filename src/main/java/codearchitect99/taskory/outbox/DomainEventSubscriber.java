@@ -0,0 +1,30 @@
+package codearchitect99.taskory.outbox;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Receives committed domain events in batches, off the request thread.
+ * Every bean implementing this interface is subscribed.
+ * <p>
+ * Delivery is tracked per subscriber and is at least once: if a subscriber throws, the events it failed on
+ * are delivered to it again, and only to it, so handling must be idempotent.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * @param events the events of a batch, in outbox order.
+     */
+    void onEvents(List<DomainEvent> events);
+
+    /**
+     * Stored with every event delivered to this subscriber, so it must be unique, stable across releases
+     * and must not contain a comma. Renaming a subscriber redelivers the pending events to it.
+     *
+     * @return the name of the subscriber, by default its simple class name.
+     */
+    default String name() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+}
@@ -0,0 +1,179 @@
+package codearchitect99.taskory.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers pending outbox events to every {@link DomainEventSubscriber} in batches.
+ * Delivery is recorded per subscriber, so after a failure only the failing subscriber receives the event again.
+ * Runs on the outbox executor shortly after a publishing transaction commits, and periodically
+ * to pick up events whose wake-up was lost, e.g. by a restart. An event is marked dispatched in the
+ * transaction that delivered it, so a crash in between redelivers it.
+ * Several instances can dispatch at the same time; each skips the rows locked by the others.
+ */
+@Slf4j
+@Service
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<DomainEventSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor outboxExecutor;
+    // Held across queries, so a lock rather than synchronized, which would pin virtual threads to their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    @Value("${app.outbox.enabled}")
+    private boolean enabled;
+
+    @Value("${app.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention}")
+    private Duration retention;
+
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<DomainEventSubscriber> subscribers,
+                            TransactionTemplate transactionTemplate, @Qualifier("outboxExecutor") TaskExecutor outboxExecutor) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        Set<String> names = new HashSet<>();
+        for (DomainEventSubscriber subscriber : subscribers) {
+            String name = subscriber.name();
+            if (name.contains(",") || !names.add(name)) {
+                throw new IllegalStateException("Invalid or duplicate DomainEventSubscriber name: " + name);
+            }
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.outboxExecutor = outboxExecutor;
+    }
+
+    /**
+     * Dispatch soon on the outbox executor. Requests made while a dispatch is queued are coalesced.
+     */
+    public void requestDispatch() {
+        if (!enabled || !requested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            outboxExecutor.execute(this::dispatch);
+        } catch (TaskRejectedException exception) {
+            // Shutting down, or a run is already queued; the events are picked up by the next poll
+            requested.set(false);
+        }
+    }
+
+    /**
+     * Deliver pending events until the outbox is drained or a delivery fails
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            // Cleared before reading, so events committed during this run request another one
+            requested.set(false);
+            Integer dispatched;
+            do {
+                dispatched = transactionTemplate.execute(status -> dispatchBatch());
+            } while (dispatched != null && dispatched == batchSize);
+        } catch (RuntimeException exception) {
+            log.error("[LOG] Outbox dispatch failed", exception);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Set<OutboxEvent> failed = new HashSet<>();
+        for (DomainEventSubscriber subscriber : subscribers) {
+            failed.addAll(deliver(subscriber, batch));
+        }
+
+        int dispatched = 0;
+        for (OutboxEvent event : batch) {
+            if (!failed.contains(event)) {
+                event.dispatched();
+                dispatched++;
+                continue;
+            }
+            int attempts = event.failed();
+            if (attempts >= maxAttempts) {
+                event.dispatched();
+                log.error("[LOG] Outbox event {} dropped after {} attempts, delivered to {}", event.getId(), attempts, event.getDeliveredTo());
+            } else {
+                log.warn("[LOG] Outbox event {} failed, attempt {}", event.getId(), attempts);
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * Deliver the events of a batch that the subscriber has not received yet.
+     * If the batch fails, the events are delivered one by one, so the failing ones do not hold back the rest.
+     * @return The events the subscriber failed on
+     */
+    private List<OutboxEvent> deliver(DomainEventSubscriber subscriber, List<OutboxEvent> batch) {
+        String name = subscriber.name();
+        List<OutboxEvent> pending = batch.stream().filter(event -> !event.isDeliveredTo(name)).toList();
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        try {
+            subscriber.onEvents(pending.stream().map(OutboxEvent::toDomainEvent).toList());
+            pending.forEach(event -> event.deliveredTo(name));
+            return List.of();
+        } catch (RuntimeException exception) {
+            log.warn("[LOG] Outbox batch of {} events failed in {}, delivering them one by one", pending.size(), name, exception);
+        }
+
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (OutboxEvent event : pending) {
+            try {
+                subscriber.onEvents(List.of(event.toDomainEvent()));
+                event.deliveredTo(name);
+            } catch (RuntimeException exception) {
+                failed.add(event);
+                log.warn("[LOG] Outbox event {} failed in {}", event.getId(), name, exception);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Delete dispatched events older than the retention
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms}")
+    public void purge() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteAllDispatchedBefore(LocalDateTime.now(ZoneOffset.UTC).minus(retention)));
+        log.info("[LOG] Outbox purged: {} dispatched events", purged);
+    }
+}
@@ -0,0 +1,91 @@
+package codearchitect99.taskory.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Domain event written in the transaction of the change it describes.
+ * Pending until {@link OutboxDispatcher} has delivered it to every subscriber; the subscribers it was
+ * delivered to so far are kept by name, so a retry skips them.
+ */
+@Entity(name = "OutboxEvent")
+@Getter
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    // Plain strings rather than the MariaDB enum type, so a new constant needs no migration
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "aggregate", nullable = false, length = 32)
+    private DomainEvent.Aggregate aggregate;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private DomainEvent.Change change;
+
+    // No foreign key, events of deleted accounts are still delivered
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Comma-separated DomainEventSubscriber names
+    @Column(name = "delivered_to", length = 1024)
+    private String deliveredTo;
+
+    public OutboxEvent(DomainEvent.Aggregate aggregate, Long aggregateId, DomainEvent.Change change, Long userId) {
+        this.aggregate = aggregate;
+        this.aggregateId = aggregateId;
+        this.change = change;
+        this.userId = userId;
+        this.createdAt = LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    public DomainEvent toDomainEvent() {
+        return new DomainEvent(id, aggregate, aggregateId, change, userId, createdAt);
+    }
+
+    public boolean isDeliveredTo(String subscriber) {
+        return deliveredTo != null && Arrays.asList(deliveredTo.split(",")).contains(subscriber);
+    }
+
+    public void deliveredTo(String subscriber) {
+        if (!isDeliveredTo(subscriber)) {
+            this.deliveredTo = deliveredTo == null ? subscriber : deliveredTo + "," + subscriber;
+        }
+    }
+
+    public void dispatched() {
+        this.dispatchedAt = LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    /**
+     * Record a failed delivery
+     * @return Number of failed deliveries so far
+     */
+    public int failed() {
+        return ++this.attempts;
+    }
+}
@@ -0,0 +1,25 @@
+package codearchitect99.taskory.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Rows locked by the dispatcher of another instance are skipped rather than waited for
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEvent o WHERE o.dispatchedAt IS NULL ORDER BY o.id")
+    List<OutboxEvent> findPending(Pageable pageable);
+
+    long countByDispatchedAtIsNull();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.dispatchedAt < :before")
+    int deleteAllDispatchedBefore(@Param("before") LocalDateTime before);
+}
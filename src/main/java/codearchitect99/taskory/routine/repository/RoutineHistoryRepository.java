@@ -2,8 +2,21 @@ package codearchitect99.taskory.routine.repository;
 
 import codearchitect99.taskory.routine.model.RoutineHistory;
 import codearchitect99.taskory.user.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface RoutineHistoryRepository extends JpaRepository<RoutineHistory, Long> {
     void deleteAllByUser(User user);
+
+    @Query("SELECT h.id FROM RoutineHistory h WHERE h.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RoutineHistory h WHERE h.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
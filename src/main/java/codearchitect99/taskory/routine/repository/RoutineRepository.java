@@ -2,7 +2,11 @@ package codearchitect99.taskory.routine.repository;
 
 import codearchitect99.taskory.routine.model.Routine;
 import codearchitect99.taskory.user.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +17,11 @@ public interface RoutineRepository extends JpaRepository<Routine, Long> {
     List<Optional<Routine>> findAllByUser(User user);
 
     void deleteAllByUser(User user);
+
+    @Query("SELECT r.id FROM Routine r WHERE r.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Routine r WHERE r.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
@@ -1,5 +1,7 @@
 package codearchitect99.taskory.routine.service;
 
+import codearchitect99.taskory.outbox.DomainEvent;
+import codearchitect99.taskory.outbox.DomainEventPublisher;
 import codearchitect99.taskory.routine.exception.RoutineNotFoundException;
 import codearchitect99.taskory.routine.model.Routine;
 import codearchitect99.taskory.routine.model.RoutineHistory;
@@ -9,17 +11,21 @@ import codearchitect99.taskory.routine.repository.RoutineRepository;
 import codearchitect99.taskory.user.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class RoutineHistoryService {
 
     private final RoutineRepository routineRepository;
     private final RoutineHistoryRepository routineHistoryRepository;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Autowired
-    public RoutineHistoryService(RoutineRepository routineRepository, RoutineHistoryRepository routineHistoryRepository) {
+    public RoutineHistoryService(RoutineRepository routineRepository, RoutineHistoryRepository routineHistoryRepository,
+                                 DomainEventPublisher domainEventPublisher) {
         this.routineRepository = routineRepository;
         this.routineHistoryRepository = routineHistoryRepository;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
 
@@ -29,6 +35,7 @@ public class RoutineHistoryService {
      * @param routineId Routine id
      * @return RoutineHistoryResponse
      */
+    @Transactional
     public RoutineHistoryResponse checkRoutine(User user, Long routineId) throws RoutineNotFoundException {
         Routine routine = routineRepository.findById(routineId).orElseThrow(RoutineNotFoundException::new);
         RoutineHistory routineHistory = RoutineHistory.builder()
@@ -37,6 +44,7 @@ public class RoutineHistoryService {
                 .build();
 
         routineHistoryRepository.save(routineHistory);
+        domainEventPublisher.publish(DomainEvent.Aggregate.ROUTINE_HISTORY, routineHistory.getId(), DomainEvent.Change.CREATED, user.getId());
         return new RoutineHistoryResponse(routineHistory);
     }
 
@@ -44,7 +52,11 @@ public class RoutineHistoryService {
      * Uncheck routine -> delete history
      * @param historyId RoutineHistory id
      */
+    @Transactional
     public void uncheckRoutine(Long historyId) {
-        routineHistoryRepository.deleteById(historyId);
+        routineHistoryRepository.findById(historyId).ifPresent(routineHistory -> {
+            routineHistoryRepository.delete(routineHistory);
+            domainEventPublisher.publish(DomainEvent.Aggregate.ROUTINE_HISTORY, historyId, DomainEvent.Change.DELETED, routineHistory.getUser().getId());
+        });
     }
 }
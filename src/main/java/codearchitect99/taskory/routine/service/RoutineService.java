@@ -10,7 +10,7 @@ import codearchitect99.taskory.user.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -72,14 +72,24 @@ public class RoutineService {
      * @return RoutineResponse list
      */
     public List<RoutineResponse> findAllToday(User user) {
-        int today = LocalDateTime.now().getDayOfWeek().getValue() - 1;
+        return findAllOn(user, LocalDate.now());
+    }
+
+    /**
+     * Find all routines scheduled on the day of week of the given date
+     * @param user User information
+     * @param date Date to check
+     * @return RoutineResponse list
+     */
+    public List<RoutineResponse> findAllOn(User user, LocalDate date) {
+        int dayOfWeek = date.getDayOfWeek().getValue() - 1;
 
         List<Optional<Routine>> routines = routineRepository.findAllByUser(user);
 
         List<RoutineResponse> routineResponseList = new ArrayList<>();
         for (Optional<Routine> routine : routines) {
             if (routine.isPresent()) {
-                if (routine.get().getDays()[today]) {
+                if (routine.get().getDays()[dayOfWeek]) {
                     routineResponseList.add(new RoutineResponse(routine.get()));
                 }
             }
@@ -3,6 +3,7 @@ package codearchitect99.taskory.security.cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.stereotype.Component;
@@ -20,19 +21,26 @@ public class HttpCookieOAuth2AuthorizationRequestRepository implements Authoriza
     public static final String REDIRECT_URI_PARAM_COOKIE_NAME = "redirect_uri";
     public static final int COOKIE_EXPIRE_SECONDS = 100;
 
+    private final OAuth2AuthorizationRequestCodec authorizationRequestCodec;
+
+    @Autowired
+    public HttpCookieOAuth2AuthorizationRequestRepository(OAuth2AuthorizationRequestCodec authorizationRequestCodec) {
+        this.authorizationRequestCodec = authorizationRequestCodec;
+    }
+
     /**
      * Loads the OAuth2 authorization request from the cookies in the incoming request.
      *
      * @param request the {@link HttpServletRequest} containing the cookies.
-     * @return the {@link OAuth2AuthorizationRequest} if found; otherwise, null.
+     * @return the {@link OAuth2AuthorizationRequest} if found and correctly signed; otherwise, null.
      */
     @Override
     public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
         log.info("[LOG] Loading OAuth2 authorization request from cookie: {}", OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME);
         return CookieUtil.getCookie(request, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME)
-                .map(cookie -> {
+                .flatMap(cookie -> {
                     log.info("[LOG] OAuth2 authorization request cookie found.");
-                    return CookieUtil.deserialize(cookie.getValue(), OAuth2AuthorizationRequest.class);
+                    return authorizationRequestCodec.decode(cookie.getValue());
                 })
                 .orElseGet(() -> {
                     log.warn("[LOG] No OAuth2 authorization request cookie found.");
@@ -58,7 +66,7 @@ public class HttpCookieOAuth2AuthorizationRequestRepository implements Authoriza
         }
 
         log.info("[LOG] Saving OAuth2 authorization request to cookie.");
-        CookieUtil.addCookie(response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME, CookieUtil.serialize(authorizationRequest), COOKIE_EXPIRE_SECONDS);
+        CookieUtil.addCookie(response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME, authorizationRequestCodec.encode(authorizationRequest), COOKIE_EXPIRE_SECONDS);
 
         String redirectUriAfterLogin = request.getParameter(REDIRECT_URI_PARAM_COOKIE_NAME);
         if (StringUtils.hasLength(redirectUriAfterLogin)) {
@@ -0,0 +1,207 @@
+package codearchitect99.taskory.security.cookie;
+
+import io.jsonwebtoken.io.Decoders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Encodes {@link OAuth2AuthorizationRequest} for the authorization request cookie.
+ * Only the fields the authorization code flow reads back are written, in a length-prefixed binary layout,
+ * followed by an HMAC-SHA256 of the payload. A cookie that fails the HMAC check is never parsed.
+ * The payload carries its issue time, and a cookie older than its Max-Age is rejected, so a captured cookie
+ * cannot be replayed after it has expired in the browser.
+ * This replaces Java serialization, which produced large cookies and deserialized untrusted input.
+ */
+@Slf4j
+@Component
+public class OAuth2AuthorizationRequestCodec {
+
+    private static final byte VERSION = 2;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final Duration MAX_AGE = Duration.ofSeconds(HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_EXPIRE_SECONDS);
+    // Tolerated difference between the clocks of instances
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(30);
+
+    private final SecretKeySpec macKey;
+    private final Clock clock;
+
+    /**
+     * The cookie key is derived from the token secret, so no additional secret has to be configured.
+     *
+     * @param tokenSecretKey the Base64 encoded token secret key.
+     */
+    @Autowired
+    public OAuth2AuthorizationRequestCodec(@Value("${app.token.secret-key}") String tokenSecretKey) {
+        this(tokenSecretKey, Clock.systemUTC());
+    }
+
+    /**
+     * @param tokenSecretKey the Base64 encoded token secret key.
+     * @param clock the clock for the issue time of cookies and their expiry.
+     */
+    public OAuth2AuthorizationRequestCodec(String tokenSecretKey, Clock clock) {
+        this.clock = clock;
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(Decoders.BASE64.decode(tokenSecretKey), MAC_ALGORITHM));
+            byte[] derived = mac.doFinal("oauth2-authorization-request-cookie".getBytes(StandardCharsets.US_ASCII));
+            this.macKey = new SecretKeySpec(derived, MAC_ALGORITHM);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Cannot initialize cookie codec", exception);
+        }
+    }
+
+    /**
+     * Encodes and signs the authorization request.
+     *
+     * @param authorizationRequest the authorization request to encode.
+     * @return the cookie value, Base64 URL-safe encoded.
+     */
+    public String encode(OAuth2AuthorizationRequest authorizationRequest) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(VERSION);
+            out.writeLong(clock.millis());
+            writeNullable(out, authorizationRequest.getAuthorizationUri());
+            writeNullable(out, authorizationRequest.getClientId());
+            writeNullable(out, authorizationRequest.getRedirectUri());
+            writeNullable(out, authorizationRequest.getState());
+            writeNullable(out, authorizationRequest.getAuthorizationRequestUri());
+            out.writeShort(authorizationRequest.getScopes().size());
+            for (String scope : authorizationRequest.getScopes()) {
+                out.writeUTF(scope);
+            }
+            writeMap(out, authorizationRequest.getAdditionalParameters());
+            writeMap(out, authorizationRequest.getAttributes());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        byte[] payload = buffer.toByteArray();
+        byte[] signed = Arrays.copyOf(payload, payload.length + MAC_LENGTH);
+        System.arraycopy(sign(payload), 0, signed, payload.length, MAC_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signed);
+    }
+
+    /**
+     * Verifies and decodes a cookie value.
+     *
+     * @param value the cookie value.
+     * @return the authorization request, or empty if the value is malformed, its signature does not match or it has expired.
+     */
+    public Optional<OAuth2AuthorizationRequest> decode(String value) {
+        byte[] signed;
+        try {
+            signed = Base64.getUrlDecoder().decode(value);
+        } catch (IllegalArgumentException exception) {
+            log.warn("[LOG] Authorization request cookie is not Base64.");
+            return Optional.empty();
+        }
+        if (signed.length <= MAC_LENGTH) {
+            log.warn("[LOG] Authorization request cookie is too short.");
+            return Optional.empty();
+        }
+
+        byte[] payload = Arrays.copyOf(signed, signed.length - MAC_LENGTH);
+        byte[] mac = Arrays.copyOfRange(signed, payload.length, signed.length);
+        if (!MessageDigest.isEqual(mac, sign(payload))) {
+            log.warn("[LOG] Authorization request cookie signature mismatch.");
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != VERSION) {
+                log.warn("[LOG] Unsupported authorization request cookie version.");
+                return Optional.empty();
+            }
+            Instant issuedAt = Instant.ofEpochMilli(in.readLong());
+            Instant now = clock.instant();
+            if (issuedAt.isBefore(now.minus(MAX_AGE)) || issuedAt.isAfter(now.plus(CLOCK_SKEW))) {
+                log.warn("[LOG] Authorization request cookie has expired.");
+                return Optional.empty();
+            }
+            OAuth2AuthorizationRequest.Builder builder = OAuth2AuthorizationRequest.authorizationCode()
+                    .authorizationUri(readNullable(in))
+                    .clientId(readNullable(in))
+                    .redirectUri(readNullable(in))
+                    .state(readNullable(in));
+            String authorizationRequestUri = readNullable(in);
+
+            int scopeCount = in.readUnsignedShort();
+            Set<String> scopes = new LinkedHashSet<>(scopeCount * 2);
+            for (int i = 0; i < scopeCount; i++) {
+                scopes.add(in.readUTF());
+            }
+            Map<String, Object> additionalParameters = readMap(in);
+            Map<String, Object> attributes = readMap(in);
+
+            builder.scopes(scopes)
+                    .additionalParameters(additionalParameters)
+                    .attributes(attributes);
+            if (authorizationRequestUri != null) {
+                builder.authorizationRequestUri(authorizationRequestUri);
+            }
+            return Optional.of(builder.build());
+        } catch (IOException | IllegalArgumentException exception) {
+            log.warn("[LOG] Authorization request cookie is malformed.");
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(macKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Cannot sign cookie", exception);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // Parameters and attributes set by Spring's authorization request resolver are all strings
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (!(entry.getValue() instanceof String value)) {
+                throw new IllegalArgumentException("Unsupported value for " + entry.getKey() + ": " + entry.getValue());
+            }
+            out.writeUTF(entry.getKey());
+            out.writeUTF(value);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, Object> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+}
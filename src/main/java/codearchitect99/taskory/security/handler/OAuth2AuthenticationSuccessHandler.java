@@ -3,6 +3,8 @@ package codearchitect99.taskory.security.handler;
 import codearchitect99.taskory.security.cookie.CookieUtil;
 import codearchitect99.taskory.security.cookie.HttpCookieOAuth2AuthorizationRequestRepository;
 import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.security.token.RefreshTokenCookie;
+import codearchitect99.taskory.security.token.RefreshTokenService;
 import codearchitect99.taskory.security.token.TokenService;
 import codearchitect99.taskory.user.model.Role;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -29,32 +31,41 @@ import static codearchitect99.taskory.security.cookie.HttpCookieOAuth2Authorizat
 
 /**
  * Handles successful OAuth2 authentication.
- * Generates a token, manages redirection, and clears authorization-related cookies.
+ * Generates an access token and a refresh token cookie, manages redirection, and clears authorization-related cookies.
  */
 @Slf4j
 @Component
 public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
-    @Value("${spring.security.oauth2.uris.authorized-redirect-uris}")
-    private List<String> authorizedRedirectUris;
-
+    private final List<URI> authorizedRedirectUris;
     private final ObjectMapper objectMapper;
     private final HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRepository;
     private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenCookie refreshTokenCookie;
 
     /**
      * Constructor for injecting dependencies.
      *
      * @param httpCookieOAuth2AuthorizationRepository repository to manage OAuth2 authorization cookies.
      * @param tokenService service to create and manage JWT tokens.
+     * @param refreshTokenService service to issue refresh tokens.
+     * @param refreshTokenCookie writer of the refresh token cookie.
      * @param objectMapper object mapper for JSON serialization.
+     * @param authorizedRedirectUris redirect URIs the client may ask for, parsed once here instead of on every login.
      */
     @Autowired
     public OAuth2AuthenticationSuccessHandler(HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRepository,
                                               TokenService tokenService,
-                                              ObjectMapper objectMapper) {
+                                              RefreshTokenService refreshTokenService,
+                                              RefreshTokenCookie refreshTokenCookie,
+                                              ObjectMapper objectMapper,
+                                              @Value("${spring.security.oauth2.uris.authorized-redirect-uris}") List<String> authorizedRedirectUris) {
+        this.authorizedRedirectUris = authorizedRedirectUris.stream().map(URI::create).toList();
         this.httpCookieOAuth2AuthorizationRepository = httpCookieOAuth2AuthorizationRepository;
         this.tokenService = tokenService;
+        this.refreshTokenService = refreshTokenService;
+        this.refreshTokenCookie = refreshTokenCookie;
         this.objectMapper = objectMapper;
     }
 
@@ -110,11 +121,15 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         log.info("[LOG] Using target URI: {}", targetUri);
 
         String token = tokenService.createToken(authentication);
-        log.info("[LOG] Created token: {}", token);
+        log.info("[LOG] Created token for user: {}", authentication.getName());
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         log.info("[LOG] Retrieved user principal: {}", userPrincipal.getUsername());
 
+        // The refresh token never goes into the redirect URL, only into an HttpOnly cookie
+        String refreshToken = refreshTokenService.issue(userPrincipal.getId());
+        refreshTokenCookie.write(response, refreshToken);
+
         if (isOfficialUser(userPrincipal)) {
             log.info("[LOG] User is authorized. Redirecting with token.");
             return UriComponentsBuilder.fromUriString(targetUri)
@@ -164,11 +179,8 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         URI clientRedirectUri = URI.create(redirectUri);
 
         boolean isAuthorized = authorizedRedirectUris.stream()
-                .anyMatch(authorizedRedirectUri -> {
-                    URI authorizedUri = URI.create(authorizedRedirectUri);
-                    return authorizedUri.getHost().equalsIgnoreCase(clientRedirectUri.getHost())
-                            && authorizedUri.getPort() == clientRedirectUri.getPort();
-                });
+                .anyMatch(authorizedUri -> authorizedUri.getHost().equalsIgnoreCase(clientRedirectUri.getHost())
+                        && authorizedUri.getPort() == clientRedirectUri.getPort());
 
         log.info("[LOG] Redirect URI authorized: {}", isAuthorized);
         return isAuthorized;
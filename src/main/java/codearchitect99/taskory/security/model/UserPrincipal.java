@@ -24,16 +24,21 @@ public class UserPrincipal implements UserDetails, OAuth2User {
     public UserPrincipal(User user) {
         this.id = user.getId();
         this.username = user.getUsername();
-        this.roles = user.getRoles();
+        this.roles = copyRoles(user);
     }
 
     public UserPrincipal(User user, Map<String, Object> attributes) {
         this.id = user.getId();
         this.username = user.getUsername();
-        this.roles = user.getRoles();
+        this.roles = copyRoles(user);
         this.attributes = attributes;
     }
 
+    // Principals outlive the persistence context, so keep a plain copy instead of the lazy collection
+    private static List<Role> copyRoles(User user) {
+        return user.getRoles() != null ? List.copyOf(user.getRoles()) : List.of();
+    }
+
     @Override
     public Map<String, Object> getAttributes() {
         return Map.of();
@@ -0,0 +1,135 @@
+package codearchitect99.taskory.security.ratelimit;
+
+import codearchitect99.taskory.security.model.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Limits request rates per authenticated user, or per client IP for anonymous requests.
+ * Reads (GET, HEAD, OPTIONS and batch reads) and writes have separate token buckets. Rejected requests get
+ * 429 Too Many Requests with a Retry-After header. Idle buckets are evicted, so memory stays bounded.
+ * A batch takes one read token here and one per further sub-request through {@link #tryConsumeReads}.
+ * Must run after {@link codearchitect99.taskory.security.token.TokenFilter} so the user is known.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final String batchPath;
+    private final long readCapacity;
+    private final long readRefillPerSecond;
+    private final long writeCapacity;
+    private final long writeRefillPerSecond;
+    private final Cache<String, TokenBucket> readBuckets;
+    private final Cache<String, TokenBucket> writeBuckets;
+    private final long epochNanos = System.nanoTime();
+
+    @Autowired
+    public RateLimitFilter(@Value("${app.rate-limit.enabled}") boolean enabled,
+                           @Value("${app.url-base}") String urlBase,
+                           @Value("${app.rate-limit.read.capacity}") long readCapacity,
+                           @Value("${app.rate-limit.read.refill-per-second}") long readRefillPerSecond,
+                           @Value("${app.rate-limit.write.capacity}") long writeCapacity,
+                           @Value("${app.rate-limit.write.refill-per-second}") long writeRefillPerSecond,
+                           @Value("${app.rate-limit.max-buckets}") long maxBuckets,
+                           @Value("${app.rate-limit.idle-ttl}") Duration idleTtl) {
+        this.enabled = enabled;
+        this.batchPath = urlBase + "/batch";
+        this.readCapacity = readCapacity;
+        this.readRefillPerSecond = readRefillPerSecond;
+        this.writeCapacity = writeCapacity;
+        this.writeRefillPerSecond = writeRefillPerSecond;
+        this.readBuckets = Caffeine.newBuilder().maximumSize(maxBuckets).expireAfterAccess(idleTtl).build();
+        this.writeBuckets = Caffeine.newBuilder().maximumSize(maxBuckets).expireAfterAccess(idleTtl).build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = nowMillis();
+        String key = clientKey(request);
+
+        TokenBucket bucket = isRead(request)
+                ? readBuckets.get(key, k -> new TokenBucket(readCapacity, readRefillPerSecond, now))
+                : writeBuckets.get(key, k -> new TokenBucket(writeCapacity, writeRefillPerSecond, now));
+
+        long waitMillis = bucket.tryConsume(now);
+        if (waitMillis > 0) {
+            log.warn("[LOG] Rate limit exceeded: {} {} by {}", request.getMethod(), request.getRequestURI(), key);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds(waitMillis));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Take further read tokens for a request that passed the filter but stands for several reads, like a batch
+     * @param request the request, to find the client
+     * @param tokens tokens to take in addition to the one taken by the filter; capped at the read capacity
+     * @return 0 if the tokens were taken or rate limiting is off, otherwise the milliseconds until they will be available
+     */
+    public long tryConsumeReads(HttpServletRequest request, int tokens) {
+        if (!enabled || tokens < 1) {
+            return 0;
+        }
+        long now = nowMillis();
+        String key = clientKey(request);
+        TokenBucket bucket = readBuckets.get(key, k -> new TokenBucket(readCapacity, readRefillPerSecond, now));
+        long waitMillis = bucket.tryConsume(Math.min(tokens, readCapacity), now);
+        if (waitMillis > 0) {
+            log.warn("[LOG] Rate limit exceeded: {} further reads of {} {} by {}", tokens, request.getMethod(), request.getRequestURI(), key);
+        }
+        return waitMillis;
+    }
+
+    /**
+     * @param waitMillis milliseconds until the tokens will be available
+     * @return the value of the Retry-After header, in whole seconds
+     */
+    public static String retryAfterSeconds(long waitMillis) {
+        return Long.toString((waitMillis + 999) / 1000);
+    }
+
+    private long nowMillis() {
+        return (System.nanoTime() - epochNanos) / 1_000_000;
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || (HttpMethod.POST.matches(method) && batchPath.equals(request.getRequestURI()));
+    }
+
+    // Forwarded headers are not trusted here; behind a proxy, configure server.forward-headers-strategy instead
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return "user:" + userPrincipal.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
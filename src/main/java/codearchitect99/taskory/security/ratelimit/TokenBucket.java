@@ -0,0 +1,79 @@
+package codearchitect99.taskory.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * The whole state is packed into one {@link AtomicLong} so that refill and take are a single compare-and-set:
+ * the upper 24 bits hold the available tokens in thousandths, the lower 40 bits the time of the last refill
+ * in milliseconds.
+ */
+public class TokenBucket {
+
+    static final long MILLI_TOKENS_PER_TOKEN = 1000;
+    static final long MAX_CAPACITY = ((1L << 24) - 1) / MILLI_TOKENS_PER_TOKEN;
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final long capacity;
+    private final long refillPerSecond;
+    private final AtomicLong state;
+
+    /**
+     * @param capacity maximum number of tokens, also the burst size
+     * @param refillPerSecond tokens added per second
+     * @param nowMillis current time in milliseconds, from the same clock as later calls
+     */
+    public TokenBucket(long capacity, long refillPerSecond, long nowMillis) {
+        if (capacity < 1 || capacity > MAX_CAPACITY || refillPerSecond < 1) {
+            throw new IllegalArgumentException("Invalid token bucket: capacity " + capacity + ", refill " + refillPerSecond);
+        }
+        this.capacity = capacity * MILLI_TOKENS_PER_TOKEN;
+        // One token per second is one thousandth of a token per millisecond
+        this.refillPerSecond = refillPerSecond;
+        this.state = new AtomicLong(pack(this.capacity, nowMillis));
+    }
+
+    /**
+     * Take one token if available
+     * @param nowMillis current time in milliseconds
+     * @return 0 if a token was taken, otherwise the milliseconds until one will be available
+     */
+    public long tryConsume(long nowMillis) {
+        return tryConsume(1, nowMillis);
+    }
+
+    /**
+     * Take several tokens at once if all of them are available, otherwise none
+     * @param tokens number of tokens, at most the capacity
+     * @param nowMillis current time in milliseconds
+     * @return 0 if the tokens were taken, otherwise the milliseconds until they will be available
+     */
+    public long tryConsume(long tokens, long nowMillis) {
+        if (tokens < 1 || tokens * MILLI_TOKENS_PER_TOKEN > capacity) {
+            throw new IllegalArgumentException("Cannot take " + tokens + " tokens from a bucket of " + capacity / MILLI_TOKENS_PER_TOKEN);
+        }
+        long needed = tokens * MILLI_TOKENS_PER_TOKEN;
+        while (true) {
+            long current = state.get();
+            long available = available(current, nowMillis);
+            if (available < needed) {
+                return (needed - available + refillPerSecond - 1) / refillPerSecond;
+            }
+            if (state.compareAndSet(current, pack(available - needed, nowMillis))) {
+                return 0;
+            }
+        }
+    }
+
+    private long available(long current, long nowMillis) {
+        long tokens = current >>> TIME_BITS;
+        long last = current & TIME_MASK;
+        long elapsed = Math.max(0, (nowMillis & TIME_MASK) - last);
+        return Math.min(capacity, tokens + elapsed * refillPerSecond);
+    }
+
+    private static long pack(long milliTokens, long nowMillis) {
+        return (milliTokens << TIME_BITS) | (nowMillis & TIME_MASK);
+    }
+}
@@ -17,6 +17,8 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.Optional;
+
 /**
  * Custom service for handling OAuth2 authentication.
  * Extends {@link DefaultOAuth2UserService} to load user information from the OAuth2 provider.
@@ -27,17 +29,24 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final SocialAccountRepository socialAccountRepository;
     private final UserService userService;
+    private final SocialAccountCache socialAccountCache;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
      * Constructor to inject dependencies for social account management.
      *
      * @param socialAccountRepository the repository to handle social account data.
      * @param userService the service to manage user operations.
+     * @param socialAccountCache the cache of social accounts already linked to a user.
+     * @param userPrincipalCache the cache of principals by user id.
      */
     @Autowired
-    public CustomOAuth2UserService(SocialAccountRepository socialAccountRepository, UserService userService) {
+    public CustomOAuth2UserService(SocialAccountRepository socialAccountRepository, UserService userService,
+                                   SocialAccountCache socialAccountCache, UserPrincipalCache userPrincipalCache) {
         this.socialAccountRepository = socialAccountRepository;
         this.userService = userService;
+        this.socialAccountCache = socialAccountCache;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     /**
@@ -54,7 +63,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
                 userRequest.getClientRegistration().getRegistrationId());
 
         OAuth2User oAuth2User = super.loadUser(userRequest);
-        log.info("[LOG] OAuth2 user attributes loaded: {}", oAuth2User.getAttributes());
+        log.debug("[LOG] OAuth2 user attributes loaded: {}", oAuth2User.getAttributes());
 
         String socialProvider = userRequest.getClientRegistration().getRegistrationId();
         OAuth2UserInfo oAuth2UserInfo;
@@ -72,23 +81,46 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             throw new OAuth2AuthenticationException("Your account is not signed up");
         }
 
-        log.info("[LOG] Checking if user exists by email: {}", oAuth2UserInfo.getEmail());
+        String email = oAuth2UserInfo.getEmail();
+        String subId = oAuth2UserInfo.getSubId();
 
-        if (socialAccountRepository.existsByUsername(oAuth2UserInfo.getEmail())) {
-            log.info("[LOG] User found, updating social account: {}", oAuth2UserInfo.getEmail());
-            SocialAccount socialAccount = socialAccountRepository.findByUsername(oAuth2UserInfo.getEmail());
-            socialAccount.update(oAuth2UserInfo);
-            socialAccountRepository.save(socialAccount);
-            log.info("[LOG] Social account updated and saved.");
+        // Repeated login of an unchanged account: no social account lookup and nothing to save
+        Optional<SocialAccountCache.LinkedAccount> cachedAccount = socialAccountCache.find(email);
+        Optional<UserPrincipal> cachedPrincipal = cachedAccount
+                .filter(linkedAccount -> linkedAccount.subId().equals(subId))
+                .flatMap(linkedAccount -> userPrincipalCache.findById(linkedAccount.userId()));
+        if (cachedPrincipal.isPresent()) {
+            log.info("[LOG] Returning cached UserPrincipal for existing user: {}", cachedPrincipal.get().getUsername());
+            return cachedPrincipal.get();
+        }
+        if (cachedAccount.isPresent()) {
+            // The subject changed or the user is gone; only an entry confirmed by the database below is cached again
+            log.info("[LOG] Evicting stale cached social account: {}", email);
+            socialAccountCache.evict(email);
+        }
 
-            User user = socialAccount.getUser();
+        log.info("[LOG] Looking up social account by email: {}", email);
+        Optional<SocialAccount> socialAccount = socialAccountRepository.findByUsername(email);
+
+        User user;
+        if (socialAccount.isPresent()) {
+            if (socialAccount.get().update(oAuth2UserInfo)) {
+                socialAccountRepository.save(socialAccount.get());
+                log.info("[LOG] Social account updated and saved: {}", email);
+            }
+            user = socialAccount.get().getUser();
+            if (user.isDisabled()) {
+                log.warn("[LOG] Login rejected, account is being deleted: {}", user.getId());
+                throw new OAuth2AuthenticationException("Your account is being deleted");
+            }
             log.info("[LOG] Returning UserPrincipal for existing user: {}", user.getUsername());
-            return new UserPrincipal(user, oAuth2User.getAttributes());
         } else {
             log.info("[LOG] No existing user found, registering temporary user.");
-            User tempUser = userService.registerTempUser(oAuth2UserInfo, socialProvider);
-            log.info("[LOG] Temporary user registered: {}", tempUser.getUsername());
-            return new UserPrincipal(tempUser, oAuth2User.getAttributes());
+            user = userService.registerTempUser(oAuth2UserInfo, socialProvider);
+            log.info("[LOG] Temporary user registered: {}", user.getUsername());
         }
+
+        socialAccountCache.put(email, new SocialAccountCache.LinkedAccount(user.getId(), subId));
+        return new UserPrincipal(user, oAuth2User.getAttributes());
     }
 }
@@ -21,15 +21,18 @@ import java.util.Optional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
-     * Constructor to inject the {@link UserRepository} dependency.
+     * Constructor to inject the {@link UserRepository} and {@link UserPrincipalCache} dependencies.
      *
      * @param userRepository the repository used to retrieve user data from the database.
+     * @param userPrincipalCache the cache of principals by user ID.
      */
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     /**
@@ -55,6 +58,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     /**
      * Loads a user's details by their user ID.
+     * Principals are served from {@link UserPrincipalCache}, so the database is only hit on a miss.
      *
      * @param userId the ID of the user to be loaded.
      * @return a {@link UserDetails} object containing the user's information.
@@ -63,10 +67,10 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUserId(Long userId) {
         log.info("[LOG] Loading user by ID: {}", userId);
 
-        Optional<User> user = userRepository.findById(userId);
-        if (user.isPresent()) {
-            log.info("[LOG] User found: {}", user.get().getUsername());
-            return new UserPrincipal(user.get());
+        Optional<UserPrincipal> userPrincipal = userPrincipalCache.findById(userId);
+        if (userPrincipal.isPresent()) {
+            log.info("[LOG] User found: {}", userPrincipal.get().getUsername());
+            return userPrincipal.get();
         } else {
             log.error("[LOG] User not found for ID: {}", userId);
             throw new UsernameNotFoundException("User not found.");
@@ -0,0 +1,71 @@
+package codearchitect99.taskory.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache of social account username to the linked user id and provider subject id,
+ * so a repeated OAuth2 login does not have to look up the social account again.
+ * The login path evicts an entry that no longer leads to a user, e.g. because the provider subject changed,
+ * and account deletion evicts the entries of the deleted user.
+ */
+@Component
+public class SocialAccountCache {
+
+    /**
+     * Linked account as last seen in the database
+     * @param userId User id
+     * @param subId Subject id at the social provider
+     */
+    public record LinkedAccount(Long userId, String subId) {
+    }
+
+    private final Cache<String, LinkedAccount> cache;
+
+    @Autowired
+    public SocialAccountCache(@Value("${app.cache.social-account.max-size}") long maxSize,
+                              @Value("${app.cache.social-account.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find linked account by social account username
+     * @param username Social account username
+     * @return LinkedAccount if cached
+     */
+    public Optional<LinkedAccount> find(String username) {
+        return Optional.ofNullable(cache.getIfPresent(username));
+    }
+
+    public void put(String username, LinkedAccount linkedAccount) {
+        cache.put(username, linkedAccount);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Evict every social account linked to a user, e.g. when the user is deleted.
+     * Scans the cache, which is fine for the rare account deletion.
+     * @param userId User id
+     */
+    public void evictUser(Long userId) {
+        cache.asMap().values().removeIf(linkedAccount -> linkedAccount.userId().equals(userId));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
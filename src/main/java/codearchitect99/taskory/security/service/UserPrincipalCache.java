@@ -0,0 +1,62 @@
+package codearchitect99.taskory.security.service;
+
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link UserPrincipal} by user id, used to authenticate token requests
+ * without loading the user and its roles on every call.
+ * The user service evicts an entry whenever the username or roles change or the user is deleted.
+ * Disabled users have no principal, so their tokens stop working as soon as the entry is evicted.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserPrincipal> cache;
+
+    @Autowired
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${app.cache.user-principal.max-size}") long maxSize,
+                              @Value("${app.cache.user-principal.ttl}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find principal by user id, loading the user from the database on a miss
+     * @param userId User id
+     * @return UserPrincipal if the user exists and is not disabled
+     */
+    public Optional<UserPrincipal> findById(Long userId) {
+        return Optional.ofNullable(cache.get(userId, key -> userRepository.findById(key)
+                .filter(user -> !user.isDisabled())
+                .map(UserPrincipal::new)
+                .orElse(null)));
+    }
+
+    /**
+     * Evict a principal after the user was changed
+     * @param userId User id
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,76 @@
+package codearchitect99.taskory.security.token;
+
+import codearchitect99.taskory.security.cookie.CookieUtil;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("${app.url-base}/auth")
+public class AuthController {
+
+    private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenCookie refreshTokenCookie;
+
+    @Autowired
+    public AuthController(TokenService tokenService, RefreshTokenService refreshTokenService,
+                          TokenRevocationService tokenRevocationService, RefreshTokenCookie refreshTokenCookie) {
+        this.tokenService = tokenService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenCookie = refreshTokenCookie;
+    }
+
+    /**
+     * Issue a new access token for the refresh token cookie, rotating the refresh token
+     * @param request Request carrying the refresh token cookie
+     * @param response Response to set the rotated refresh token cookie on
+     * @return ResponseEntity with TokenResponse, 401 if the refresh token is missing or invalid
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(HttpServletRequest request, HttpServletResponse response) {
+        Optional<String> refreshToken = CookieUtil.getCookie(request, RefreshTokenCookie.NAME).map(Cookie::getValue);
+        if (refreshToken.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            IssuedTokens issuedTokens = refreshTokenService.rotate(refreshToken.get());
+            refreshTokenCookie.write(response, issuedTokens.refreshToken());
+            return ResponseEntity.ok(new TokenResponse(issuedTokens.accessToken()));
+        } catch (InvalidRefreshTokenException exception) {
+            log.warn("[LOG] Refresh rejected: {}", exception.getMessage());
+            refreshTokenCookie.clear(response);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    /**
+     * Revoke the current access token and the refresh token family
+     * @param request Request carrying the access token header and the refresh token cookie
+     * @param response Response to clear the refresh token cookie on
+     * @return ResponseEntity with HTTP status
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request, HttpServletResponse response) {
+        tokenService.verifyToken(tokenService.getTokenFromRequest(request))
+                .ifPresent(verifiedToken -> tokenRevocationService.revoke(verifiedToken.tokenId(), verifiedToken.expiresAt()));
+
+        CookieUtil.getCookie(request, RefreshTokenCookie.NAME)
+                .map(Cookie::getValue)
+                .ifPresent(refreshTokenService::revoke);
+        refreshTokenCookie.clear(response);
+        return ResponseEntity.noContent().build();
+    }
+}
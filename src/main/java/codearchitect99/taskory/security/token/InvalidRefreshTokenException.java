@@ -0,0 +1,11 @@
+package codearchitect99.taskory.security.token;
+
+public class InvalidRefreshTokenException extends Exception {
+    public InvalidRefreshTokenException() {
+        super("Refresh token is invalid");
+    }
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package codearchitect99.taskory.security.token;
+
+/**
+ * Access token and refresh token issued together.
+ *
+ * @param accessToken the short-lived JWT access token.
+ * @param refreshToken the opaque refresh token.
+ */
+public record IssuedTokens(String accessToken, String refreshToken) {
+}
@@ -0,0 +1,61 @@
+package codearchitect99.taskory.security.token;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Writes and clears the refresh token cookie.
+ * The cookie is HttpOnly, Secure and SameSite, and is only sent to the auth endpoints
+ * that read it, refresh and logout, never with ordinary API requests.
+ */
+@Component
+public class RefreshTokenCookie {
+
+    public static final String NAME = "refresh_token";
+
+    private final String path;
+    private final String sameSite;
+    private final Duration maxAge;
+
+    @Autowired
+    public RefreshTokenCookie(@Value("${app.url-base}") String urlBase,
+                              @Value("${app.token.refresh-cookie.same-site}") String sameSite,
+                              RefreshTokenService refreshTokenService) {
+        this.path = urlBase + "/auth";
+        this.sameSite = sameSite;
+        this.maxAge = refreshTokenService.getRefreshTtl();
+    }
+
+    /**
+     * Set the refresh token cookie
+     * @param response Response to add the cookie to
+     * @param refreshToken Refresh token
+     */
+    public void write(HttpServletResponse response, String refreshToken) {
+        response.addHeader(HttpHeaders.SET_COOKIE, build(refreshToken, maxAge).toString());
+    }
+
+    /**
+     * Expire the refresh token cookie
+     * @param response Response to add the expired cookie to
+     */
+    public void clear(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, build("", Duration.ZERO).toString());
+    }
+
+    private ResponseCookie build(String value, Duration maxAge) {
+        return ResponseCookie.from(NAME, value)
+                .path(path)
+                .httpOnly(true)
+                .secure(true)
+                .sameSite(sameSite)
+                .maxAge(maxAge)
+                .build();
+    }
+}
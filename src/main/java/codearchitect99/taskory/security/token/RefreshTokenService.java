@@ -0,0 +1,128 @@
+package codearchitect99.taskory.security.token;
+
+import codearchitect99.taskory.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens.
+ * Tokens are random values handed to the client once; only their hashes are stored.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenService tokenService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.token.refresh-ttl}")
+    private Duration refreshTtl;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository, TokenService tokenService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenService = tokenService;
+    }
+
+    public Duration getRefreshTtl() {
+        return refreshTtl;
+    }
+
+    /**
+     * Issue a refresh token that starts a new family, e.g. after login
+     * @param userId User id
+     * @return Refresh token
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token.
+     * The presented token can not be used again; presenting it a second time revokes every token of its family.
+     * @param refreshToken Refresh token
+     * @return IssuedTokens
+     */
+    @Transactional
+    public IssuedTokens rotate(String refreshToken) throws InvalidRefreshTokenException {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(InvalidRefreshTokenException::new);
+
+        if (stored.isUsed()) {
+            // Either the client or an attacker holds a copy of a rotated token; log both out
+            refreshTokenRepository.deleteAllByFamilyId(stored.getFamilyId());
+            log.warn("[LOG] Refresh token reuse detected, family revoked: {}", stored.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token was already used");
+        }
+        if (stored.getExpiresAt().isBefore(LocalDateTime.now(ZoneOffset.UTC))) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        stored.markUsed();
+        Long userId = stored.getUser().getId();
+        return new IssuedTokens(tokenService.createToken(userId), issue(userId, stored.getFamilyId()));
+    }
+
+    /**
+     * Revoke the family of a refresh token, e.g. on logout
+     * @param refreshToken Refresh token
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        stored.ifPresent(token -> refreshTokenRepository.deleteAllByFamilyId(token.getFamilyId()));
+    }
+
+    /**
+     * Delete expired refresh tokens
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.token.refresh-purge-interval-ms}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteAllExpiredBefore(LocalDateTime.now(ZoneOffset.UTC));
+        log.info("[LOG] Expired refresh tokens purged: {}", purged);
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] value = new byte[32];
+        secureRandom.nextBytes(value);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(userRepository.getReferenceById(userId))
+                .tokenHash(hash(refreshToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now(ZoneOffset.UTC).plus(refreshTtl))
+                .build());
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
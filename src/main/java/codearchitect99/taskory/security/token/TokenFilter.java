@@ -10,12 +10,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * A filter that processes every request to validate JWT tokens.
@@ -27,17 +29,20 @@ public class TokenFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Constructs the TokenFilter with dependencies injected via constructor.
      *
      * @param tokenService the service responsible for token operations (e.g., validation, parsing).
      * @param userDetailsService the service to load user details by ID.
+     * @param tokenRevocationService the service to check revoked token IDs.
      */
     @Autowired
-    public TokenFilter(TokenService tokenService, CustomUserDetailsService userDetailsService) {
+    public TokenFilter(TokenService tokenService, CustomUserDetailsService userDetailsService, TokenRevocationService tokenRevocationService) {
         this.tokenService = tokenService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     /**
@@ -58,27 +63,33 @@ public class TokenFilter extends OncePerRequestFilter {
         log.info("[LOG] Extracted token: {}", token);
 
         if (StringUtils.hasText(token)) {
-            if (tokenService.isValidatedToken(token)) {
+            Optional<VerifiedToken> verifiedToken = tokenService.verifyToken(token);
+            if (verifiedToken.isPresent() && !tokenRevocationService.isRevoked(verifiedToken.get().tokenId())) {
                 log.info("[LOG] Valid token: {}", token);
 
-                Long userId = tokenService.getUserIdFromToken(token);
+                Long userId = verifiedToken.get().userId();
                 log.info("[LOG] Extracted userId from token: {}", userId);
 
-                UserPrincipal userPrincipal =
-                        (UserPrincipal) userDetailsService.loadUserByUserId(userId);
-                log.info("[LOG] Loaded user details: {}", userPrincipal.getUsername());
-                log.info("[LOG] Loaded user authority: {}", userPrincipal.getAuthorities());
+                try {
+                    UserPrincipal userPrincipal =
+                            (UserPrincipal) userDetailsService.loadUserByUserId(userId);
+                    log.info("[LOG] Loaded user details: {}", userPrincipal.getUsername());
+                    log.info("[LOG] Loaded user authority: {}", userPrincipal.getAuthorities());
 
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userPrincipal, null, userPrincipal.getAuthorities()
-                        );
-                authenticationToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+                    UsernamePasswordAuthenticationToken authenticationToken =
+                            new UsernamePasswordAuthenticationToken(
+                                    userPrincipal, null, userPrincipal.getAuthorities()
+                            );
+                    authenticationToken.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
 
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                log.info("[LOG] Authentication set in SecurityContext");
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    log.info("[LOG] Authentication set in SecurityContext");
+                } catch (UsernameNotFoundException e) {
+                    // Deleted or disabled while the token is still valid
+                    log.warn("[LOG] User of token not found or disabled: {}", userId);
+                }
             } else {
                 log.warn("[LOG] Invalid token: {}", token);
             }
@@ -0,0 +1,12 @@
+package codearchitect99.taskory.security.token;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+    private String accessToken;
+}
@@ -0,0 +1,92 @@
+package codearchitect99.taskory.security.token;
+
+import codearchitect99.taskory.common.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revocation list of access token IDs.
+ * Every request is checked against an in-memory Bloom filter, so the common case of a token that was
+ * never revoked costs no allocation and no query. Only a filter hit is confirmed against the table.
+ * The filter is rebuilt from the table periodically, which also picks up revocations made by other instances.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private volatile BloomFilter revokedTokenIds;
+    // Held across queries, so a lock rather than synchronized, which would pin virtual threads to their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${app.token.revocation.expected-revocations}") long expectedRevocations,
+                                  @Value("${app.token.revocation.false-positive-rate}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedTokenIds = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Revoke an access token until it expires
+     * @param tokenId Token ID (jti)
+     * @param expiresAt Expiration of the token
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        lock.lock();
+        try {
+            revokedTokenRepository.save(new RevokedToken(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC)));
+            revokedTokenIds.put(tokenId);
+            log.info("[LOG] Token revoked: {}", tokenId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check whether an access token was revoked
+     * @param tokenId Token ID (jti)
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (!revokedTokenIds.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * Drop expired revocations and rebuild the filter from the table.
+     * Runs once at startup and then periodically. Holds the lock of {@link #revoke} so no revocation is lost in the swap.
+     */
+    @Scheduled(fixedDelayString = "${app.token.revocation.rebuild-interval-ms}")
+    public void rebuild() {
+        lock.lock();
+        try {
+            int purged = revokedTokenRepository.deleteAllExpiredBefore(LocalDateTime.now(ZoneOffset.UTC));
+            List<String> tokenIds = revokedTokenRepository.findAllTokenIds();
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, 2L * tokenIds.size()), falsePositiveRate);
+            for (String tokenId : tokenIds) {
+                rebuilt.put(tokenId);
+            }
+            revokedTokenIds = rebuilt;
+            log.info("[LOG] Revocation filter rebuilt: {} revoked, {} purged", tokenIds.size(), purged);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
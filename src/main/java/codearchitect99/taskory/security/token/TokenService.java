@@ -3,9 +3,15 @@ package codearchitect99.taskory.security.token;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.Authentication;
 
+import java.util.Optional;
+
 public interface TokenService {
     String createToken(Authentication authentication);
 
+    String createToken(Long userId);
+
+    Optional<VerifiedToken> verifyToken(String token);
+
     boolean isValidatedToken(String token);
 
     Long getUserIdFromToken(String token);
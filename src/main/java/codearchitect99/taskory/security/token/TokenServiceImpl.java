@@ -1,13 +1,16 @@
 package codearchitect99.taskory.security.token;
 
 import codearchitect99.taskory.security.model.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
@@ -15,31 +18,59 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Implementation of the TokenService interface that provides methods to create, validate, and parse JWT tokens.
+ * Verified tokens are remembered by their SHA-256 hash until they expire, so a token that is sent again
+ * is accepted without checking its signature or parsing its claims a second time.
  */
 @Slf4j
 @Service
 public class TokenServiceImpl implements TokenService {
 
-    @Value("${app.token.expire-ms}")
-    private long expireMS;
-
-    @Value("${app.token.secret-key}")
-    private String key;
-
-    private SecretKey secretKey;
+    private final Duration accessTtl;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+    private final Clock clock;
 
     /**
-     * Initializes the secret key used for signing JWT tokens.
-     * This method is automatically invoked after the bean construction.
+     * Initializes the secret key used for signing JWT tokens and the parser used to verify them.
+     * The parser is immutable and shared by all requests.
+     *
+     * @param accessTtl the lifetime of created access tokens.
+     * @param key the Base64 encoded HMAC secret key.
+     * @param verifiedCacheSize the maximum number of verified tokens to remember.
      */
-    @PostConstruct
-    public void init() {
-        byte[] keyBytes = Decoders.BASE64.decode(key);
-        this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+    @Autowired
+    public TokenServiceImpl(@Value("${app.token.access-ttl}") Duration accessTtl,
+                            @Value("${app.token.secret-key}") String key,
+                            @Value("${app.token.verified-cache.max-size}") long verifiedCacheSize) {
+        this(accessTtl, key, verifiedCacheSize, Clock.systemUTC());
+    }
+
+    TokenServiceImpl(Duration accessTtl, String key, long verifiedCacheSize, Clock clock) {
+        this.accessTtl = accessTtl;
+        this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(key));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .recordStats()
+                .build();
+        this.clock = clock;
         log.info("[LOG] Secret key initialized.");
     }
 
@@ -53,12 +84,24 @@ public class TokenServiceImpl implements TokenService {
     public String createToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         log.info("[LOG] Creating token for user: {}", userPrincipal.getUsername());
+        return createToken(userPrincipal.getId());
+    }
 
-        Date now = new Date();
-        Date expireDate = new Date(now.getTime() + expireMS);
+    /**
+     * Creates a short-lived access token for the given user.
+     * Every token carries a unique ID so that it can be revoked before it expires.
+     *
+     * @param userId the ID of the user.
+     * @return the generated JWT token as a String.
+     */
+    @Override
+    public String createToken(Long userId) {
+        Date now = Date.from(clock.instant());
+        Date expireDate = new Date(now.getTime() + accessTtl.toMillis());
 
         String token = Jwts.builder()
-                .subject(Long.toString(userPrincipal.getId()))
+                .id(UUID.randomUUID().toString())
+                .subject(Long.toString(userId))
                 .issuedAt(now)
                 .expiration(expireDate)
                 .signWith(secretKey)
@@ -69,21 +112,38 @@ public class TokenServiceImpl implements TokenService {
     }
 
     /**
-     * Validates the given JWT token.
+     * Verifies the signature and expiry of the given JWT token and returns its claims in a single pass.
      *
-     * @param token the JWT token to validate.
-     * @return true if the token is valid; false otherwise.
+     * @param token the JWT token to verify.
+     * @return the verified claims, or empty if the token is invalid or expired.
      */
     @Override
-    public boolean isValidatedToken(String token) {
-        log.info("[LOG] Validating token: {}", token);
+    public Optional<VerifiedToken> verifyToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        ByteBuffer tokenHash = hash(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            if (!cached.isExpiredAt(now)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(tokenHash);
+            log.error("[LOG] Token has expired.");
+            return Optional.empty();
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            log.info("[LOG] Token is valid.");
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null || claims.getId() == null) {
+                log.error("[LOG] Token has no expiration or ID.");
+                return Optional.empty();
+            }
+            VerifiedToken verifiedToken = new VerifiedToken(claims.getId(), Long.parseLong(claims.getSubject()), claims.getExpiration().toInstant());
+            verifiedTokens.put(tokenHash, verifiedToken);
+            return Optional.of(verifiedToken);
         } catch (SignatureException exception) {
             log.error("[LOG] Invalid token signature.");
         } catch (MalformedJwtException exception) {
@@ -93,9 +153,21 @@ public class TokenServiceImpl implements TokenService {
         } catch (UnsupportedJwtException exception) {
             log.error("[LOG] Token is unsupported.");
         } catch (IllegalArgumentException exception) {
-            log.error("[LOG] Token claims are empty.");
+            // Also covers a subject that is not a number
+            log.error("[LOG] Token claims are empty or invalid.");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Validates the given JWT token.
+     *
+     * @param token the JWT token to validate.
+     * @return true if the token is valid; false otherwise.
+     */
+    @Override
+    public boolean isValidatedToken(String token) {
+        return verifyToken(token).isPresent();
     }
 
     /**
@@ -103,18 +175,13 @@ public class TokenServiceImpl implements TokenService {
      *
      * @param token the JWT token from which to extract the user ID.
      * @return the extracted user ID as a Long.
+     * @throws JwtException if the token is not valid.
      */
     @Override
     public Long getUserIdFromToken(String token) {
-        log.info("[LOG] Extracting user ID from token.");
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        Long userId = Long.parseLong(claims.getSubject());
-        log.info("[LOG] Extracted user ID: {}", userId);
-        return userId;
+        return verifyToken(token)
+                .map(VerifiedToken::userId)
+                .orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     /**
@@ -137,4 +204,18 @@ public class TokenServiceImpl implements TokenService {
             return null;
         }
     }
+
+    public CacheStats verifiedTokenStats() {
+        return verifiedTokens.stats();
+    }
+
+    // Raw tokens are bearer credentials, so only their digests are kept in memory
+    private static ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
 }
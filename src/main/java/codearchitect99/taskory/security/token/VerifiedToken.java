@@ -0,0 +1,17 @@
+package codearchitect99.taskory.security.token;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature and expiry have been verified.
+ *
+ * @param tokenId the unique token ID (jti), used for revocation.
+ * @param userId the user ID from the token subject.
+ * @param expiresAt the expiration time of the token.
+ */
+public record VerifiedToken(String tokenId, Long userId, Instant expiresAt) {
+
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,43 +1,42 @@
 package codearchitect99.taskory.tag;
 
-import codearchitect99.taskory.security.model.UserPrincipal;
 import codearchitect99.taskory.tag.payload.SaveTagRequest;
+import codearchitect99.taskory.tag.payload.TagDeletionProgress;
 import codearchitect99.taskory.tag.payload.TagResponse;
-import codearchitect99.taskory.user.CurrentUser;
-import codearchitect99.taskory.user.UserRepository;
+import codearchitect99.taskory.user.CurrentUserRef;
 import codearchitect99.taskory.user.model.User;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @Slf4j
 @RestController
+@Timed(value = "taskory.controller", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequestMapping("${app.url-base}/tag")
 public class TagController {
 
     private final TagService tagService;
-    private final UserRepository userRepository;
 
     @Autowired
-    public TagController(TagService tagService, UserRepository userRepository) {
+    public TagController(TagService tagService) {
         this.tagService = tagService;
-        this.userRepository = userRepository;
     }
 
     /**
      * Save a new tag
-     * @param userPrincipal The authenticated user
+     * @param user The authenticated user
      * @param saveTagRequest The request payload to save a new tag
      * @return The created TagResponse
      */
     @PostMapping
-    public ResponseEntity<TagResponse> saveTag(@CurrentUser UserPrincipal userPrincipal,
+    public ResponseEntity<TagResponse> saveTag(@CurrentUserRef User user,
                                                @RequestBody SaveTagRequest saveTagRequest) {
-        User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("user not found"));
         log.info("[LOG] saveTagRequest.title: {}", saveTagRequest.getTitle());
         log.info("[LOG] saveTagRequest.color: {}", saveTagRequest.getColor());
         TagResponse tagResponse = tagService.save(user, saveTagRequest);
@@ -61,12 +60,11 @@ public class TagController {
 
     /**
      * Get all tags for the authenticated user
-     * @param userPrincipal The authenticated user
+     * @param user The authenticated user
      * @return A list of TagResponse
      */
     @GetMapping
-    public ResponseEntity<List<TagResponse>> getAllTags(@CurrentUser UserPrincipal userPrincipal) {
-        User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("user not found"));
+    public ResponseEntity<List<TagResponse>> getAllTags(@CurrentUserRef User user) {
         List<TagResponse> tagResponses = tagService.findAll(user);
         return ResponseEntity.ok(tagResponses);
     }
@@ -89,17 +87,38 @@ public class TagController {
     }
 
     /**
-     * Delete a tag by ID
+     * Delete a tag by ID, together with its tasks and events
      * @param id The ID of the tag to delete
-     * @return A response indicating the result of the delete operation
+     * @param async Whether to delete in the background and return immediately
+     * @return A response indicating the result of the delete operation, with the deletion progress when async,
+     * or 503 when too many background deletions are pending
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTagById(@PathVariable("id") Long id) {
+    public ResponseEntity<TagDeletionProgress> deleteTagById(@PathVariable("id") Long id,
+                                                             @RequestParam(value = "async", defaultValue = "false") boolean async) {
         try {
+            if (async) {
+                TagDeletionProgress progress = tagService.deleteByIdAsync(id);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(progress);
+            }
             tagService.deleteById(id);
             return ResponseEntity.ok().build();
         } catch (TagNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
     }
+
+    /**
+     * Get the progress of a background tag deletion
+     * @param id The ID of the tag being deleted
+     * @return The TagDeletionProgress of the tag
+     */
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<TagDeletionProgress> getTagDeletionProgress(@PathVariable("id") Long id) {
+        return tagService.getDeletionProgress(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
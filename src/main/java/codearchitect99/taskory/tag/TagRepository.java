@@ -2,14 +2,33 @@ package codearchitect99.taskory.tag;
 
 import codearchitect99.taskory.tag.model.Tag;
 import codearchitect99.taskory.user.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
+    // Cached until any Tag row changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "tag.by-user")
+    })
     List<Tag> findAllByUser(User user);
 
     void deleteAllByUser(User user);
+
+    @Query("SELECT t.id FROM Tag t WHERE t.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Tag t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
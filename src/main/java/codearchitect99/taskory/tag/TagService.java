@@ -1,33 +1,65 @@
 package codearchitect99.taskory.tag;
 
-import codearchitect99.taskory.event.Event;
 import codearchitect99.taskory.event.EventRepository;
+import codearchitect99.taskory.hashtag.HashtagUsageService;
+import codearchitect99.taskory.outbox.DomainEvent;
+import codearchitect99.taskory.outbox.DomainEventPublisher;
 import codearchitect99.taskory.tag.model.Color;
 import codearchitect99.taskory.tag.model.Tag;
 import codearchitect99.taskory.tag.payload.SaveTagRequest;
+import codearchitect99.taskory.tag.payload.TagDeletionProgress;
 import codearchitect99.taskory.tag.payload.TagResponse;
-import codearchitect99.taskory.task.model.Task;
+import codearchitect99.taskory.task.repository.TaskItemRepository;
 import codearchitect99.taskory.task.repository.TaskRepository;
 import codearchitect99.taskory.user.model.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
 public class TagService {
     private final TagRepository tagRepository;
     private final TaskRepository taskRepository;
+    private final TaskItemRepository taskItemRepository;
     private final EventRepository eventRepository;
+    private final HashtagUsageService hashtagUsageService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor backgroundExecutor;
+    private final Map<Long, TagDeletionProgress> deletions = new ConcurrentHashMap<>();
+
+    @Value("${app.tag.delete-chunk-size}")
+    private int chunkSize;
 
     @Autowired
-    public TagService(TagRepository tagRepository, TaskRepository taskRepository, EventRepository eventRepository) {
+    public TagService(TagRepository tagRepository, TaskRepository taskRepository, TaskItemRepository taskItemRepository,
+                      EventRepository eventRepository, HashtagUsageService hashtagUsageService, DomainEventPublisher domainEventPublisher,
+                      TransactionTemplate transactionTemplate,
+                      @Qualifier("backgroundExecutor") TaskExecutor backgroundExecutor) {
         this.tagRepository = tagRepository;
         this.taskRepository = taskRepository;
+        this.taskItemRepository = taskItemRepository;
         this.eventRepository = eventRepository;
+        this.hashtagUsageService = hashtagUsageService;
+        this.domainEventPublisher = domainEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.backgroundExecutor = backgroundExecutor;
     }
 
     /**
@@ -36,6 +68,7 @@ public class TagService {
      * @param saveTagRequest Information to save tag
      * @return TagResponse
      */
+    @Transactional
     public TagResponse save(User user, SaveTagRequest saveTagRequest) {
         if (saveTagRequest.getTitle().isEmpty()) {
             throw new IllegalArgumentException("Title cannot be empty");
@@ -50,6 +83,7 @@ public class TagService {
                 .build();
 
         tagRepository.save(tag);
+        domainEventPublisher.publish(DomainEvent.Aggregate.TAG, tag.getId(), DomainEvent.Change.CREATED, user.getId());
 
         return new TagResponse(tag);
     }
@@ -69,6 +103,7 @@ public class TagService {
      * @param user User information
      * @return TagResponse list
      */
+    @Transactional(readOnly = true)
     public List<TagResponse> findAll(User user) {
         List<Tag> tags = tagRepository.findAllByUser(user);
 
@@ -85,31 +120,127 @@ public class TagService {
      * @param saveTagRequest Information to update tag
      * @return TagResponse
      */
+    @Transactional
     public TagResponse updateTag(Long tagId, SaveTagRequest saveTagRequest) throws TagNotFoundException {
         Tag tag = tagRepository.findById(tagId).orElseThrow(TagNotFoundException::new);
         tag.update(saveTagRequest);
 
         Tag updateTag = tagRepository.save(tag);
+        domainEventPublisher.publish(DomainEvent.Aggregate.TAG, tagId, DomainEvent.Change.UPDATED, updateTag.getUser().getId());
         return new TagResponse(updateTag);
     }
 
     /**
-     * Delete tag by tag id
+     * Delete tag by tag id.
+     * Tasks and events of the tag are removed with bulk statements in chunks, children first,
+     * so no entity graph is loaded and no single transaction holds locks on every row.
      * @param id Tag id for delete
      */
     public void deleteById(Long id) throws TagNotFoundException {
-        Tag tag = tagRepository.findById(id).orElseThrow(TagNotFoundException::new);
+        Long userId = findOwnerId(id);
+        runDeletion(id, userId, new TagDeletionProgress(id));
+    }
 
-        List<Task> tasks = taskRepository.findByTag(tag);
-        if (!tasks.isEmpty()) {
-            taskRepository.deleteAll(tasks);
+    /**
+     * Delete tag by tag id in the background
+     * @param id Tag id for delete
+     * @return TagDeletionProgress to poll
+     * @throws TaskRejectedException if the background executor is saturated; no deletion was started
+     */
+    public TagDeletionProgress deleteByIdAsync(Long id) throws TagNotFoundException {
+        Long userId = findOwnerId(id);
+        deletions.values().removeIf(progress -> progress.isFinishedBefore(LocalDateTime.now(ZoneOffset.UTC).minusHours(1)));
+
+        // Only a finished deletion is replaced, atomically, so concurrent calls start one deletion at most
+        TagDeletionProgress started = new TagDeletionProgress(id);
+        TagDeletionProgress progress = deletions.compute(id, (tagId, current) ->
+                current != null && current.getState() == TagDeletionProgress.State.RUNNING ? current : started);
+        if (progress == started) {
+            try {
+                backgroundExecutor.execute(() -> runDeletion(id, userId, progress));
+            } catch (TaskRejectedException exception) {
+                deletions.remove(id, started);
+                log.warn("[LOG] Tag deletion rejected, background executor is saturated: {}", id);
+                throw exception;
+            }
         }
+        return progress;
+    }
 
-        List<Event> events = eventRepository.findByTag(tag);
-        if (!events.isEmpty()) {
-            eventRepository.deleteAll(events);
+    /**
+     * Get progress of a background tag deletion
+     * @param id Tag id
+     * @return TagDeletionProgress, empty if no deletion was started for the tag
+     */
+    public Optional<TagDeletionProgress> getDeletionProgress(Long id) {
+        return Optional.ofNullable(deletions.get(id));
+    }
+
+    private Long findOwnerId(Long tagId) throws TagNotFoundException {
+        return tagRepository.findById(tagId).orElseThrow(TagNotFoundException::new).getUser().getId();
+    }
+
+    private void runDeletion(Long tagId, Long userId, TagDeletionProgress progress) {
+        try {
+            // Events of the tag, together with the tasks inside them
+            int deletedEvents;
+            do {
+                deletedEvents = deleteEventChunk(tagId, userId, progress);
+            } while (deletedEvents > 0);
+
+            // Remaining tasks of the tag
+            int deletedTasks;
+            do {
+                deletedTasks = transactionTemplate.execute(status ->
+                        deleteTasks(userId, taskRepository.findIdsByTagId(tagId, PageRequest.of(0, chunkSize))));
+                progress.addDeletedTasks(deletedTasks);
+            } while (deletedTasks > 0);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                tagRepository.deleteById(tagId);
+                domainEventPublisher.publish(DomainEvent.Aggregate.TAG, tagId, DomainEvent.Change.DELETED, userId);
+            });
+            progress.complete();
+            log.info("[LOG] Tag deleted: {}", progress);
+        } catch (RuntimeException exception) {
+            progress.fail();
+            log.error("[LOG] Tag deletion failed: {}", progress, exception);
+            throw exception;
         }
+    }
 
-        tagRepository.delete(tag);
+    private int deleteEventChunk(Long tagId, Long userId, TagDeletionProgress progress) {
+        List<Long> eventIds = transactionTemplate.execute(status ->
+                eventRepository.findIdsByTagId(tagId, PageRequest.of(0, chunkSize)));
+        if (eventIds == null || eventIds.isEmpty()) {
+            return 0;
+        }
+
+        int deletedTasks;
+        do {
+            deletedTasks = transactionTemplate.execute(status ->
+                    deleteTasks(userId, taskRepository.findIdsByEventIdIn(eventIds, PageRequest.of(0, chunkSize))));
+            progress.addDeletedTasks(deletedTasks);
+        } while (deletedTasks > 0);
+
+        Integer deletedEvents = transactionTemplate.execute(status -> {
+            hashtagUsageService.releaseEvents(userId, eventIds);
+            eventRepository.deleteHashtagLinksByEventIdIn(eventIds);
+            domainEventPublisher.publish(DomainEvent.Aggregate.EVENT, eventIds, DomainEvent.Change.DELETED, userId);
+            return eventRepository.deleteAllByIdIn(eventIds);
+        });
+        progress.addDeletedEvents(deletedEvents);
+        return deletedEvents;
+    }
+
+    private int deleteTasks(Long userId, List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        taskItemRepository.deleteAllByTaskIdIn(taskIds);
+        hashtagUsageService.releaseTasks(userId, taskIds);
+        taskRepository.deleteHashtagLinksByTaskIdIn(taskIds);
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, taskIds, DomainEvent.Change.DELETED, userId);
+        return taskRepository.deleteAllByIdIn(taskIds);
     }
 }
@@ -4,10 +4,14 @@ import codearchitect99.taskory.tag.payload.SaveTagRequest;
 import codearchitect99.taskory.user.model.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity(name = "Tag")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tag")
 @Getter
 @Setter
 @NoArgsConstructor
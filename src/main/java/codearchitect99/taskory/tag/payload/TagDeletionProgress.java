@@ -0,0 +1,64 @@
+package codearchitect99.taskory.tag.payload;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a chunked tag deletion.
+ * Counters are updated by the deleting thread and read by progress requests.
+ */
+@ToString
+public class TagDeletionProgress {
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Getter
+    private final Long tagId;
+    private final AtomicLong deletedTasks = new AtomicLong();
+    private final AtomicLong deletedEvents = new AtomicLong();
+    @Getter
+    private volatile State state = State.RUNNING;
+    @Getter
+    private volatile LocalDateTime finishedAt;
+
+    public TagDeletionProgress(Long tagId) {
+        this.tagId = tagId;
+    }
+
+    public long getDeletedTasks() {
+        return deletedTasks.get();
+    }
+
+    public long getDeletedEvents() {
+        return deletedEvents.get();
+    }
+
+    public void addDeletedTasks(long count) {
+        deletedTasks.addAndGet(count);
+    }
+
+    public void addDeletedEvents(long count) {
+        deletedEvents.addAndGet(count);
+    }
+
+    public void complete() {
+        this.finishedAt = LocalDateTime.now(ZoneOffset.UTC);
+        this.state = State.COMPLETED;
+    }
+
+    public void fail() {
+        this.finishedAt = LocalDateTime.now(ZoneOffset.UTC);
+        this.state = State.FAILED;
+    }
+
+    public boolean isFinishedBefore(LocalDateTime dateTime) {
+        return finishedAt != null && finishedAt.isBefore(dateTime);
+    }
+}
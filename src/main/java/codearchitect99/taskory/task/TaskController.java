@@ -3,7 +3,6 @@ package codearchitect99.taskory.task;
 import codearchitect99.taskory.event.EventNotFoundException;
 import codearchitect99.taskory.event.EventService;
 import codearchitect99.taskory.event.payload.EventResponse;
-import codearchitect99.taskory.security.model.UserPrincipal;
 import codearchitect99.taskory.tag.TagNotFoundException;
 import codearchitect99.taskory.task.exception.InvalidDeadlineException;
 import codearchitect99.taskory.task.exception.InvalidStatusNameException;
@@ -12,14 +11,13 @@ import codearchitect99.taskory.task.payload.SaveTaskRequest;
 import codearchitect99.taskory.task.payload.TaskResponse;
 import codearchitect99.taskory.task.payload.TaskSummary;
 import codearchitect99.taskory.task.service.TaskService;
-import codearchitect99.taskory.user.CurrentUser;
-import codearchitect99.taskory.user.UserRepository;
+import codearchitect99.taskory.user.CurrentUserRef;
 import codearchitect99.taskory.user.model.User;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -30,30 +28,28 @@ import java.util.List;
  */
 @Slf4j
 @RestController
+@Timed(value = "taskory.controller", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequestMapping("${app.url-base}/task")
 public class TaskController {
 
     private final TaskService taskService;
-    private final UserRepository userRepository;
     private final EventService eventService;
 
     @Autowired
-    public TaskController(TaskService taskService, UserRepository userRepository, EventService eventService) {
+    public TaskController(TaskService taskService, EventService eventService) {
         this.taskService = taskService;
-        this.userRepository = userRepository;
         this.eventService = eventService;
     }
 
     /**
      * Creates a new task for the authenticated user.
      *
-     * @param userPrincipal the authenticated user details
+     * @param user the authenticated user details
      * @param saveTaskRequest the request payload containing task details
      * @return the response containing the saved task details
      */
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@CurrentUser UserPrincipal userPrincipal, @RequestBody SaveTaskRequest saveTaskRequest) {
-        User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public ResponseEntity<TaskResponse> createTask(@CurrentUserRef User user, @RequestBody SaveTaskRequest saveTaskRequest) {
         TaskResponse response = null;
         try {
             response = taskService.save(user, saveTaskRequest);
@@ -85,12 +81,11 @@ public class TaskController {
     /**
      * Retrieves all tasks for the authenticated user.
      *
-     * @param userPrincipal the authenticated user details
+     * @param user the authenticated user details
      * @return the response containing a list of tasks
      */
     @GetMapping
-    public ResponseEntity<List<TaskSummary>> getAllTasks(@CurrentUser UserPrincipal userPrincipal) {
-        User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public ResponseEntity<List<TaskSummary>> getAllTasks(@CurrentUserRef User user) {
         List<TaskSummary> responses = taskService.findAll(user);
         return ResponseEntity.ok(responses);
     }
@@ -104,15 +99,14 @@ public class TaskController {
     /**
      * Retrieves tasks for the authenticated user, filtered by event ID if provided.
      *
-     * @param userPrincipal the authenticated user details
+     * @param user the authenticated user details
      * @param eventId the ID of the event to filter tasks by (optional)
      * @return the response containing a list of filtered tasks
      */
     @GetMapping("/filter")
-    public ResponseEntity<List<TaskSummary>> getTasksByEvent(@CurrentUser UserPrincipal userPrincipal, @RequestParam("eventId") Long eventId) {
+    public ResponseEntity<List<TaskSummary>> getTasksByEvent(@CurrentUserRef User user, @RequestParam("eventId") Long eventId) {
         try {
             EventResponse eventResponse = eventService.getById(eventId);
-            User user = userRepository.findById(userPrincipal.getId()).orElseThrow(() -> new UsernameNotFoundException("User not found"));
             List<TaskSummary> responses = taskService.findAllByEventId(user, eventResponse.getId());
             return ResponseEntity.ok(responses);
         } catch (EventNotFoundException e) {
@@ -45,6 +45,9 @@ public class Task extends BaseTimeEntity {
     private Tag tag;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "Task_hashtags",
+            joinColumns = @JoinColumn(name = "Task_task_id"),
+            inverseJoinColumns = @JoinColumn(name = "hashtags_hashtag_id"))
     private List<Hashtag> hashtags = new ArrayList<>();
 
     @Column(name = "description")
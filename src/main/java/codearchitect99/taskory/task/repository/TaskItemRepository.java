@@ -3,6 +3,9 @@ package codearchitect99.taskory.task.repository;
 import codearchitect99.taskory.task.model.Task;
 import codearchitect99.taskory.task.model.TaskItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,8 @@ public interface TaskItemRepository extends JpaRepository<TaskItem, Long> {
     void deleteAllByTaskIn(List<Task> tasks);
 
     List<TaskItem> findByTask(Task task);
+
+    @Modifying
+    @Query("DELETE FROM TaskItem i WHERE i.task.id IN :taskIds")
+    int deleteAllByTaskIdIn(@Param("taskIds") List<Long> taskIds);
 }
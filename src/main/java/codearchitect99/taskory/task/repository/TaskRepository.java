@@ -4,9 +4,17 @@ import codearchitect99.taskory.event.Event;
 import codearchitect99.taskory.tag.model.Tag;
 import codearchitect99.taskory.task.model.Task;
 import codearchitect99.taskory.user.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -15,6 +23,8 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     List<Task> findAllByUserAndEvent(User user, Event event);
 
+    List<Task> findAllByUserAndDeadline(User user, LocalDate deadline);
+
     void deleteAllByUser(User user);
 
     List<Task> findByTag_IdIn(List<Long> tagIds);
@@ -22,4 +32,23 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByTag(Tag tag);
 
     List<Task> findByEvent(Event event);
+
+    @Query("SELECT t.id FROM Task t WHERE t.tag.id = :tagId")
+    List<Long> findIdsByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+    @Query("SELECT t.id FROM Task t WHERE t.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT t.id FROM Task t WHERE t.event.id IN :eventIds")
+    List<Long> findIdsByEventIdIn(@Param("eventIds") List<Long> eventIds, Pageable pageable);
+
+    // Without declared tables, a native statement would clear the whole second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "Task_hashtags"))
+    @Query(value = "DELETE FROM Task_hashtags WHERE Task_task_id IN (:taskIds)", nativeQuery = true)
+    int deleteHashtagLinksByTaskIdIn(@Param("taskIds") List<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,73 @@
+package codearchitect99.taskory.task.service;
+
+import codearchitect99.taskory.task.model.Task;
+import codearchitect99.taskory.task.model.TaskItem;
+import codearchitect99.taskory.task.payload.TaskItemDto;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches the items of a task update request against the stored items of the task.
+ * Requested items with a known id update the stored item, the others are created,
+ * and stored items missing from the request are removed. An empty request keeps all stored items.
+ */
+@Getter
+public class TaskItemDiff {
+    private final List<TaskItem> retained;
+    private final List<TaskItem> created;
+    private final List<TaskItem> removed;
+
+    private TaskItemDiff(List<TaskItem> retained, List<TaskItem> created, List<TaskItem> removed) {
+        this.retained = retained;
+        this.created = created;
+        this.removed = removed;
+    }
+
+    /**
+     * Apply requested items to the stored items of a task
+     * @param task Task of the items
+     * @param existingItems Stored items, updated in place when requested
+     * @param requestedItems Items of the update request
+     * @return TaskItemDiff
+     */
+    public static TaskItemDiff of(Task task, List<TaskItem> existingItems, List<TaskItemDto> requestedItems) {
+        if (requestedItems == null || requestedItems.isEmpty()) {
+            return new TaskItemDiff(existingItems, List.of(), List.of());
+        }
+
+        Map<Long, TaskItem> existingById = new HashMap<>();
+        for (TaskItem item : existingItems) {
+            existingById.put(item.getId(), item);
+        }
+
+        Set<Long> requestedIds = new HashSet<>();
+        List<TaskItem> created = new ArrayList<>();
+        for (TaskItemDto itemDto : requestedItems) {
+            TaskItem existingItem = itemDto.getId() != null ? existingById.get(itemDto.getId()) : null;
+            if (existingItem != null) {
+                existingItem.setTitle(itemDto.getTitle());
+                existingItem.setCompleted(itemDto.isCompleted());
+                requestedIds.add(itemDto.getId());
+            } else {
+                created.add(TaskItem.builder()
+                        .task(task)
+                        .completed(itemDto.isCompleted())
+                        .title(itemDto.getTitle())
+                        .build());
+            }
+        }
+
+        List<TaskItem> retained = new ArrayList<>(existingItems.size());
+        List<TaskItem> removed = new ArrayList<>();
+        for (TaskItem item : existingItems) {
+            (requestedIds.contains(item.getId()) ? retained : removed).add(item);
+        }
+        return new TaskItemDiff(retained, created, removed);
+    }
+}
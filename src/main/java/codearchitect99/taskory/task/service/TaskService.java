@@ -3,7 +3,11 @@ package codearchitect99.taskory.task.service;
 import codearchitect99.taskory.event.Event;
 import codearchitect99.taskory.event.EventNotFoundException;
 import codearchitect99.taskory.event.EventRepository;
+import codearchitect99.taskory.hashtag.Hashtag;
 import codearchitect99.taskory.hashtag.HashtagRepository;
+import codearchitect99.taskory.hashtag.HashtagUsageService;
+import codearchitect99.taskory.outbox.DomainEvent;
+import codearchitect99.taskory.outbox.DomainEventPublisher;
 import codearchitect99.taskory.tag.TagNotFoundException;
 import codearchitect99.taskory.tag.TagRepository;
 import codearchitect99.taskory.tag.model.Tag;
@@ -14,7 +18,6 @@ import codearchitect99.taskory.task.model.Status;
 import codearchitect99.taskory.task.model.Task;
 import codearchitect99.taskory.task.model.TaskItem;
 import codearchitect99.taskory.task.payload.SaveTaskRequest;
-import codearchitect99.taskory.task.payload.TaskItemDto;
 import codearchitect99.taskory.task.payload.TaskResponse;
 import codearchitect99.taskory.task.payload.TaskSummary;
 import codearchitect99.taskory.task.repository.TaskItemRepository;
@@ -22,14 +25,13 @@ import codearchitect99.taskory.task.repository.TaskRepository;
 import codearchitect99.taskory.user.model.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -40,14 +42,19 @@ public class TaskService {
     private final EventRepository eventRepository;
     private final TagRepository tagRepository;
     private final HashtagRepository hashtagRepository;
+    private final HashtagUsageService hashtagUsageService;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository, TaskItemRepository taskitemRepository, EventRepository eventRepository, TagRepository tagRepository, HashtagRepository hashtagRepository) {
+    public TaskService(TaskRepository taskRepository, TaskItemRepository taskitemRepository, EventRepository eventRepository, TagRepository tagRepository, HashtagRepository hashtagRepository, HashtagUsageService hashtagUsageService,
+                       DomainEventPublisher domainEventPublisher) {
         this.taskRepository = taskRepository;
         this.taskItemRepository = taskitemRepository;
         this.eventRepository = eventRepository;
         this.tagRepository = tagRepository;
         this.hashtagRepository = hashtagRepository;
+        this.hashtagUsageService = hashtagUsageService;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
     /**
@@ -65,13 +72,13 @@ public class TaskService {
 
         Event event = validateAndGetEntityById(
                 saveTaskRequest.getEventId(),
-                eventRepository,
+                eventRepository::findById,
                 () -> new EventNotFoundException("Event not found for ID: " + saveTaskRequest.getEventId())
         );
 
         Tag tag = validateAndGetEntityById(
                 saveTaskRequest.getTagId(),
-                tagRepository,
+                tagRepository::findById,
                 () -> new TagNotFoundException("Tag not found for ID: " + saveTaskRequest.getTagId())
         );
 
@@ -81,13 +88,14 @@ public class TaskService {
                 .event(event)
                 .tag(tag)
                 .hashtags(saveTaskRequest.getHashtagIds() != null ?
-                        hashtagRepository.findAllById(saveTaskRequest.getHashtagIds())
+                        hashtagRepository.findAllCachedById(saveTaskRequest.getHashtagIds())
                         :null)
                 .description(saveTaskRequest.getDescription())
                 .status(status)
                 .build();
 
         taskRepository.save(task);
+        hashtagUsageService.recordChange(null, task.getHashtags());
 
         if (saveTaskRequest.getItems() != null && !saveTaskRequest.getItems().isEmpty()) {
             List<TaskItem> itemList = saveTaskRequest.getItems().stream()
@@ -103,6 +111,7 @@ public class TaskService {
             task.setItems(new ArrayList<>(itemList));
             taskRepository.save(task);
         }
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, task.getId(), DomainEvent.Change.CREATED, user.getId());
 
         return new TaskResponse(task);
     }
@@ -128,18 +137,18 @@ public class TaskService {
     }
 
     /**
-     * Validates and retrieves an entity by its ID from the given repository.
+     * Validates and retrieves an entity by its ID with the given lookup.
      *
      * @param id the ID of the entity to retrieve
-     * @param repository the repository to search for the entity
+     * @param finder the repository or cache lookup used to find the entity
      * @param exceptionSupplier the supplier that provides the exception if the entity is not found
      * @param <T> the type of the entity
      * @param <E> the type of exception to be thrown if the entity is not found
      * @return the entity if found, or null if the ID is null
      * @throws E if the entity is not found
      */
-    private <T, E extends Exception> T validateAndGetEntityById(Long id, JpaRepository<T, Long> repository, Supplier<E> exceptionSupplier) throws E {
-        return id != null ? repository.findById(id).orElseThrow(exceptionSupplier) : null;
+    private <T, E extends Exception> T validateAndGetEntityById(Long id, Function<Long, Optional<T>> finder, Supplier<E> exceptionSupplier) throws E {
+        return id != null ? finder.apply(id).orElseThrow(exceptionSupplier) : null;
     }
 
 
@@ -161,6 +170,7 @@ public class TaskService {
      * @param user the user whose tasks are to be retrieved
      * @return a list of {@link TaskSummary} representing the user's tasks
      */
+    @Transactional(readOnly = true)
     public List<TaskSummary> findAll(User user) {
         return taskRepository.findAllByUser(user)
                 .stream()
@@ -168,6 +178,20 @@ public class TaskService {
                 .toList();
     }
 
+    /**
+     * Finds all tasks of a user whose deadline is the given date.
+     *
+     * @param user the user whose tasks are to be retrieved
+     * @param date the deadline to match
+     * @return a list of {@link TaskSummary} representing the tasks due on the date
+     */
+    public List<TaskSummary> findAllDueOn(User user, LocalDate date) {
+        return taskRepository.findAllByUserAndDeadline(user, date)
+                .stream()
+                .map(TaskSummary::new)
+                .toList();
+    }
+
     /**
      * Finds all tasks filtered by flow or event.
      * At least one of {@code flow} or {@code event} must be non-null.
@@ -211,13 +235,13 @@ public class TaskService {
 
         Event event = validateAndGetEntityById(
                 saveTaskRequest.getEventId(),
-                eventRepository,
+                eventRepository::findById,
                 () -> new EventNotFoundException("Event not found for ID: " + saveTaskRequest.getEventId())
         );
 
         Tag tag = validateAndGetEntityById(
                 saveTaskRequest.getTagId(),
-                tagRepository,
+                tagRepository::findById,
                 () -> new TagNotFoundException("Tag not found for ID: " + saveTaskRequest.getTagId())
         );
 
@@ -226,60 +250,27 @@ public class TaskService {
                 .orElseThrow(() -> new TaskNotFoundException("Task not found for ID: " + taskId));
 
         // Update task fields
+        List<Hashtag> previousHashtags = task.getHashtags() != null ? new ArrayList<>(task.getHashtags()) : null;
         task.setTitle(saveTaskRequest.getTitle());
         task.setEvent(event);
         task.setTag(tag);
-        task.setHashtags(hashtagRepository.findAllById(saveTaskRequest.getHashtagIds()));
+        task.setHashtags(hashtagRepository.findAllCachedById(saveTaskRequest.getHashtagIds()));
+        hashtagUsageService.recordChange(previousHashtags, task.getHashtags());
         task.setDescription(saveTaskRequest.getDescription());
         task.setStatus(status);
         task.setDeadline(deadline);
 
-        // Fetch existing TaskItems associated with the task
-        List<TaskItem> existingItems = taskItemRepository.findByTask(task);
-        Map<Long, TaskItem> existingItemsMap = existingItems.stream()
-                .collect(Collectors.toMap(TaskItem::getId, item -> item));
-
-        // Update or create TaskItems
-        List<TaskItem> newItems = new ArrayList<>();
-        if (saveTaskRequest.getItems() != null && !saveTaskRequest.getItems().isEmpty()) {
-            List<Long> requestItemIds = saveTaskRequest.getItems().stream()
-                    .map(TaskItemDto::getId)
-                    .filter(Objects::nonNull)
-                    .toList();
-
-            for (TaskItemDto itemDto : saveTaskRequest.getItems()) {
-                if (itemDto.getId() != null && existingItemsMap.containsKey(itemDto.getId())) {
-                    // Update existing item
-                    TaskItem existingItem = existingItemsMap.get(itemDto.getId());
-                    existingItem.setTitle(itemDto.getTitle());
-                    existingItem.setCompleted(itemDto.isCompleted());
-                } else {
-                    // Add new item
-                    TaskItem newItem = TaskItem.builder()
-                            .task(task)
-                            .completed(itemDto.isCompleted())
-                            .title(itemDto.getTitle())
-                            .build();
-                    newItems.add(newItem);
-                }
-            }
+        // Update, create and delete items to match the request
+        TaskItemDiff itemDiff = TaskItemDiff.of(task, taskItemRepository.findByTask(task), saveTaskRequest.getItems());
+        taskItemRepository.deleteAll(itemDiff.getRemoved());
 
-            // Delete items that are not in the request
-            List<TaskItem> itemsToDelete = existingItems.stream()
-                    .filter(item -> !requestItemIds.contains(item.getId()))
-                    .toList();
-            taskItemRepository.deleteAll(itemsToDelete);
-
-            // Ensure the task's items collection references only the remaining and new items
-            existingItems.removeAll(itemsToDelete);
-        }
-
-        // Add new items to the existing collection
-        task.getItems().clear(); // Clear to avoid stale references
-        task.getItems().addAll(existingItems); // Add remaining items
-        task.getItems().addAll(newItems); // Add new items
+        // The task's items collection references only the remaining and new items
+        task.getItems().clear();
+        task.getItems().addAll(itemDiff.getRetained());
+        task.getItems().addAll(itemDiff.getCreated());
 
         taskRepository.save(task);
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, taskId, DomainEvent.Change.UPDATED, task.getUser().getId());
 
         return new TaskResponse(task);
     }
@@ -305,6 +296,7 @@ public class TaskService {
         }
     }
 
+    @Transactional
     public TaskSummary updateTaskStatus(Long taskId, String updateStatus, String updateDeadline) throws TaskNotFoundException, InvalidStatusNameException, InvalidDeadlineException {
         Status status = validateAndGetStatus(updateStatus);
 
@@ -316,6 +308,7 @@ public class TaskService {
         task.setDeadline(deadline);
 
         taskRepository.save(task);
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, taskId, DomainEvent.Change.UPDATED, task.getUser().getId());
 
         return new TaskSummary(task);
     }
@@ -326,11 +319,13 @@ public class TaskService {
      * @param id the ID of the task to be deleted
      * @throws TaskNotFoundException if no task with the specified ID is found
      */
+    @Transactional
     public void deleteById(Long id) throws TaskNotFoundException {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException("Task not found for id: " + id);
-        }
-        taskRepository.deleteById(id);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found for id: " + id));
+        hashtagUsageService.recordChange(task.getHashtags(), null);
+        taskRepository.delete(task);
+        domainEventPublisher.publish(DomainEvent.Aggregate.TASK, id, DomainEvent.Change.DELETED, task.getUser().getId());
     }
 
     /**
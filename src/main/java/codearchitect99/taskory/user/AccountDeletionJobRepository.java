@@ -0,0 +1,17 @@
+package codearchitect99.taskory.user;
+
+import codearchitect99.taskory.user.model.AccountDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountDeletionJobRepository extends JpaRepository<AccountDeletionJob, String> {
+    Optional<AccountDeletionJob> findByUserId(Long userId);
+
+    List<AccountDeletionJob> findAllByStateNot(AccountDeletionJob.State state);
+
+    List<AccountDeletionJob> findAllByState(AccountDeletionJob.State state);
+}
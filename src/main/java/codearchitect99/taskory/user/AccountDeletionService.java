@@ -0,0 +1,246 @@
+package codearchitect99.taskory.user;
+
+import codearchitect99.taskory.event.EventRepository;
+import codearchitect99.taskory.hashtag.HashtagAutocompleteIndex;
+import codearchitect99.taskory.hashtag.HashtagRepository;
+import codearchitect99.taskory.hashtag.HashtagTrendTracker;
+import codearchitect99.taskory.outbox.DomainEvent;
+import codearchitect99.taskory.outbox.DomainEventPublisher;
+import codearchitect99.taskory.routine.repository.RoutineHistoryRepository;
+import codearchitect99.taskory.routine.repository.RoutineRepository;
+import codearchitect99.taskory.security.service.SocialAccountCache;
+import codearchitect99.taskory.security.service.UserPrincipalCache;
+import codearchitect99.taskory.security.token.RefreshTokenRepository;
+import codearchitect99.taskory.tag.TagRepository;
+import codearchitect99.taskory.task.repository.TaskItemRepository;
+import codearchitect99.taskory.task.repository.TaskRepository;
+import codearchitect99.taskory.user.model.AccountDeletionJob;
+import codearchitect99.taskory.user.model.User;
+import codearchitect99.taskory.user.payload.AccountDeletionResponse;
+import codearchitect99.taskory.user.payload.AccountDeletionStatusResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes accounts in the background.
+ * The user is disabled right away, then every owned table is purged in chunks of bounded size,
+ * each chunk in its own short transaction, so no single transaction locks all of a user's rows.
+ * Progress is stored in {@link AccountDeletionJob}; unfinished jobs are resumed on startup and failed ones are retried periodically.
+ */
+@Slf4j
+@Service
+public class AccountDeletionService {
+    private final AccountDeletionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RoutineHistoryRepository routineHistoryRepository;
+    private final RoutineRepository routineRepository;
+    private final TaskRepository taskRepository;
+    private final TaskItemRepository taskItemRepository;
+    private final EventRepository eventRepository;
+    private final HashtagRepository hashtagRepository;
+    private final TagRepository tagRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final SocialAccountCache socialAccountCache;
+    private final HashtagAutocompleteIndex hashtagAutocompleteIndex;
+    private final HashtagTrendTracker hashtagTrendTracker;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor backgroundExecutor;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.account-deletion.chunk-size}")
+    private int chunkSize;
+
+    @Autowired
+    public AccountDeletionService(AccountDeletionJobRepository jobRepository, UserRepository userRepository, RefreshTokenRepository refreshTokenRepository,
+                                  RoutineHistoryRepository routineHistoryRepository, RoutineRepository routineRepository,
+                                  TaskRepository taskRepository, TaskItemRepository taskItemRepository, EventRepository eventRepository,
+                                  HashtagRepository hashtagRepository, TagRepository tagRepository, UserPrincipalCache userPrincipalCache,
+                                  SocialAccountCache socialAccountCache,
+                                  HashtagAutocompleteIndex hashtagAutocompleteIndex,
+                                  HashtagTrendTracker hashtagTrendTracker, DomainEventPublisher domainEventPublisher, TransactionTemplate transactionTemplate,
+                                  @Qualifier("backgroundExecutor") TaskExecutor backgroundExecutor) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.routineHistoryRepository = routineHistoryRepository;
+        this.routineRepository = routineRepository;
+        this.taskRepository = taskRepository;
+        this.taskItemRepository = taskItemRepository;
+        this.eventRepository = eventRepository;
+        this.hashtagRepository = hashtagRepository;
+        this.tagRepository = tagRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.socialAccountCache = socialAccountCache;
+        this.hashtagAutocompleteIndex = hashtagAutocompleteIndex;
+        this.hashtagTrendTracker = hashtagTrendTracker;
+        this.domainEventPublisher = domainEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    /**
+     * Disable the account and start deleting it in the background
+     * @param userId User id
+     * @return AccountDeletionResponse to poll
+     */
+    public AccountDeletionResponse requestDeletion(Long userId) {
+        AccountDeletionJob job = transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            user.disable();
+            // No new access tokens for the account
+            refreshTokenRepository.deleteAllByUserId(userId);
+
+            AccountDeletionJob existing = jobRepository.findByUserId(userId).orElse(null);
+            if (existing == null) {
+                return jobRepository.save(new AccountDeletionJob(userId));
+            }
+            existing.resume();
+            return existing;
+        });
+        userPrincipalCache.evict(userId);
+
+        log.info("[LOG] Account deletion requested: user {}, job {}", userId, job.getId());
+        submit(job.getId());
+        return new AccountDeletionResponse(job);
+    }
+
+    /**
+     * Get the state of an account deletion, without any detail about the account
+     * @param jobId Job id returned when the deletion was requested
+     * @return AccountDeletionStatusResponse, empty if there is no such job
+     */
+    public Optional<AccountDeletionStatusResponse> findJob(String jobId) {
+        return jobRepository.findById(jobId).map(AccountDeletionStatusResponse::new);
+    }
+
+    /**
+     * Resume deletions interrupted by a shutdown or crash, and retry failed ones
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        List<AccountDeletionJob> unfinished = jobRepository.findAllByStateNot(AccountDeletionJob.State.COMPLETED);
+        for (AccountDeletionJob job : unfinished) {
+            log.info("[LOG] Resuming account deletion: user {}, job {}, step {}", job.getUserId(), job.getId(), job.getStep());
+            submit(job.getId());
+        }
+    }
+
+    /**
+     * Retry failed deletions, e.g. after the database was unavailable for a while
+     */
+    @Scheduled(fixedDelayString = "${app.account-deletion.retry-interval-ms}")
+    public void retryFailed() {
+        List<AccountDeletionJob> failed = jobRepository.findAllByState(AccountDeletionJob.State.FAILED);
+        for (AccountDeletionJob job : failed) {
+            log.info("[LOG] Retrying account deletion: user {}, job {}, step {}", job.getUserId(), job.getId(), job.getStep());
+            submit(job.getId());
+        }
+    }
+
+    private void submit(String jobId) {
+        // At most one worker per job in this instance
+        if (!runningJobs.add(jobId)) {
+            return;
+        }
+        try {
+            backgroundExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException exception) {
+            // Marked failed, so the scheduled retry submits it again once the executor has room
+            runningJobs.remove(jobId);
+            log.warn("[LOG] Account deletion deferred, background executor is saturated: job {}", jobId);
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(AccountDeletionJob::fail));
+        }
+    }
+
+    private void run(String jobId) {
+        try {
+            AccountDeletionJob job;
+            do {
+                job = transactionTemplate.execute(status -> deleteChunk(jobId));
+            } while (job.getState() == AccountDeletionJob.State.RUNNING);
+
+            userPrincipalCache.evict(job.getUserId());
+            socialAccountCache.evictUser(job.getUserId());
+            hashtagAutocompleteIndex.invalidate(job.getUserId());
+            hashtagTrendTracker.invalidate(job.getUserId());
+            log.info("[LOG] Account deleted: user {}, {} rows", job.getUserId(), job.getDeletedRows());
+        } catch (RuntimeException exception) {
+            log.error("[LOG] Account deletion failed: job {}", jobId, exception);
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(AccountDeletionJob::fail));
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    private AccountDeletionJob deleteChunk(String jobId) {
+        AccountDeletionJob job = jobRepository.findById(jobId).orElseThrow();
+        if (job.getState() != AccountDeletionJob.State.RUNNING) {
+            job.resume();
+        }
+        Long userId = job.getUserId();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+
+        int deleted = switch (job.getStep()) {
+            case ROUTINE_HISTORIES -> deleteAll(routineHistoryRepository.findIdsByUserId(userId, chunk), historyIds -> {
+                publishDeleted(DomainEvent.Aggregate.ROUTINE_HISTORY, historyIds, userId);
+                return routineHistoryRepository.deleteAllByIdIn(historyIds);
+            });
+            case ROUTINES -> deleteAll(routineRepository.findIdsByUserId(userId, chunk), routineRepository::deleteAllByIdIn);
+            case TASKS -> deleteAll(taskRepository.findIdsByUserId(userId, chunk), taskIds -> {
+                taskItemRepository.deleteAllByTaskIdIn(taskIds);
+                taskRepository.deleteHashtagLinksByTaskIdIn(taskIds);
+                publishDeleted(DomainEvent.Aggregate.TASK, taskIds, userId);
+                return taskRepository.deleteAllByIdIn(taskIds);
+            });
+            case EVENTS -> deleteAll(eventRepository.findIdsByUserId(userId, chunk), eventIds -> {
+                eventRepository.deleteHashtagLinksByEventIdIn(eventIds);
+                publishDeleted(DomainEvent.Aggregate.EVENT, eventIds, userId);
+                return eventRepository.deleteAllByIdIn(eventIds);
+            });
+            case HASHTAGS -> deleteAll(hashtagRepository.findIdsByUserId(userId, chunk), hashtagIds -> {
+                publishDeleted(DomainEvent.Aggregate.HASHTAG, hashtagIds, userId);
+                return hashtagRepository.deleteAllByIdIn(hashtagIds);
+            });
+            case TAGS -> deleteAll(tagRepository.findIdsByUserId(userId, chunk), tagIds -> {
+                publishDeleted(DomainEvent.Aggregate.TAG, tagIds, userId);
+                return tagRepository.deleteAllByIdIn(tagIds);
+            });
+            // Social accounts and roles go with the user
+            case USER -> userRepository.findById(userId).map(user -> {
+                userRepository.delete(user);
+                return 1;
+            }).orElse(0);
+            case DONE -> 0;
+        };
+        job.record(deleted);
+        return job;
+    }
+
+    private void publishDeleted(DomainEvent.Aggregate aggregate, List<Long> ids, Long userId) {
+        domainEventPublisher.publish(aggregate, ids, DomainEvent.Change.DELETED, userId);
+    }
+
+    private static int deleteAll(List<Long> ids, ToIntFunction<List<Long>> delete) {
+        return ids.isEmpty() ? 0 : delete.applyAsInt(ids);
+    }
+}
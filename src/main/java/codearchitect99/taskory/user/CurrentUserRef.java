@@ -0,0 +1,13 @@
+package codearchitect99.taskory.user;
+
+import java.lang.annotation.*;
+
+/**
+ * Resolves a {@link codearchitect99.taskory.user.model.User} reference for the authenticated user
+ * without loading it. Use it where the user is only needed as a foreign key.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUserRef {
+}
@@ -4,10 +4,10 @@ import codearchitect99.taskory.user.model.SocialAccount;
 import codearchitect99.taskory.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface SocialAccountRepository extends JpaRepository<SocialAccount, Long> {
-    boolean existsByUsername(String username);
+import java.util.Optional;
 
-    SocialAccount findByUsername(String username);
+public interface SocialAccountRepository extends JpaRepository<SocialAccount, Long> {
+    Optional<SocialAccount> findByUsername(String username);
 
     void deleteByUser(User user);
 }
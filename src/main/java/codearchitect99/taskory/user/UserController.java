@@ -2,8 +2,11 @@ package codearchitect99.taskory.user;
 
 import codearchitect99.taskory.security.model.UserPrincipal;
 import codearchitect99.taskory.user.exception.UsernameAlreadyExistsException;
+import codearchitect99.taskory.user.payload.AccountDeletionResponse;
+import codearchitect99.taskory.user.payload.AccountDeletionStatusResponse;
 import codearchitect99.taskory.user.payload.ProfileUpdateRequest;
 import codearchitect99.taskory.user.payload.UserResponse;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,14 +15,17 @@ import org.springframework.web.bind.annotation.*;
 
 @Slf4j
 @RestController
+@Timed(value = "taskory.controller", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequestMapping("${app.url-base}/user")
 public class UserController {
 
     private final UserService userService;
+    private final AccountDeletionService accountDeletionService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AccountDeletionService accountDeletionService) {
         this.userService = userService;
+        this.accountDeletionService = accountDeletionService;
     }
 
     @GetMapping("/profile")
@@ -44,4 +50,28 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
     }
+
+    /**
+     * Delete the current account in the background.
+     * The account is disabled immediately, so its tokens stop working.
+     * @return The deletion job to poll with the returned job id
+     */
+    @DeleteMapping("/account")
+    public ResponseEntity<AccountDeletionResponse> deleteAccount(@CurrentUser UserPrincipal userPrincipal) {
+        AccountDeletionResponse response = accountDeletionService.requestDeletion(userPrincipal.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Get the state of an account deletion. Needs no authentication, as the account may already be gone;
+     * the unguessable job id is the credential, and only the state is returned.
+     * @param jobId The job id returned when the deletion was requested
+     * @return The AccountDeletionStatusResponse of the job
+     */
+    @GetMapping("/account/deletion/{jobId}")
+    public ResponseEntity<AccountDeletionStatusResponse> getAccountDeletion(@PathVariable("jobId") String jobId) {
+        return accountDeletionService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
@@ -5,6 +5,8 @@ import codearchitect99.taskory.hashtag.HashtagRepository;
 import codearchitect99.taskory.routine.repository.RoutineHistoryRepository;
 import codearchitect99.taskory.routine.repository.RoutineRepository;
 import codearchitect99.taskory.security.model.OAuth2UserInfo;
+import codearchitect99.taskory.security.service.SocialAccountCache;
+import codearchitect99.taskory.security.service.UserPrincipalCache;
 import codearchitect99.taskory.tag.TagRepository;
 import codearchitect99.taskory.tag.model.Color;
 import codearchitect99.taskory.tag.model.Tag;
@@ -38,9 +40,12 @@ public class UserService {
     private final RoutineHistoryRepository routineHistoryRepository;
     private final SocialAccountRepository socialAccountRepository;
     private final HashtagRepository hashtagRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final SocialAccountCache socialAccountCache;
+    private final UsernameFilter usernameFilter;
 
     @Autowired
-    public UserService(UserRepository userRepository, EventRepository eventRepository, TagRepository tagRepository, TaskService taskService, RoutineRepository routineRepository, RoutineHistoryRepository routineHistoryRepository, SocialAccountRepository socialAccountRepository, HashtagRepository hashtagRepository) {
+    public UserService(UserRepository userRepository, EventRepository eventRepository, TagRepository tagRepository, TaskService taskService, RoutineRepository routineRepository, RoutineHistoryRepository routineHistoryRepository, SocialAccountRepository socialAccountRepository, HashtagRepository hashtagRepository, UserPrincipalCache userPrincipalCache, SocialAccountCache socialAccountCache, UsernameFilter usernameFilter) {
         this.userRepository = userRepository;
         this.taskService = taskService;
         this.eventRepository = eventRepository;
@@ -49,6 +54,9 @@ public class UserService {
         this.routineHistoryRepository = routineHistoryRepository;
         this.socialAccountRepository = socialAccountRepository;
         this.hashtagRepository = hashtagRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.socialAccountCache = socialAccountCache;
+        this.usernameFilter = usernameFilter;
     }
 
     /**
@@ -83,6 +91,9 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        usernameFilter.add(updatedUser.getUsername());
+        // Username and roles may have changed
+        userPrincipalCache.evict(userId);
         return new UserResponse(updatedUser);
     }
 
@@ -97,6 +108,8 @@ public class UserService {
             throw new UsernameNotFoundException("User not found");
         }
         userRepository.deleteById(id);
+        userPrincipalCache.evict(id);
+        socialAccountCache.evictUser(id);
     }
 
     @Transactional
@@ -106,6 +119,7 @@ public class UserService {
                 .roles(Collections.singletonList(Role.TEMP_USER))
                 .build();
         userRepository.save(user);
+        usernameFilter.add(user.getUsername());
 
         SocialAccount socialAccount = SocialAccount.builder()
                 .user(user)
@@ -128,9 +142,16 @@ public class UserService {
         return user;
     }
 
+    /**
+     * Check whether a username is free.
+     * Usernames missing from the {@link UsernameFilter} are free without a query; only possible hits are checked in the database.
+     * @param username Username to check
+     * @return true if the username is available
+     */
     public boolean isUsernameAvailable(String username) {
-        if (userRepository.existsByUsername(username)) {
-            return false;
-        } else return true;
+        if (!usernameFilter.mightBeTaken(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
     }
 }
@@ -0,0 +1,135 @@
+package codearchitect99.taskory.user;
+
+import codearchitect99.taskory.common.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of taken usernames, so that most availability checks need no query.
+ * A miss means the username is definitely free; a hit still has to be confirmed against the table.
+ * Usernames are lower-cased, which keeps the filter a superset under a case-insensitive collation.
+ * Freed usernames and usernames registered by other instances are picked up by the periodic rebuild;
+ * until then the database unique constraint remains the final check.
+ */
+@Slf4j
+@Component
+public class UsernameFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedUsernames;
+    private final double falsePositiveRate;
+    private volatile BloomFilter usernames;
+    private volatile boolean loaded;
+    // Locks rather than synchronized, so a waiting virtual thread does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Usernames added while a rebuild streams the table, guarded by lock; null when no rebuild is running
+    private List<String> addedDuringRebuild;
+
+    @Autowired
+    public UsernameFilter(UserRepository userRepository, TransactionTemplate transactionTemplate,
+                          @Value("${app.user.username-filter.expected-usernames}") long expectedUsernames,
+                          @Value("${app.user.username-filter.false-positive-rate}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedUsernames = expectedUsernames;
+        this.falsePositiveRate = falsePositiveRate;
+        this.usernames = new BloomFilter(expectedUsernames, falsePositiveRate);
+    }
+
+    /**
+     * Record a username that was just taken
+     * @param username Username
+     */
+    public void add(String username) {
+        String normalized = normalize(username);
+        lock.lock();
+        try {
+            usernames.put(normalized);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(normalized);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check whether a username may be taken
+     * @param username Username
+     * @return false if the username is definitely free, true if it has to be checked against the database
+     */
+    public boolean mightBeTaken(String username) {
+        // Before the first load every username has to be checked
+        return !loaded || usernames.mightContain(normalize(username));
+    }
+
+    /**
+     * Rebuild the filter from the user table.
+     * Runs once at startup and then periodically. The table is streamed without holding the lock of {@link #add};
+     * usernames added meanwhile are collected on the side and put into the new filter when it is swapped in.
+     */
+    @Scheduled(fixedDelayString = "${app.user.username-filter.rebuild-interval-ms}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.lock();
+            try {
+                addedDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+
+            BloomFilter rebuilt = null;
+            try {
+                rebuilt = load();
+            } finally {
+                swapIn(rebuilt);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private BloomFilter load() {
+        long count = userRepository.count();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedUsernames, 2 * count), falsePositiveRate);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> all = userRepository.streamAllUsernames()) {
+                all.forEach(username -> rebuilt.put(normalize(username)));
+            }
+        });
+        log.info("[LOG] Username filter rebuilt: {} usernames", count);
+        return rebuilt;
+    }
+
+    // Null if loading failed, then the current filter stays
+    private void swapIn(BloomFilter rebuilt) {
+        lock.lock();
+        try {
+            if (rebuilt != null) {
+                addedDuringRebuild.forEach(rebuilt::put);
+                usernames = rebuilt;
+                loaded = true;
+            }
+            addedDuringRebuild = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
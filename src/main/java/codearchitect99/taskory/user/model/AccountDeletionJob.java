@@ -0,0 +1,111 @@
+package codearchitect99.taskory.user.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+/**
+ * Persistent state of a chunked account deletion.
+ * The current step and counters are updated in the same transaction as each deleted chunk,
+ * so an interrupted job resumes exactly where it stopped.
+ */
+@Entity(name = "AccountDeletionJob")
+@Getter
+@NoArgsConstructor
+public class AccountDeletionJob {
+    private static final SecureRandom ID_RANDOM = new SecureRandom();
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Owned tables in deletion order, children before parents
+    public enum Step {
+        ROUTINE_HISTORIES,
+        ROUTINES,
+        TASKS,
+        EVENTS,
+        HASHTAGS,
+        TAGS,
+        USER,
+        DONE
+    }
+
+    // 128 random bits in hex, so the id can be polled without authentication once the account is gone
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String id;
+
+    // No foreign key, the job outlives the user
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    // Plain strings rather than the MariaDB enum type, so a new constant needs no migration
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "state", nullable = false)
+    private State state;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "step", nullable = false)
+    private Step step;
+
+    @Column(name = "deleted_rows", nullable = false)
+    private long deletedRows;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public AccountDeletionJob(Long userId) {
+        byte[] idBytes = new byte[16];
+        ID_RANDOM.nextBytes(idBytes);
+        this.id = HexFormat.of().formatHex(idBytes);
+        this.userId = userId;
+        this.state = State.RUNNING;
+        this.step = Step.ROUTINE_HISTORIES;
+        this.startedAt = LocalDateTime.now(ZoneOffset.UTC);
+        this.updatedAt = this.startedAt;
+    }
+
+    /**
+     * Record a deleted chunk. An empty chunk means the current step is finished.
+     * @param deleted Number of rows deleted in the chunk
+     */
+    public void record(int deleted) {
+        if (step == Step.DONE) {
+            return;
+        }
+        if (deleted > 0) {
+            this.deletedRows += deleted;
+        } else {
+            this.step = Step.values()[step.ordinal() + 1];
+            if (this.step == Step.DONE) {
+                this.state = State.COMPLETED;
+            }
+        }
+        this.updatedAt = LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    public void fail() {
+        this.state = State.FAILED;
+        this.updatedAt = LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    public void resume() {
+        this.state = State.RUNNING;
+        this.updatedAt = LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
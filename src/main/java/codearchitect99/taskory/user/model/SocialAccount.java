@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.Objects;
+
 @Entity(name = "SocialAccount")
 @Getter
 @Builder
@@ -31,8 +33,17 @@ public class SocialAccount {
     @Column(name = "provider")
     private String provider;
 
-    public void update(OAuth2UserInfo oAuth2UserInfo) {
+    /**
+     * Update from the social provider's user info
+     * @param oAuth2UserInfo User info from the social provider
+     * @return true if anything changed and the account needs to be saved
+     */
+    public boolean update(OAuth2UserInfo oAuth2UserInfo) {
+        if (Objects.equals(this.subId, oAuth2UserInfo.getSubId()) && Objects.equals(this.username, oAuth2UserInfo.getEmail())) {
+            return false;
+        }
         this.subId = oAuth2UserInfo.getSubId();
         this.username = oAuth2UserInfo.getEmail();
+        return true;
     }
 }
@@ -4,6 +4,9 @@ import codearchitect99.taskory.user.payload.ProfileUpdateRequest;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -11,6 +14,8 @@ import java.util.List;
 import java.util.Set;
 
 @Entity(name = "User")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,12 +38,22 @@ public class User {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "User_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(value = EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user.roles")
     private List<Role> roles = new ArrayList<>();
 
+    // Set when account deletion starts; a disabled user can no longer authenticate
+    @ColumnDefault("false")
+    @Column(name = "disabled", nullable = false)
+    private boolean disabled;
+
     public void updateProfile(ProfileUpdateRequest profileUpdateRequest) {
         this.username = profileUpdateRequest.getUsername();
     }
 
+    public void disable() {
+        this.disabled = true;
+    }
+
     public void upgradeToOfficial() {
         this.roles = new ArrayList<>(Collections.singletonList(Role.USER));
     }
@@ -0,0 +1,29 @@
+package codearchitect99.taskory.user.payload;
+
+import codearchitect99.taskory.user.model.AccountDeletionJob;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+public class AccountDeletionResponse {
+    private String jobId;
+    private AccountDeletionJob.State state;
+    private AccountDeletionJob.Step step;
+    private long deletedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+
+    public AccountDeletionResponse(AccountDeletionJob job) {
+        this.jobId = job.getId();
+        this.state = job.getState();
+        this.step = job.getStep();
+        this.deletedRows = job.getDeletedRows();
+        this.startedAt = job.getStartedAt();
+        this.updatedAt = job.getUpdatedAt();
+    }
+}
@@ -0,0 +1,19 @@
+package codearchitect99.taskory.user.payload;
+
+import codearchitect99.taskory.user.model.AccountDeletionJob;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class AccountDeletionStatusResponse {
+    private String jobId;
+    private AccountDeletionJob.State state;
+
+    public AccountDeletionStatusResponse(AccountDeletionJob job) {
+        this.jobId = job.getId();
+        this.state = job.getState();
+    }
+}
@@ -0,0 +1,128 @@
+-- Schema as generated by Hibernate (ddl-auto: update) before the migrations existed.
+-- Databases created that way are baselined at this version and skip this script;
+-- everything added since then is in the later scripts.
+
+CREATE TABLE `User` (
+    user_id  BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_user_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE User_roles (
+    user_id BIGINT       NOT NULL,
+    roles   ENUM ('USER', 'ADMIN', 'TEMP_USER') NOT NULL,
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES `User` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE SocialAccount (
+    social_account_id BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id           BIGINT       NOT NULL,
+    sub_id            VARCHAR(255),
+    username          VARCHAR(255),
+    provider          VARCHAR(255),
+    PRIMARY KEY (social_account_id),
+    CONSTRAINT fk_social_account_user FOREIGN KEY (user_id) REFERENCES `User` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE User_socialAccounts (
+    User_user_id                     BIGINT NOT NULL,
+    socialAccounts_social_account_id BIGINT NOT NULL,
+    PRIMARY KEY (User_user_id, socialAccounts_social_account_id),
+    CONSTRAINT uk_user_social_accounts_account UNIQUE (socialAccounts_social_account_id),
+    CONSTRAINT fk_user_social_accounts_user FOREIGN KEY (User_user_id) REFERENCES `User` (user_id),
+    CONSTRAINT fk_user_social_accounts_account FOREIGN KEY (socialAccounts_social_account_id) REFERENCES SocialAccount (social_account_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE Tag (
+    tag_id  BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id BIGINT       NOT NULL,
+    title   VARCHAR(255) NOT NULL,
+    color   ENUM ('RED', 'ORANGE', 'YELLOW', 'LIME', 'GREEN', 'CYAN', 'BLUE', 'PURPLE', 'PINK') NOT NULL,
+    PRIMARY KEY (tag_id),
+    CONSTRAINT fk_tag_user FOREIGN KEY (user_id) REFERENCES `User` (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE Hashtag (
+    hashtag_id  BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT       NOT NULL,
+    title       VARCHAR(255),
+    PRIMARY KEY (hashtag_id),
+    CONSTRAINT fk_hashtag_user FOREIGN KEY (user_id) REFERENCES `User` (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE Event (
+    event_id        BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    user_id         BIGINT       NOT NULL,
+    title           VARCHAR(255),
+    tag_id          BIGINT       NOT NULL,
+    description     VARCHAR(255),
+    start_date_time DATETIME(6),
+    due_date_time   DATETIME(6),
+    location        VARCHAR(255),
+    PRIMARY KEY (event_id),
+    CONSTRAINT fk_event_user FOREIGN KEY (user_id) REFERENCES `User` (user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_event_tag FOREIGN KEY (tag_id) REFERENCES Tag (tag_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE Event_hashtags (
+    Event_event_id      BIGINT NOT NULL,
+    hashtags_hashtag_id BIGINT NOT NULL,
+    CONSTRAINT fk_event_hashtags_event FOREIGN KEY (Event_event_id) REFERENCES Event (event_id),
+    CONSTRAINT fk_event_hashtags_hashtag FOREIGN KEY (hashtags_hashtag_id) REFERENCES Hashtag (hashtag_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE Task (
+    task_id     BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    user_id     BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    event_id    BIGINT,
+    tag_id      BIGINT       NOT NULL,
+    description VARCHAR(255),
+    status      ENUM ('BACKLOG', 'TODO', 'PROGRESS', 'DONE') NOT NULL,
+    deadline    DATE,
+    PRIMARY KEY (task_id),
+    CONSTRAINT fk_task_user FOREIGN KEY (user_id) REFERENCES `User` (user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_task_event FOREIGN KEY (event_id) REFERENCES Event (event_id) ON DELETE CASCADE,
+    CONSTRAINT fk_task_tag FOREIGN KEY (tag_id) REFERENCES Tag (tag_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE Task_hashtags (
+    Task_task_id        BIGINT NOT NULL,
+    hashtags_hashtag_id BIGINT NOT NULL,
+    CONSTRAINT fk_task_hashtags_task FOREIGN KEY (Task_task_id) REFERENCES Task (task_id),
+    CONSTRAINT fk_task_hashtags_hashtag FOREIGN KEY (hashtags_hashtag_id) REFERENCES Hashtag (hashtag_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE TaskItem (
+    task_item_id BIGINT       NOT NULL AUTO_INCREMENT,
+    task_id      BIGINT       NOT NULL,
+    title        VARCHAR(255) NOT NULL,
+    completed    BIT(1)       NOT NULL,
+    PRIMARY KEY (task_item_id),
+    CONSTRAINT fk_task_item_task FOREIGN KEY (task_id) REFERENCES Task (task_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE Routine (
+    routine_id  BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT         NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    days        VARBINARY(255) NOT NULL,
+    PRIMARY KEY (routine_id),
+    CONSTRAINT fk_routine_user FOREIGN KEY (user_id) REFERENCES `User` (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE RoutineHistory (
+    routine_history_id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id            BIGINT NOT NULL,
+    routine_id         BIGINT NOT NULL,
+    checked_at         DATETIME(6),
+    PRIMARY KEY (routine_history_id),
+    CONSTRAINT fk_routine_history_user FOREIGN KEY (user_id) REFERENCES `User` (user_id),
+    CONSTRAINT fk_routine_history_routine FOREIGN KEY (routine_id) REFERENCES Routine (routine_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,21 @@
+-- Number of tasks and events that use a hashtag, maintained by HashtagUsageService.
+-- Kept in its own uncached table, so counting a use does not invalidate the second-level cache of hashtags.
+-- Existing links are counted once here; the service only applies deltas from then on.
+
+CREATE TABLE HashtagUsage (
+    hashtag_id  BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL,
+    usage_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (hashtag_id),
+    CONSTRAINT fk_hashtag_usage_hashtag FOREIGN KEY (hashtag_id) REFERENCES Hashtag (hashtag_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+INSERT INTO HashtagUsage (hashtag_id, user_id, usage_count)
+SELECT h.hashtag_id, h.user_id, COALESCE(task_uses.uses, 0) + COALESCE(event_uses.uses, 0)
+FROM Hashtag h
+    LEFT JOIN (SELECT hashtags_hashtag_id AS hashtag_id, COUNT(*) AS uses
+               FROM Task_hashtags
+               GROUP BY hashtags_hashtag_id) task_uses ON task_uses.hashtag_id = h.hashtag_id
+    LEFT JOIN (SELECT hashtags_hashtag_id AS hashtag_id, COUNT(*) AS uses
+               FROM Event_hashtags
+               GROUP BY hashtags_hashtag_id) event_uses ON event_uses.hashtag_id = h.hashtag_id;
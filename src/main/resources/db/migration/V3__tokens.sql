@@ -0,0 +1,19 @@
+-- Rotating refresh tokens, stored as hashes, and the ids of revoked access tokens until they expire.
+
+CREATE TABLE RefreshToken (
+    refresh_token_id BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT      NOT NULL,
+    token_hash       VARCHAR(64) NOT NULL,
+    family_id        VARCHAR(36) NOT NULL,
+    expires_at       DATETIME(6) NOT NULL,
+    used             BIT(1)      NOT NULL,
+    PRIMARY KEY (refresh_token_id),
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES `User` (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE RevokedToken (
+    token_id   VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (token_id)
+) ENGINE = InnoDB;
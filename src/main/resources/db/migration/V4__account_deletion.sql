@@ -0,0 +1,16 @@
+-- Asynchronous account deletion: the user is disabled first, then deleted in chunks by AccountDeletionService.
+-- No foreign key on user_id, the job outlives the user.
+
+ALTER TABLE `User` ADD COLUMN disabled BIT(1) NOT NULL DEFAULT 0;
+
+CREATE TABLE AccountDeletionJob (
+    job_id       VARCHAR(36)  NOT NULL,
+    user_id      BIGINT       NOT NULL,
+    state        VARCHAR(255) NOT NULL,
+    step         VARCHAR(255) NOT NULL,
+    deleted_rows BIGINT       NOT NULL,
+    started_at   DATETIME(6)  NOT NULL,
+    updated_at   DATETIME(6)  NOT NULL,
+    PRIMARY KEY (job_id),
+    CONSTRAINT uk_account_deletion_job_user UNIQUE (user_id)
+) ENGINE = InnoDB;
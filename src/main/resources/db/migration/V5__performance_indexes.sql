@@ -0,0 +1,41 @@
+-- Indexes for the predicates of the repository queries.
+-- Composite indexes lead with the foreign key column, so they also replace the implicit foreign key indexes.
+
+-- findAllByUser, findAllByUserAndEvent, findIdsByUserId
+CREATE INDEX idx_task_user_event ON Task (user_id, event_id);
+-- findAllByUserAndDeadline
+CREATE INDEX idx_task_user_deadline ON Task (user_id, deadline);
+-- findByTag, findByTag_IdIn, findIdsByTagId
+CREATE INDEX idx_task_tag ON Task (tag_id);
+-- findByEvent, findIdsByEventIdIn
+CREATE INDEX idx_task_event ON Task (event_id);
+
+-- findAllByUserInPeriod, findOngoingAndUpcommingEvents, findAllByUser, findIdsByUserId
+CREATE INDEX idx_event_user_period ON Event (user_id, start_date_time, due_date_time);
+-- findByTag, findByTag_IdIn, findIdsByTagId
+CREATE INDEX idx_event_tag ON Event (tag_id);
+
+-- Covering in both directions: links of a task or event, and usages of a hashtag
+CREATE INDEX idx_task_hashtags_task ON Task_hashtags (Task_task_id, hashtags_hashtag_id);
+CREATE INDEX idx_task_hashtags_hashtag ON Task_hashtags (hashtags_hashtag_id, Task_task_id);
+CREATE INDEX idx_event_hashtags_event ON Event_hashtags (Event_event_id, hashtags_hashtag_id);
+CREATE INDEX idx_event_hashtags_hashtag ON Event_hashtags (hashtags_hashtag_id, Event_event_id);
+
+-- findAllByUserIdOrderByUsageCountDesc, without a filesort
+CREATE INDEX idx_hashtag_usage_user_count ON HashtagUsage (user_id, usage_count);
+
+-- Check history of a routine in time order
+CREATE INDEX idx_routine_history_routine_checked ON RoutineHistory (routine_id, checked_at);
+-- findIdsByUserId
+CREATE INDEX idx_routine_history_user ON RoutineHistory (user_id);
+
+-- deleteAllByFamilyId, deleteAllExpiredBefore
+CREATE INDEX idx_refresh_token_family ON RefreshToken (family_id);
+CREATE INDEX idx_refresh_token_expires ON RefreshToken (expires_at);
+CREATE INDEX idx_revoked_token_expires ON RevokedToken (expires_at);
+
+-- Social login lookup by provider e-mail
+CREATE INDEX idx_social_account_username ON SocialAccount (username);
+
+-- findAllByStateNot, run at startup to resume unfinished deletions
+CREATE INDEX idx_account_deletion_job_state ON AccountDeletionJob (state);
@@ -0,0 +1,17 @@
+-- Domain events written with the change they describe, delivered by OutboxDispatcher.
+-- No foreign key on user_id, events of deleted accounts are still delivered.
+
+CREATE TABLE OutboxEvent (
+    outbox_event_id BIGINT      NOT NULL AUTO_INCREMENT,
+    aggregate       VARCHAR(32) NOT NULL,
+    aggregate_id    BIGINT      NOT NULL,
+    change_type     VARCHAR(16) NOT NULL,
+    user_id         BIGINT      NOT NULL,
+    created_at      DATETIME(6) NOT NULL,
+    dispatched_at   DATETIME(6),
+    attempts        INT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (outbox_event_id)
+) ENGINE = InnoDB;
+
+-- findPending (dispatched_at IS NULL in id order) and deleteAllDispatchedBefore
+CREATE INDEX idx_outbox_event_dispatched ON OutboxEvent (dispatched_at, outbox_event_id);
@@ -0,0 +1,4 @@
+-- Subscribers an outbox event has been delivered to, as a comma-separated list of DomainEventSubscriber names,
+-- so a failing subscriber is retried on its own instead of redelivering the event to every subscriber.
+
+ALTER TABLE OutboxEvent ADD COLUMN delivered_to VARCHAR(1024);
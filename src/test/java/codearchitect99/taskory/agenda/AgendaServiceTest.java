@@ -0,0 +1,151 @@
+package codearchitect99.taskory.agenda;
+
+import codearchitect99.taskory.agenda.payload.AgendaResponse;
+import codearchitect99.taskory.event.EventService;
+import codearchitect99.taskory.event.payload.EventSummary;
+import codearchitect99.taskory.routine.payload.RoutineResponse;
+import codearchitect99.taskory.routine.payload.SaveRoutineRequest;
+import codearchitect99.taskory.routine.service.RoutineService;
+import codearchitect99.taskory.setup.ArrangeTest;
+import codearchitect99.taskory.task.payload.SaveTaskRequest;
+import codearchitect99.taskory.task.payload.TaskResponse;
+import codearchitect99.taskory.task.payload.TaskSummary;
+import codearchitect99.taskory.task.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgendaServiceTest extends ArrangeTest {
+
+    @Autowired
+    private AgendaService agendaService;
+    @Autowired
+    private RoutineService routineService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    @Qualifier("queryExecutor")
+    private TaskExecutor queryExecutor;
+
+    private final LocalDate today = LocalDate.now();
+    private RoutineResponse routine;
+    private TaskResponse task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        boolean[] everyDay = {true, true, true, true, true, true, true};
+        routine = routineService.save(tempUser, new SaveRoutineRequest("agenda routine", null, everyDay));
+        task = taskService.save(tempUser, new SaveTaskRequest("agenda task", null, tempTag.getId(), null, null,
+                "TODO", null, today.toString()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        taskService.deleteById(task.getId());
+        routineService.deleteById(routine.getId());
+    }
+
+    private void assertAgenda(AgendaResponse agenda) {
+        assertEquals(today.toString(), agenda.getDate());
+        assertTrue(agenda.getRoutines().stream().map(RoutineResponse::getId).anyMatch(routine.getId()::equals));
+        assertTrue(agenda.getTasks().stream().map(TaskSummary::getId).anyMatch(task.getId()::equals));
+        assertTrue(agenda.getEvents().stream().map(EventSummary::getId).anyMatch(tempEvent.getId()::equals));
+    }
+
+    /**
+     * Test for merging the results of the concurrent sub-queries
+     */
+    @Test
+    @DisplayName("merge routines, tasks and events of a day")
+    void getAgenda() {
+//        Act
+        AgendaResponse agenda = agendaService.getAgenda(tempUser, today);
+
+//        Assert
+        assertAgenda(agenda);
+    }
+
+    /**
+     * Test for running the sub-queries on the query executor
+     */
+    @Test
+    @DisplayName("fan out the sub-queries to the query executor")
+    void getAgendaOnQueryExecutor() {
+//        Arrange
+        List<String> threads = new CopyOnWriteArrayList<>();
+        TaskExecutor recordingExecutor = task -> queryExecutor.execute(() -> {
+            threads.add(Thread.currentThread().getName());
+            task.run();
+        });
+        AgendaService service = new AgendaService(routineService, taskService, eventService, recordingExecutor);
+
+//        Act
+        AgendaResponse agenda = service.getAgenda(tempUser, today);
+
+//        Assert
+        assertAgenda(agenda);
+        assertEquals(3, threads.size());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("query-")), threads::toString);
+    }
+
+    /**
+     * Test for running the sub-queries on the caller when the executor is saturated
+     */
+    @Test
+    @DisplayName("run the sub-queries on the caller when the executor is saturated")
+    void getAgendaWhenSaturated() throws InterruptedException {
+//        Arrange
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ThreadPoolTaskExecutor saturatedExecutor = new ThreadPoolTaskExecutor();
+        saturatedExecutor.setCorePoolSize(1);
+        saturatedExecutor.setMaxPoolSize(1);
+        saturatedExecutor.setQueueCapacity(0);
+        saturatedExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        saturatedExecutor.setTaskDecorator(task -> () -> {
+            threads.add(Thread.currentThread());
+            task.run();
+        });
+        saturatedExecutor.initialize();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        saturatedExecutor.execute(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        blocked.await();
+        threads.clear();
+        AgendaService service = new AgendaService(routineService, taskService, eventService, saturatedExecutor);
+
+//        Act
+        AgendaResponse agenda;
+        try {
+            agenda = service.getAgenda(tempUser, today);
+        } finally {
+            release.countDown();
+            saturatedExecutor.shutdown();
+        }
+
+//        Assert
+        assertAgenda(agenda);
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread(), Thread.currentThread()), threads);
+    }
+}
@@ -0,0 +1,87 @@
+package codearchitect99.taskory.batch;
+
+import codearchitect99.taskory.batch.payload.BatchResponse;
+import codearchitect99.taskory.batch.payload.SubRequest;
+import codearchitect99.taskory.batch.payload.SubResponse;
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.setup.ArrangeTest;
+import codearchitect99.taskory.tag.payload.TagResponse;
+import codearchitect99.taskory.task.payload.TaskSummary;
+import codearchitect99.taskory.user.model.Role;
+import codearchitect99.taskory.user.model.User;
+import codearchitect99.taskory.user.payload.UserResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchServiceTest extends ArrangeTest {
+
+    @Autowired
+    private BatchService batchService;
+
+    private UserPrincipal principalWith(Role role) {
+        return new UserPrincipal(User.builder()
+                .id(tempUser.getId())
+                .username(tempUser.getUsername())
+                .roles(List.of(role))
+                .build());
+    }
+
+    /**
+     * Test for running the dashboard reads in one batch
+     */
+    @Test
+    @DisplayName("run read requests in a batch")
+    @SuppressWarnings("unchecked")
+    void execute() {
+//        Arrange
+        List<SubRequest> requests = List.of(
+                new SubRequest("tags", "/tag", null),
+                new SubRequest("tasks", "/task", null),
+                new SubRequest("upcoming", "/event/upcoming", Map.of("date", "2024-01-01T00:00")),
+                new SubRequest("profile", "/user/profile", null));
+
+//        Act
+        BatchResponse response = batchService.execute(tempUser, principalWith(Role.USER), requests);
+
+//        Assert
+        List<SubResponse> responses = response.getResponses();
+        assertEquals(List.of("tags", "tasks", "upcoming", "profile"), responses.stream().map(SubResponse::getId).toList());
+        responses.forEach(subResponse -> assertEquals(200, subResponse.getStatus(), subResponse.getId()));
+        assertTrue(((List<TagResponse>) responses.get(0).getBody()).stream().anyMatch(tag -> tag.getId().equals(tempTag.getId())));
+        assertTrue(((List<TaskSummary>) responses.get(1).getBody()).stream().anyMatch(task -> task.getId().equals(tempTask.getId())));
+        assertEquals(tempUser.getUsername(), ((UserResponse) responses.get(3).getBody()).getUsername());
+    }
+
+    /**
+     * Test for sub-requests that fail on their own
+     */
+    @Test
+    @DisplayName("fail sub-requests independently")
+    void executeWithFailures() {
+//        Arrange
+        List<SubRequest> memberRequests = List.of(
+                new SubRequest("unknown", "/task/1", null),
+                new SubRequest("missing", "/event/upcoming", null),
+                new SubRequest("invalid", "/event/upcoming", Map.of("date", "tomorrow")));
+        List<SubRequest> tempUserRequests = List.of(
+                new SubRequest("forbidden", "/tag", null),
+                new SubRequest("profile", "/user/profile", null));
+
+//        Act
+        BatchResponse memberResponse = batchService.execute(tempUser, principalWith(Role.USER), memberRequests);
+        BatchResponse tempUserResponse = batchService.execute(tempUser, principalWith(Role.TEMP_USER), tempUserRequests);
+
+//        Assert
+        assertEquals(List.of(404, 400, 400), memberResponse.getResponses().stream().map(SubResponse::getStatus).toList());
+        assertEquals(List.of(403, 200), tempUserResponse.getResponses().stream().map(SubResponse::getStatus).toList());
+        assertThrows(IllegalArgumentException.class, () ->
+                batchService.execute(tempUser, principalWith(Role.USER), Collections.nCopies(11, new SubRequest("tags", "/tag", null))));
+    }
+}
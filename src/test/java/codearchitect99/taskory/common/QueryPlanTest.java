@@ -0,0 +1,434 @@
+package codearchitect99.taskory.common;
+
+import codearchitect99.taskory.event.EventRepository;
+import codearchitect99.taskory.export.ExportCompression;
+import codearchitect99.taskory.export.ExportService;
+import codearchitect99.taskory.hashtag.HashtagRepository;
+import codearchitect99.taskory.hashtag.HashtagUsageRepository;
+import codearchitect99.taskory.monitoring.sql.SqlStatementCounter;
+import codearchitect99.taskory.monitoring.sql.SqlStatementCounter.ExecutedStatement;
+import codearchitect99.taskory.outbox.OutboxEventRepository;
+import codearchitect99.taskory.routine.repository.RoutineHistoryRepository;
+import codearchitect99.taskory.routine.repository.RoutineRepository;
+import codearchitect99.taskory.security.token.RefreshTokenRepository;
+import codearchitect99.taskory.security.token.RevokedTokenRepository;
+import codearchitect99.taskory.setup.ArrangeTest;
+import codearchitect99.taskory.tag.TagRepository;
+import codearchitect99.taskory.task.repository.TaskItemRepository;
+import codearchitect99.taskory.task.repository.TaskRepository;
+import codearchitect99.taskory.user.AccountDeletionJobRepository;
+import codearchitect99.taskory.user.SocialAccountRepository;
+import codearchitect99.taskory.user.UserRepository;
+import codearchitect99.taskory.user.model.AccountDeletionJob;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Query plans of the SQL Hibernate generates for the repository queries, against the migrated schema.
+ * The statements are recorded while the queries run, in a transaction that is rolled back,
+ * and explained afterwards with the parameters they were run with.
+ * The tables are seeded with the rows of other users first, so the optimizer weighs indexes against scans
+ * on realistic statistics. A full scan that remains means no index serves the predicate.
+ */
+class QueryPlanTest extends ArrangeTest {
+    private static final int SEED_USERS = 30;
+    private static final int TASKS_PER_USER = 100;
+    private static final int EVENTS_PER_USER = 20;
+    private static final int HASHTAGS_PER_USER = 10;
+    private static final int ROUTINE_HISTORIES_PER_USER = 50;
+    private static final int OUTBOX_EVENTS = 1000;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private static final List<Long> seedUserIds = new ArrayList<>();
+    private static final List<String> seedRevokedTokenIds = new ArrayList<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskItemRepository taskItemRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private HashtagRepository hashtagRepository;
+    @Autowired
+    private HashtagUsageRepository hashtagUsageRepository;
+    @Autowired
+    private RoutineRepository routineRepository;
+    @Autowired
+    private RoutineHistoryRepository routineHistoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SocialAccountRepository socialAccountRepository;
+    @Autowired
+    private AccountDeletionJobRepository accountDeletionJobRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private ExportService exportService;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        for (int u = 0; u < SEED_USERS; u++) {
+            seedUserIds.add(seedUser(jdbcTemplate, "seed-" + runId + "-" + u));
+        }
+
+        List<Object[]> revokedTokens = new ArrayList<>();
+        List<Object[]> outboxEvents = new ArrayList<>();
+        List<Object[]> deletionJobs = new ArrayList<>();
+        for (int i = 0; i < OUTBOX_EVENTS; i++) {
+            Long userId = seedUserIds.get(i % SEED_USERS);
+            outboxEvents.add(new Object[]{"TASK", (long) i, "CREATED", userId, NOW.minusHours(1), NOW.minusHours(1)});
+            if (i < 300) {
+                String tokenId = UUID.randomUUID().toString();
+                seedRevokedTokenIds.add(tokenId);
+                revokedTokens.add(new Object[]{tokenId, NOW.plusHours(1)});
+                // Jobs of accounts that are long gone, so no user row is needed
+                deletionJobs.add(new Object[]{UUID.randomUUID().toString(), -userId * 1000 - i, "COMPLETED", "USER", NOW, NOW});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO RevokedToken (token_id, expires_at) VALUES (?, ?)", revokedTokens);
+        jdbcTemplate.batchUpdate("INSERT INTO OutboxEvent (aggregate, aggregate_id, change_type, user_id, created_at, dispatched_at, attempts) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 0)", outboxEvents);
+        jdbcTemplate.batchUpdate("INSERT INTO AccountDeletionJob (job_id, user_id, state, step, deleted_rows, started_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, 0, ?, ?)", deletionJobs);
+
+        jdbcTemplate.execute("ANALYZE TABLE `User`, SocialAccount, Tag, Hashtag, HashtagUsage, Event, Event_hashtags, Task, Task_hashtags, TaskItem, " +
+                "Routine, RoutineHistory, RefreshToken, RevokedToken, AccountDeletionJob, OutboxEvent");
+    }
+
+    private static Long seedUser(JdbcTemplate jdbcTemplate, String username) {
+        jdbcTemplate.update("INSERT INTO `User` (username, disabled) VALUES (?, 0)", username);
+        Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM `User` WHERE username = ?", Long.class, username);
+        jdbcTemplate.update("INSERT INTO User_roles (user_id, roles) VALUES (?, 'USER')", userId);
+        jdbcTemplate.update("INSERT INTO SocialAccount (user_id, sub_id, username, provider) VALUES (?, ?, ?, 'google')",
+                userId, username, username + "@example.com");
+
+        jdbcTemplate.update("INSERT INTO Tag (user_id, title, color) VALUES (?, 'seed', 'BLUE'), (?, 'seed', 'RED')", userId, userId);
+        List<Long> tagIds = idsOf(jdbcTemplate, "SELECT tag_id FROM Tag WHERE user_id = ?", userId);
+
+        List<Object[]> hashtags = new ArrayList<>();
+        for (int i = 0; i < HASHTAGS_PER_USER; i++) {
+            hashtags.add(new Object[]{userId, "seed" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Hashtag (user_id, title) VALUES (?, ?)", hashtags);
+        List<Long> hashtagIds = idsOf(jdbcTemplate, "SELECT hashtag_id FROM Hashtag WHERE user_id = ?", userId);
+        List<Object[]> usages = new ArrayList<>();
+        for (int i = 0; i < hashtagIds.size(); i++) {
+            usages.add(new Object[]{hashtagIds.get(i), userId, (long) i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO HashtagUsage (hashtag_id, user_id, usage_count) VALUES (?, ?, ?)", usages);
+
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS_PER_USER; i++) {
+            LocalDateTime start = NOW.minusDays(EVENTS_PER_USER / 2 - i);
+            events.add(new Object[]{userId, "seed", tagIds.get(i % tagIds.size()), start, start.plusHours(2), NOW, NOW});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Event (user_id, title, tag_id, start_date_time, due_date_time, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", events);
+        List<Long> eventIds = idsOf(jdbcTemplate, "SELECT event_id FROM Event WHERE user_id = ?", userId);
+
+        List<Object[]> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS_PER_USER; i++) {
+            Long eventId = i % 2 == 0 ? eventIds.get(i % eventIds.size()) : null;
+            tasks.add(new Object[]{userId, "seed", eventId, tagIds.get(i % tagIds.size()), LocalDate.now().plusDays(i % 30), NOW, NOW});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Task (user_id, title, event_id, tag_id, status, deadline, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, 'TODO', ?, ?, ?)", tasks);
+        List<Long> taskIds = idsOf(jdbcTemplate, "SELECT task_id FROM Task WHERE user_id = ?", userId);
+
+        List<Object[]> taskLinks = new ArrayList<>();
+        List<Object[]> taskItems = new ArrayList<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            taskLinks.add(new Object[]{taskIds.get(i), hashtagIds.get(i % hashtagIds.size())});
+            taskItems.add(new Object[]{taskIds.get(i), "seed"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Task_hashtags (Task_task_id, hashtags_hashtag_id) VALUES (?, ?)", taskLinks);
+        jdbcTemplate.batchUpdate("INSERT INTO TaskItem (task_id, title, completed) VALUES (?, ?, 0)", taskItems);
+
+        List<Object[]> eventLinks = new ArrayList<>();
+        for (int i = 0; i < eventIds.size(); i++) {
+            eventLinks.add(new Object[]{eventIds.get(i), hashtagIds.get(i % hashtagIds.size())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Event_hashtags (Event_event_id, hashtags_hashtag_id) VALUES (?, ?)", eventLinks);
+
+        jdbcTemplate.update("INSERT INTO Routine (user_id, title, days) VALUES (?, 'seed', ?), (?, 'seed', ?)",
+                userId, new byte[7], userId, new byte[7]);
+        List<Long> routineIds = idsOf(jdbcTemplate, "SELECT routine_id FROM Routine WHERE user_id = ?", userId);
+        List<Object[]> histories = new ArrayList<>();
+        for (int i = 0; i < ROUTINE_HISTORIES_PER_USER; i++) {
+            histories.add(new Object[]{userId, routineIds.get(i % routineIds.size()), NOW.minusDays(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO RoutineHistory (user_id, routine_id, checked_at) VALUES (?, ?, ?)", histories);
+
+        List<Object[]> refreshTokens = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            refreshTokens.add(new Object[]{userId, UUID.randomUUID().toString().replace("-", ""), UUID.randomUUID().toString(), NOW.plusDays(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO RefreshToken (user_id, token_hash, family_id, expires_at, used) VALUES (?, ?, ?, ?, 0)", refreshTokens);
+        return userId;
+    }
+
+    private static List<Long> idsOf(JdbcTemplate jdbcTemplate, String sql, Long userId) {
+        return jdbcTemplate.queryForList(sql, Long.class, userId);
+    }
+
+    @AfterAll
+    static void removeSeed(@Autowired JdbcTemplate jdbcTemplate) {
+        for (Long userId : seedUserIds) {
+            jdbcTemplate.update("DELETE FROM Task_hashtags WHERE Task_task_id IN (SELECT task_id FROM Task WHERE user_id = ?)", userId);
+            jdbcTemplate.update("DELETE FROM Event_hashtags WHERE Event_event_id IN (SELECT event_id FROM Event WHERE user_id = ?)", userId);
+            jdbcTemplate.update("DELETE FROM RoutineHistory WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM SocialAccount WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM User_roles WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM OutboxEvent WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM AccountDeletionJob WHERE user_id BETWEEN ? AND ?", -userId * 1000 - 999, -userId * 1000);
+            // Tags, hashtags with their usage counters, events, tasks, routines and refresh tokens cascade
+            jdbcTemplate.update("DELETE FROM `User` WHERE user_id = ?", userId);
+        }
+        seedUserIds.clear();
+        for (String tokenId : seedRevokedTokenIds) {
+            jdbcTemplate.update("DELETE FROM RevokedToken WHERE token_id = ?", tokenId);
+        }
+        seedRevokedTokenIds.clear();
+    }
+
+    /**
+     * Runs the queries with an empty second-level cache, so every query reaches the database,
+     * and returns the statements they executed. Writes are rolled back.
+     */
+    private List<ExecutedStatement> record(Runnable queries) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        try (SqlStatementCounter counter = SqlStatementCounter.startRecording()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                queries.run();
+                status.setRollbackOnly();
+            });
+            return counter.getExecutedStatements();
+        }
+    }
+
+    private void assertNoFullScan(List<ExecutedStatement> statements) {
+        assertFalse(statements.isEmpty());
+        for (ExecutedStatement statement : statements) {
+            if (statement.sql().stripLeading().toLowerCase().startsWith("insert")) {
+                continue;
+            }
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters().toArray());
+            assertFalse(plan.isEmpty());
+            for (Map<String, Object> step : plan) {
+                Object table = step.get("table");
+                // Derived tables are scanned once materialized, their own plan is part of the same output
+                if (table == null || table.toString().startsWith("<")) {
+                    continue;
+                }
+                assertNotEquals("ALL", step.get("type"), () -> "Full scan of " + table + " in: " + statement.sql());
+            }
+        }
+    }
+
+    /**
+     * Test for the query plans of TaskRepository and TaskItemRepository
+     */
+    @Test
+    @DisplayName("task queries use indexes")
+    void taskQueries() {
+//        Arrange
+        Long userId = tempUser.getId();
+        List<Long> taskIds = List.of(tempTask.getId());
+
+//        Act
+        List<ExecutedStatement> statements = record(() -> {
+            taskRepository.findAllByUser(tempUser);
+            taskRepository.findAllByUserAndEvent(tempUser, tempEvent);
+            taskRepository.findAllByUserAndDeadline(tempUser, LocalDate.now());
+            taskRepository.findByTag_IdIn(List.of(tempTag.getId(), tempTag2.getId()));
+            taskRepository.findByTag(tempTag);
+            taskRepository.findByEvent(tempEvent);
+            taskRepository.findIdsByTagId(tempTag.getId(), PageRequest.of(0, 500));
+            taskRepository.findIdsByUserId(userId, PageRequest.of(0, 500));
+            taskRepository.findIdsByEventIdIn(List.of(tempEvent.getId()), PageRequest.of(0, 500));
+            taskItemRepository.findAllByTask(tempTask);
+            taskItemRepository.deleteAllByTaskIdIn(taskIds);
+            taskRepository.deleteHashtagLinksByTaskIdIn(taskIds);
+            taskRepository.deleteAllByIdIn(taskIds);
+        });
+
+//        Assert
+        assertNoFullScan(statements);
+    }
+
+    /**
+     * Test for the query plans of EventRepository
+     */
+    @Test
+    @DisplayName("event queries use indexes")
+    void eventQueries() {
+//        Arrange
+        Long userId = tempUser.getId();
+        List<Long> eventIds = List.of(tempEvent.getId());
+
+//        Act
+        List<ExecutedStatement> statements = record(() -> {
+            eventRepository.findAllByUser(tempUser);
+            eventRepository.findAllByUserInPeriod(tempUser, NOW, NOW.plusDays(7));
+            eventRepository.findOngoingAndUpcommingEvents(tempUser, NOW);
+            eventRepository.findByTag_IdIn(List.of(tempTag.getId(), tempTag2.getId()));
+            eventRepository.findByTag(tempTag);
+            eventRepository.findIdsByTagId(tempTag.getId(), PageRequest.of(0, 500));
+            eventRepository.findIdsByUserId(userId, PageRequest.of(0, 500));
+            eventRepository.deleteHashtagLinksByEventIdIn(eventIds);
+            eventRepository.deleteAllByIdIn(eventIds);
+        });
+
+//        Assert
+        assertNoFullScan(statements);
+    }
+
+    /**
+     * Test for the query plans of TagRepository, HashtagRepository and HashtagUsageRepository
+     */
+    @Test
+    @DisplayName("tag and hashtag queries use indexes")
+    void tagQueries() {
+//        Arrange
+        Long userId = tempUser.getId();
+        List<Long> hashtagIds = List.of(-1L);
+
+//        Act
+        List<ExecutedStatement> statements = record(() -> {
+            tagRepository.findAllByUser(tempUser);
+            tagRepository.findIdsByUserId(userId, PageRequest.of(0, 500));
+            tagRepository.deleteAllByIdIn(List.of(tempTag2.getId()));
+            hashtagRepository.findAllByUser(tempUser);
+            hashtagRepository.findIdsByUserId(userId, PageRequest.of(0, 500));
+            hashtagUsageRepository.findAllByUserIdOrderByUsageCountDesc(userId);
+            hashtagUsageRepository.addUsageCount(hashtagIds, 1);
+            hashtagUsageRepository.releaseUsageOfTasks(List.of(tempTask.getId()));
+            hashtagUsageRepository.releaseUsageOfEvents(List.of(tempEvent.getId()));
+            hashtagRepository.deleteAllByIdIn(hashtagIds);
+        });
+
+//        Assert
+        assertNoFullScan(statements);
+    }
+
+    /**
+     * Test for the query plans of RoutineRepository and RoutineHistoryRepository
+     */
+    @Test
+    @DisplayName("routine queries use indexes")
+    void routineQueries() {
+//        Arrange
+        Long userId = tempUser.getId();
+
+//        Act
+        List<ExecutedStatement> statements = record(() -> {
+            routineRepository.findAllByUser(tempUser);
+            routineRepository.findIdsByUserId(userId, PageRequest.of(0, 500));
+            routineHistoryRepository.findIdsByUserId(userId, PageRequest.of(0, 500));
+            routineHistoryRepository.deleteAllByIdIn(List.of(-1L));
+            routineRepository.deleteAllByIdIn(List.of(-1L));
+        });
+
+//        Assert
+        assertNoFullScan(statements);
+    }
+
+    /**
+     * Test for the query plans of the user, deletion job and token repositories
+     */
+    @Test
+    @DisplayName("user and token queries use indexes")
+    void userQueries() {
+//        Arrange
+        Long userId = tempUser.getId();
+
+//        Act
+        List<ExecutedStatement> statements = record(() -> {
+            userRepository.findByUsername(tempUser.getUsername());
+            userRepository.existsByUsername(tempUser.getUsername());
+            socialAccountRepository.findByUsername(tempUser.getUsername());
+            accountDeletionJobRepository.findByUserId(userId);
+            accountDeletionJobRepository.findAllByStateNot(AccountDeletionJob.State.COMPLETED);
+            refreshTokenRepository.findByTokenHash("unknown");
+            refreshTokenRepository.deleteAllByFamilyId("unknown");
+            refreshTokenRepository.deleteAllByUserId(userId);
+            refreshTokenRepository.deleteAllExpiredBefore(NOW.minusYears(10));
+            revokedTokenRepository.deleteAllExpiredBefore(NOW.minusYears(10));
+        });
+
+//        Assert
+        assertNoFullScan(statements);
+    }
+
+    /**
+     * Test for the query plans of OutboxEventRepository
+     */
+    @Test
+    @DisplayName("outbox queries use indexes")
+    void outboxQueries() {
+//        Act
+        List<ExecutedStatement> statements = record(() -> {
+            outboxEventRepository.findPending(PageRequest.of(0, 100));
+            outboxEventRepository.countByDispatchedAtIsNull();
+            outboxEventRepository.deleteAllDispatchedBefore(NOW.minusDays(7));
+        });
+
+//        Assert
+        assertNoFullScan(statements);
+    }
+
+    /**
+     * Test for the query plans of the account export
+     */
+    @Test
+    @DisplayName("export queries use indexes")
+    void exportQueries() {
+//        Act
+        List<ExecutedStatement> statements = record(() -> {
+            try {
+                exportService.export(tempUser.getId(), ExportCompression.NONE, OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+//        Assert
+        assertNoFullScan(statements);
+    }
+}
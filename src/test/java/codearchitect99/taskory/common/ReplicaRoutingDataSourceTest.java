@@ -0,0 +1,123 @@
+package codearchitect99.taskory.common;
+
+import codearchitect99.taskory.common.datasource.ReplicaLagMonitor;
+import codearchitect99.taskory.common.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_status (lag BIGINT)");
+        setReplicaLag(0);
+
+        lagMonitor = new ReplicaLagMonitor(new JdbcTemplate(replica), "SELECT lag FROM replica_status", "lag", 5);
+        lagMonitor.check();
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private static EmbeddedDatabase embeddedDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return database;
+    }
+
+    private void setReplicaLag(long seconds) {
+        JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(replica);
+        replicaJdbcTemplate.update("DELETE FROM replica_status");
+        replicaJdbcTemplate.update("INSERT INTO replica_status (lag) VALUES (?)", seconds);
+    }
+
+    private String whoami(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    /**
+     * Test for routing by the read-only flag of the transaction
+     */
+    @Test
+    @DisplayName("read-only transactions use the replica")
+    void routeByReadOnly() {
+//        Act and Assert
+        assertEquals("replica", whoami(readOnlyTransaction));
+        assertEquals("primary", whoami(writeTransaction));
+        assertEquals(1, routingDataSource.getRoutes(ReplicaRoutingDataSource.Pool.REPLICA));
+    }
+
+    /**
+     * Test for falling back to the primary while the replica lags
+     */
+    @Test
+    @DisplayName("lagging replica falls back to the primary")
+    void fallbackOnLag() {
+//        Arrange
+        setReplicaLag(60);
+        lagMonitor.check();
+
+//        Act and Assert
+        assertEquals("primary", whoami(readOnlyTransaction));
+        assertEquals(1, routingDataSource.getFallbacks());
+        assertEquals(60.0, lagMonitor.getLagSeconds());
+
+        setReplicaLag(1);
+        lagMonitor.check();
+        assertEquals("replica", whoami(readOnlyTransaction));
+    }
+
+    /**
+     * Test for reading own writes from the primary
+     */
+    @Test
+    @DisplayName("reads after a write stay on the primary")
+    void pinAfterWrite() {
+//        Act
+        whoami(writeTransaction);
+
+//        Assert
+        assertEquals("primary", whoami(readOnlyTransaction));
+        ReplicaRoutingDataSource.unpin();
+        assertEquals("replica", whoami(readOnlyTransaction));
+    }
+}
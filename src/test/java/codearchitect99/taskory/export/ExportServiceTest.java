@@ -0,0 +1,153 @@
+package codearchitect99.taskory.export;
+
+import codearchitect99.taskory.setup.ArrangeTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportServiceTest extends ArrangeTest {
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${app.export.max-concurrent}")
+    private int maxConcurrent;
+
+    private byte[] export(ExportCompression compression) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportService.export(tempUser.getId(), compression, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Test for NDJSON export with one typed line per row
+     */
+    @Test
+    @DisplayName("Export account as NDJSON")
+    void export_ndjson() throws IOException {
+//        Act
+        String ndjson = new String(export(ExportCompression.NONE), StandardCharsets.UTF_8);
+
+//        Assert
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertTrue(lines.stream().anyMatch(line -> line.get("type").asText().equals("task")
+                && line.get("id").asLong() == tempTask.getId()
+                && line.get("tagId").asLong() == tempTag.getId()));
+        assertTrue(lines.stream().anyMatch(line -> line.get("type").asText().equals("event")
+                && line.get("id").asLong() == tempEvent.getId()));
+        assertEquals(2, lines.stream().filter(line -> line.get("type").asText().equals("tag")).count());
+    }
+
+    /**
+     * Test for compressed exports having the same content
+     */
+    @Test
+    @DisplayName("Export account compressed")
+    void export_compressed() throws IOException {
+//        Arrange
+        byte[] plain = export(ExportCompression.NONE);
+
+//        Act
+        byte[] gzip = export(ExportCompression.GZIP);
+        byte[] zip = export(ExportCompression.ZIP);
+
+//        Assert
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(plain, inputStream.readAllBytes());
+        }
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream inputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = inputStream.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        assertTrue(entries.containsAll(List.of("task.ndjson", "event.ndjson", "tag.ndjson", "routine_history.ndjson")));
+    }
+
+    /**
+     * Test for the limit of concurrent exports
+     */
+    @Test
+    @DisplayName("Limit concurrent exports")
+    void tryReserveSlot() {
+//        Act
+        int reserved = 0;
+        while (reserved <= maxConcurrent && exportService.tryReserveSlot()) {
+            reserved++;
+        }
+        boolean rejected = !exportService.tryReserveSlot();
+        exportService.releaseSlot();
+        boolean reservedAfterRelease = exportService.tryReserveSlot();
+        for (int i = 0; i < reserved; i++) {
+            exportService.releaseSlot();
+        }
+
+//        Assert
+        assertEquals(maxConcurrent, reserved);
+        assertTrue(rejected);
+        assertTrue(reservedAfterRelease);
+    }
+
+    /**
+     * Test for the record that ends a complete NDJSON export
+     */
+    @Test
+    @DisplayName("End NDJSON export with an end record")
+    void export_endRecord() throws IOException {
+//        Act
+        String[] lines = new String(export(ExportCompression.NONE), StandardCharsets.UTF_8).split("\n");
+
+//        Assert
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals(ExportService.END_TYPE, last.get("type").asText());
+        assertEquals(lines.length - 1, last.get("rows").asLong());
+        for (int i = 0; i < lines.length - 1; i++) {
+            assertNotEquals(ExportService.END_TYPE, objectMapper.readTree(lines[i]).get("type").asText());
+        }
+    }
+
+    /**
+     * Test for aborting an export that made no progress
+     */
+    @Test
+    @DisplayName("Abort stalled export")
+    void abortIfStalled() throws IOException {
+//        Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ProgressOutputStream progress = new ProgressOutputStream(outputStream, 0);
+        progress.write(1);
+
+//        Act
+        boolean abortedWhileProgressing = progress.abortIfStalled(System.nanoTime(), Duration.ofMinutes(1));
+        boolean aborted = progress.abortIfStalled(System.nanoTime() + Duration.ofMinutes(2).toNanos(), Duration.ofMinutes(1));
+        progress.finish();
+
+//        Assert
+        assertFalse(abortedWhileProgressing);
+        assertTrue(aborted);
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertThrows(IOException.class, () -> progress.write(2));
+        assertEquals(1, outputStream.size());
+    }
+}
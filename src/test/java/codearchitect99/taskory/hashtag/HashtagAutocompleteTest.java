@@ -0,0 +1,97 @@
+package codearchitect99.taskory.hashtag;
+
+import codearchitect99.taskory.setup.ArrangeTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashtagAutocompleteTest extends ArrangeTest {
+
+    @Autowired
+    private HashtagService hashtagService;
+    @Autowired
+    private HashtagAutocompleteIndex autocompleteIndex;
+    @Autowired
+    private HashtagUsageRepository hashtagUsageRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Test for prefix matching, case-insensitive
+     */
+    @Test
+    @DisplayName("autocomplete by prefix")
+    void autocomplete() throws HashtagNotFoundException {
+//        Arrange
+        HashtagResponse study = hashtagService.save(tempUser, new SaveHashtagRequest("Study"));
+        HashtagResponse stuff = hashtagService.save(tempUser, new SaveHashtagRequest("stuff"));
+        HashtagResponse work = hashtagService.save(tempUser, new SaveHashtagRequest("work"));
+
+//        Act
+        List<HashtagResponse> responses = hashtagService.autocomplete(tempUser, "stu", 10);
+
+//        Assert
+        assertEquals(List.of(study.getId(), stuff.getId()), responses.stream().map(HashtagResponse::getId).toList());
+        assertEquals(1, hashtagService.autocomplete(tempUser, "stu", 1).size());
+
+        hashtagService.deleteById(study.getId());
+        hashtagService.deleteById(stuff.getId());
+        hashtagService.deleteById(work.getId());
+    }
+
+    /**
+     * Test for keeping the index current after update and delete
+     */
+    @Test
+    @DisplayName("autocomplete after update and delete")
+    void autocomplete_afterUpdateAndDelete() throws HashtagNotFoundException {
+//        Arrange
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("reading"));
+        hashtagService.autocomplete(tempUser, "", 10);
+
+//        Act
+        hashtagService.updateHashtag(hashtag.getId(), new SaveHashtagRequest("writing"));
+
+//        Assert
+        assertTrue(hashtagService.autocomplete(tempUser, "read", 10).isEmpty());
+        assertEquals(hashtag.getId(), hashtagService.autocomplete(tempUser, "wri", 10).get(0).getId());
+
+        hashtagService.deleteById(hashtag.getId());
+        assertTrue(hashtagService.autocomplete(tempUser, "wri", 10).isEmpty());
+    }
+
+    /**
+     * Test for a usage change that commits while the index is read, which must not be counted twice
+     */
+    @Test
+    @DisplayName("autocomplete does not count a usage change read by the index build twice")
+    void autocomplete_usageChangeDuringBuild() throws HashtagNotFoundException {
+//        Arrange
+        Long userId = tempUser.getId();
+        HashtagResponse first = hashtagService.save(tempUser, new SaveHashtagRequest("race first"));
+        HashtagResponse second = hashtagService.save(tempUser, new SaveHashtagRequest("race second"));
+        transactionTemplate.executeWithoutResult(status -> hashtagUsageRepository.addUsageCount(List.of(second.getId()), 2));
+        Long stamp = transactionTemplate.execute(status -> {
+            hashtagUsageRepository.addUsageCount(List.of(first.getId()), 1);
+            return autocompleteIndex.stampUsageChange();
+        });
+        autocompleteIndex.invalidate(userId);
+        hashtagService.autocomplete(tempUser, "race", 10);
+
+//        Act
+        autocompleteIndex.addUsage(userId, first.getId(), 1, stamp);
+
+//        Assert
+        assertEquals(List.of(second.getId(), first.getId()),
+                hashtagService.autocomplete(tempUser, "race", 10).stream().map(HashtagResponse::getId).toList());
+
+        hashtagService.deleteById(first.getId());
+        hashtagService.deleteById(second.getId());
+    }
+}
@@ -0,0 +1,106 @@
+package codearchitect99.taskory.hashtag;
+
+import codearchitect99.taskory.setup.ArrangeTest;
+import codearchitect99.taskory.task.payload.SaveTaskRequest;
+import codearchitect99.taskory.task.payload.TaskResponse;
+import codearchitect99.taskory.task.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashtagSecondLevelCacheTest extends ArrangeTest {
+
+    @Autowired
+    private HashtagService hashtagService;
+    @Autowired
+    private HashtagRepository hashtagRepository;
+    @Autowired
+    private HashtagUsageService hashtagUsageService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String titleIn(List<HashtagResponse> hashtags, Long hashtagId) {
+        return hashtags.stream()
+                .filter(hashtag -> hashtag.getId().equals(hashtagId))
+                .findFirst().orElseThrow()
+                .getTitle();
+    }
+
+    /**
+     * Test for second-level cache invalidation after updating a hashtag
+     */
+    @Test
+    @DisplayName("update a cached hashtag")
+    void updateCachedHashtag() throws HashtagNotFoundException {
+//        Arrange
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("cached"));
+        hashtagService.findAll(tempUser);
+        hashtagRepository.findById(hashtag.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Hashtag.class, hashtag.getId()));
+
+//        Act
+        hashtagService.updateHashtag(hashtag.getId(), new SaveHashtagRequest("updated"));
+
+//        Assert
+        assertEquals("updated", hashtagRepository.findById(hashtag.getId()).orElseThrow().getTitle());
+        assertEquals("updated", titleIn(hashtagService.findAll(tempUser), hashtag.getId()));
+
+        hashtagService.deleteById(hashtag.getId());
+    }
+
+    /**
+     * Test for the task write path after a cached hashtag was updated and deleted
+     */
+    @Test
+    @DisplayName("save tasks with a cached hashtag after it changed")
+    void saveTaskWithChangedHashtag() throws Exception {
+//        Arrange
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("cached"));
+        hashtagRepository.findAllCachedById(List.of(hashtag.getId()));
+
+//        Act
+        hashtagService.updateHashtag(hashtag.getId(), new SaveHashtagRequest("updated"));
+        TaskResponse task = taskService.save(tempUser, new SaveTaskRequest("cached hashtag task", null, tempTag.getId(),
+                List.of(hashtag.getId()), "", "BACKLOG", null, null));
+        taskService.deleteById(task.getId());
+        hashtagService.deleteById(hashtag.getId());
+
+//        Assert
+        assertEquals("updated", titleIn(task.getHashtags(), hashtag.getId()));
+        assertTrue(hashtagRepository.findAllCachedById(List.of(hashtag.getId(), hashtag.getId())).isEmpty());
+    }
+
+    /**
+     * Test for cached hashtags staying cached while their usage counter changes
+     */
+    @Test
+    @DisplayName("count uses of a cached hashtag")
+    void usageCountOfCachedHashtag() throws Exception {
+//        Arrange
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("counted"));
+        hashtagRepository.findById(hashtag.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Hashtag.class, hashtag.getId()));
+
+//        Act
+        TaskResponse task = taskService.save(tempUser, new SaveTaskRequest("cached usage task", null, tempTag.getId(),
+                List.of(hashtag.getId()), "", "BACKLOG", null, null));
+
+//        Assert
+        assertTrue(entityManagerFactory.getCache().contains(Hashtag.class, hashtag.getId()));
+        assertEquals(1, hashtagUsageService.findUsage(tempUser).stream()
+                .filter(usage -> usage.getId().equals(hashtag.getId()))
+                .findFirst().orElseThrow()
+                .getUsageCount());
+
+        taskService.deleteById(task.getId());
+        hashtagService.deleteById(hashtag.getId());
+    }
+}
@@ -0,0 +1,106 @@
+package codearchitect99.taskory.hashtag;
+
+import codearchitect99.taskory.setup.ArrangeTest;
+import codearchitect99.taskory.task.payload.SaveTaskRequest;
+import codearchitect99.taskory.task.payload.TaskResponse;
+import codearchitect99.taskory.task.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HashtagUsageTest extends ArrangeTest {
+
+    @Autowired
+    private HashtagService hashtagService;
+    @Autowired
+    private HashtagUsageService hashtagUsageService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private HashtagRepository hashtagRepository;
+
+    private long usageOf(Long hashtagId) {
+        return hashtagUsageService.findUsage(tempUser).stream()
+                .filter(usage -> usage.getId().equals(hashtagId))
+                .findFirst().orElseThrow()
+                .getUsageCount();
+    }
+
+    /**
+     * Test for counters following attach, detach and task deletion
+     */
+    @Test
+    @DisplayName("usage counters")
+    void usageCount() throws Exception {
+//        Arrange
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("usage"));
+        SaveTaskRequest attach = new SaveTaskRequest("usage task", null, tempTag.getId(), List.of(hashtag.getId()), "", "BACKLOG", null, null);
+        SaveTaskRequest detach = new SaveTaskRequest("usage task", null, tempTag.getId(), List.of(), "", "BACKLOG", null, null);
+
+//        Act
+        TaskResponse first = taskService.save(tempUser, attach);
+        TaskResponse second = taskService.save(tempUser, attach);
+
+//        Assert
+        assertEquals(2, usageOf(hashtag.getId()));
+
+        taskService.updateTask(second.getId(), detach);
+        assertEquals(1, usageOf(hashtag.getId()));
+
+        taskService.deleteById(first.getId());
+        assertEquals(0, usageOf(hashtag.getId()));
+
+        taskService.deleteById(second.getId());
+        hashtagService.deleteById(hashtag.getId());
+    }
+
+    /**
+     * Test for counters that are released more often than they were counted
+     */
+    @Test
+    @DisplayName("usage counters do not go below zero")
+    void usageCountClampedAtZero() throws Exception {
+//        Arrange
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("uncounted"));
+        Hashtag entity = hashtagRepository.findById(hashtag.getId()).orElseThrow();
+
+//        Act
+        hashtagUsageService.recordChange(List.of(entity, entity), null);
+
+//        Assert
+        assertEquals(0, usageOf(hashtag.getId()));
+
+        hashtagService.deleteById(hashtag.getId());
+    }
+
+    /**
+     * Test for trending order by recent use
+     */
+    @Test
+    @DisplayName("trending hashtags")
+    void trending() throws Exception {
+//        Arrange
+        HashtagResponse often = hashtagService.save(tempUser, new SaveHashtagRequest("often"));
+        HashtagResponse rarely = hashtagService.save(tempUser, new SaveHashtagRequest("rarely"));
+
+//        Act
+        TaskResponse first = taskService.save(tempUser, new SaveTaskRequest("trend task", null, tempTag.getId(),
+                List.of(often.getId(), rarely.getId()), "", "BACKLOG", null, null));
+        TaskResponse second = taskService.save(tempUser, new SaveTaskRequest("trend task", null, tempTag.getId(),
+                List.of(often.getId()), "", "BACKLOG", null, null));
+        List<HashtagTrendResponse> trending = hashtagUsageService.findTrending(tempUser, 2);
+
+//        Assert
+        assertEquals(List.of(often.getId(), rarely.getId()), trending.stream().map(HashtagTrendResponse::getId).toList());
+        assertEquals(1, hashtagUsageService.findTrending(tempUser, 1).size());
+
+        taskService.deleteById(first.getId());
+        taskService.deleteById(second.getId());
+        hashtagService.deleteById(often.getId());
+        hashtagService.deleteById(rarely.getId());
+    }
+}
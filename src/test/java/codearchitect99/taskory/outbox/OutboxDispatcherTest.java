@@ -0,0 +1,202 @@
+package codearchitect99.taskory.outbox;
+
+import codearchitect99.taskory.hashtag.HashtagNotFoundException;
+import codearchitect99.taskory.hashtag.HashtagResponse;
+import codearchitect99.taskory.hashtag.HashtagService;
+import codearchitect99.taskory.hashtag.SaveHashtagRequest;
+import codearchitect99.taskory.setup.ArrangeTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxDispatcherTest extends ArrangeTest {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private HashtagService hashtagService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RecordingSubscriber subscriber;
+    @Autowired
+    private CountingSubscriber countingSubscriber;
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+
+        @Bean
+        CountingSubscriber countingSubscriber() {
+            return new CountingSubscriber();
+        }
+    }
+
+    static class CountingSubscriber implements DomainEventSubscriber {
+        private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvents(List<DomainEvent> events) {
+            received.addAll(events);
+        }
+
+        long count(DomainEvent.Aggregate aggregate, Long aggregateId, DomainEvent.Change change) {
+            return received.stream().filter(event ->
+                    event.aggregate() == aggregate && event.aggregateId().equals(aggregateId) && event.change() == change).count();
+        }
+    }
+
+    static class RecordingSubscriber implements DomainEventSubscriber {
+        private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void onEvents(List<DomainEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("Subscriber failure");
+            }
+            received.addAll(events);
+        }
+
+        boolean hasReceived(DomainEvent.Aggregate aggregate, Long aggregateId, DomainEvent.Change change) {
+            return received.stream().anyMatch(event ->
+                    event.aggregate() == aggregate && event.aggregateId().equals(aggregateId) && event.change() == change);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriber.failing = false;
+        outboxDispatcher.dispatch();
+    }
+
+    /**
+     * Test for delivery of the events published by a service
+     */
+    @Test
+    @DisplayName("deliver events of a service")
+    void deliverServiceEvents() throws HashtagNotFoundException {
+//        Arrange
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("published"));
+        hashtagService.deleteById(hashtag.getId());
+
+//        Act
+        outboxDispatcher.dispatch();
+
+//        Assert
+        assertTrue(subscriber.hasReceived(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.CREATED));
+        assertTrue(subscriber.hasReceived(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.DELETED));
+        assertEquals(0, outboxEventRepository.countByDispatchedAtIsNull());
+    }
+
+    /**
+     * Test for redelivery after a subscriber failed
+     */
+    @Test
+    @DisplayName("redeliver after a failure")
+    void redeliverAfterFailure() throws HashtagNotFoundException {
+//        Arrange
+        subscriber.failing = true;
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("retried"));
+        outboxDispatcher.dispatch();
+        assertFalse(subscriber.hasReceived(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.CREATED));
+        assertTrue(outboxEventRepository.countByDispatchedAtIsNull() > 0);
+
+//        Act
+        subscriber.failing = false;
+        outboxDispatcher.dispatch();
+
+//        Assert
+        assertTrue(subscriber.hasReceived(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.CREATED));
+        assertEquals(0, outboxEventRepository.countByDispatchedAtIsNull());
+
+        hashtagService.deleteById(hashtag.getId());
+    }
+
+    /**
+     * Test for retrying only the subscriber that failed
+     */
+    @Test
+    @DisplayName("retry only the failing subscriber")
+    void retryFailingSubscriberOnly() throws HashtagNotFoundException {
+//        Arrange
+        subscriber.failing = true;
+        HashtagResponse hashtag = hashtagService.save(tempUser, new SaveHashtagRequest("isolated"));
+        outboxDispatcher.dispatch();
+        assertEquals(1, countingSubscriber.count(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.CREATED));
+
+//        Act
+        subscriber.failing = false;
+        outboxDispatcher.dispatch();
+
+//        Assert
+        assertTrue(subscriber.hasReceived(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.CREATED));
+        assertEquals(1, countingSubscriber.count(DomainEvent.Aggregate.HASHTAG, hashtag.getId(), DomainEvent.Change.CREATED));
+        assertEquals(0, outboxEventRepository.countByDispatchedAtIsNull());
+
+        hashtagService.deleteById(hashtag.getId());
+    }
+
+    /**
+     * Test for counting a redelivered event once
+     */
+    @Test
+    @DisplayName("count redelivered events once")
+    void countRedeliveredEventOnce() {
+//        Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DomainEventMetrics metrics = new DomainEventMetrics(registry);
+        DomainEvent event = new DomainEvent(1L, DomainEvent.Aggregate.TASK, tempTask.getId(), DomainEvent.Change.UPDATED,
+                tempUser.getId(), LocalDateTime.now(ZoneOffset.UTC));
+
+//        Act
+        metrics.onEvents(List.of(event, event));
+        metrics.onEvents(List.of(event));
+
+//        Assert
+        assertEquals(1, registry.get("taskory.domain.events").tag("aggregate", "task").tag("change", "updated").counter().count());
+        assertEquals(1, registry.get("taskory.outbox.lag").timer().count());
+    }
+
+    /**
+     * Test for events of a rolled back transaction
+     */
+    @Test
+    @DisplayName("drop events of a rollback")
+    void dropEventsOfRollback() {
+//        Arrange
+        Long aggregateId = -tempTask.getId();
+
+//        Act
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventPublisher.publish(DomainEvent.Aggregate.TASK, aggregateId, DomainEvent.Change.UPDATED, tempUser.getId());
+            status.setRollbackOnly();
+        });
+        outboxDispatcher.dispatch();
+
+//        Assert
+        assertFalse(subscriber.hasReceived(DomainEvent.Aggregate.TASK, aggregateId, DomainEvent.Change.UPDATED));
+        assertThrows(IllegalTransactionStateException.class, () ->
+                domainEventPublisher.publish(DomainEvent.Aggregate.TASK, aggregateId, DomainEvent.Change.UPDATED, tempUser.getId()));
+    }
+}
@@ -0,0 +1,107 @@
+package codearchitect99.taskory.security;
+
+import codearchitect99.taskory.security.cookie.CookieUtil;
+import codearchitect99.taskory.security.cookie.HttpCookieOAuth2AuthorizationRequestRepository;
+import codearchitect99.taskory.security.cookie.OAuth2AuthorizationRequestCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OAuth2AuthorizationRequestCodecTest {
+
+    private final OAuth2AuthorizationRequestCodec codec =
+            new OAuth2AuthorizationRequestCodec(Base64.getEncoder().encodeToString(new byte[32]));
+
+    private final OAuth2AuthorizationRequest authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+            .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+            .clientId("client-id")
+            .redirectUri("http://localhost:8080/oauth2/code/google")
+            .scopes(Set.of("openid", "email"))
+            .state("state")
+            .additionalParameters(Map.of("nonce", "hashed-nonce"))
+            .attributes(Map.of("registration_id", "google", "nonce", "nonce"))
+            .build();
+
+    /**
+     * Test for encode and decode round trip
+     */
+    @Test
+    @DisplayName("Round trip authorization request")
+    void roundTrip() {
+//        Act
+        OAuth2AuthorizationRequest decoded = codec.decode(codec.encode(authorizationRequest)).orElseThrow();
+
+//        Assert
+        assertEquals(authorizationRequest.getAuthorizationUri(), decoded.getAuthorizationUri());
+        assertEquals(authorizationRequest.getClientId(), decoded.getClientId());
+        assertEquals(authorizationRequest.getRedirectUri(), decoded.getRedirectUri());
+        assertEquals(authorizationRequest.getScopes(), decoded.getScopes());
+        assertEquals(authorizationRequest.getState(), decoded.getState());
+        assertEquals(authorizationRequest.getAdditionalParameters(), decoded.getAdditionalParameters());
+        assertEquals(authorizationRequest.getAttributes(), decoded.getAttributes());
+        assertEquals(authorizationRequest.getAuthorizationRequestUri(), decoded.getAuthorizationRequestUri());
+    }
+
+    /**
+     * Test for rejecting a tampered cookie
+     */
+    @Test
+    @DisplayName("Reject tampered authorization request")
+    void tampered() {
+//        Arrange
+        byte[] bytes = Base64.getUrlDecoder().decode(codec.encode(authorizationRequest));
+        bytes[5] ^= 1;
+
+//        Act and Assert
+        assertTrue(codec.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes)).isEmpty());
+        assertTrue(codec.decode("not a cookie").isEmpty());
+    }
+
+    /**
+     * Test for rejecting a cookie replayed after its Max-Age
+     */
+    @Test
+    @DisplayName("Reject expired authorization request")
+    void expired() {
+//        Arrange
+        String key = Base64.getEncoder().encodeToString(new byte[32]);
+        Instant issuedAt = Instant.parse("2024-01-01T00:00:00Z");
+        String value = new OAuth2AuthorizationRequestCodec(key, Clock.fixed(issuedAt, ZoneOffset.UTC)).encode(authorizationRequest);
+        Duration maxAge = Duration.ofSeconds(HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_EXPIRE_SECONDS);
+
+//        Act
+        Optional<OAuth2AuthorizationRequest> withinMaxAge = new OAuth2AuthorizationRequestCodec(key,
+                Clock.fixed(issuedAt.plus(maxAge).minusSeconds(1), ZoneOffset.UTC)).decode(value);
+        Optional<OAuth2AuthorizationRequest> afterMaxAge = new OAuth2AuthorizationRequestCodec(key,
+                Clock.fixed(issuedAt.plus(maxAge).plusSeconds(1), ZoneOffset.UTC)).decode(value);
+
+//        Assert
+        assertTrue(withinMaxAge.isPresent());
+        assertTrue(afterMaxAge.isEmpty());
+    }
+
+    /**
+     * Test for the cookie being smaller than the Java serialized request
+     */
+    @Test
+    @DisplayName("Encode smaller than Java serialization")
+    void cookieSize() {
+//        Act
+        int encodedSize = codec.encode(authorizationRequest).length();
+        int serializedSize = CookieUtil.serialize(authorizationRequest).length();
+
+//        Assert
+        assertTrue(encodedSize * 2 < serializedSize, "codec " + encodedSize + " bytes, serialization " + serializedSize + " bytes");
+    }
+}
@@ -0,0 +1,88 @@
+package codearchitect99.taskory.security;
+
+import codearchitect99.taskory.security.token.*;
+import codearchitect99.taskory.setup.ArrangeTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshTokenServiceTest extends ArrangeTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    @Autowired
+    private RefreshTokenCookie refreshTokenCookie;
+
+    /**
+     * Test for rotation and reuse detection
+     */
+    @Test
+    @DisplayName("Rotate refresh token and revoke family on reuse")
+    void rotate_reuse() throws InvalidRefreshTokenException {
+//        Arrange
+        String refreshToken = refreshTokenService.issue(tempUser.getId());
+
+//        Act
+        IssuedTokens rotated = refreshTokenService.rotate(refreshToken);
+
+//        Assert
+        assertEquals(tempUser.getId(), tokenService.verifyToken(rotated.accessToken()).orElseThrow().userId());
+        assertNotEquals(refreshToken, rotated.refreshToken());
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(refreshToken));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(rotated.refreshToken()));
+    }
+
+    /**
+     * Test for access token revocation
+     */
+    @Test
+    @DisplayName("Revoke access token")
+    void revoke() {
+//        Arrange
+        VerifiedToken verifiedToken = tokenService.verifyToken(tokenService.createToken(tempUser.getId())).orElseThrow();
+
+//        Act
+        tokenRevocationService.revoke(verifiedToken.tokenId(), verifiedToken.expiresAt());
+
+//        Assert
+        assertTrue(tokenRevocationService.isRevoked(verifiedToken.tokenId()));
+        assertFalse(tokenRevocationService.isRevoked(UUID.randomUUID().toString()));
+
+        tokenRevocationService.rebuild();
+        assertTrue(tokenRevocationService.isRevoked(verifiedToken.tokenId()));
+    }
+
+    /**
+     * Test for the attributes of the refresh token cookie
+     */
+    @Test
+    @DisplayName("Write and clear refresh token cookie")
+    void refreshTokenCookie() {
+//        Arrange
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        MockHttpServletResponse cleared = new MockHttpServletResponse();
+
+//        Act
+        refreshTokenCookie.write(written, "refresh");
+        refreshTokenCookie.clear(cleared);
+
+//        Assert
+        String cookie = written.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(cookie.startsWith(RefreshTokenCookie.NAME + "=refresh;"), cookie);
+        assertTrue(cookie.contains("Path=/api/v1/auth"), cookie);
+        assertTrue(cookie.contains("Secure"), cookie);
+        assertTrue(cookie.contains("HttpOnly"), cookie);
+        assertTrue(cookie.contains("SameSite=Strict"), cookie);
+        assertTrue(cleared.getHeader(HttpHeaders.SET_COOKIE).contains("Max-Age=0"));
+    }
+}
@@ -0,0 +1,34 @@
+package codearchitect99.taskory.security.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    /**
+     * Test for charging the further sub-requests of a batch to the read bucket
+     */
+    @Test
+    @DisplayName("Charge further reads of a batch")
+    void tryConsumeReads() {
+//        Arrange
+        RateLimitFilter filter = new RateLimitFilter(true, "/api/v1", 5, 1, 5, 1, 100, Duration.ofMinutes(10));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/batch");
+        RateLimitFilter disabled = new RateLimitFilter(false, "/api/v1", 5, 1, 5, 1, 100, Duration.ofMinutes(10));
+
+//        Act
+        long taken = filter.tryConsumeReads(request, 4);
+        long rejected = filter.tryConsumeReads(request, 4);
+
+//        Assert
+        assertEquals(0, taken);
+        assertTrue(rejected > 0);
+        assertEquals("1", RateLimitFilter.retryAfterSeconds(1));
+        assertEquals(0, disabled.tryConsumeReads(request, 100));
+    }
+}
@@ -0,0 +1,78 @@
+package codearchitect99.taskory.security.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    /**
+     * Test for burst up to capacity and retry delay once empty
+     */
+    @Test
+    @DisplayName("Reject after burst with retry delay")
+    void tryConsume_burst() {
+//        Arrange
+        TokenBucket bucket = new TokenBucket(3, 2, 1_000);
+
+//        Act
+        long first = bucket.tryConsume(1_000);
+        long second = bucket.tryConsume(1_000);
+        long third = bucket.tryConsume(1_000);
+        long rejected = bucket.tryConsume(1_000);
+
+//        Assert
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(0, third);
+        assertEquals(500, rejected);
+    }
+
+    /**
+     * Test for refill over time, capped at capacity
+     */
+    @Test
+    @DisplayName("Refill over time up to capacity")
+    void tryConsume_refill() {
+//        Arrange
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+//        Act
+        long afterRefill = bucket.tryConsume(1_000);
+        long emptyAgain = bucket.tryConsume(1_000);
+        long afterIdle = bucket.tryConsume(60_000);
+        long secondAfterIdle = bucket.tryConsume(60_000);
+        long thirdAfterIdle = bucket.tryConsume(60_000);
+
+//        Assert
+        assertEquals(0, afterRefill);
+        assertEquals(1_000, emptyAgain);
+        assertEquals(0, afterIdle);
+        assertEquals(0, secondAfterIdle);
+        assertTrue(thirdAfterIdle > 0);
+    }
+
+    /**
+     * Test for taking several tokens at once, all or none
+     */
+    @Test
+    @DisplayName("Take several tokens at once")
+    void tryConsume_multiple() {
+//        Arrange
+        TokenBucket bucket = new TokenBucket(5, 2, 0);
+
+//        Act
+        long taken = bucket.tryConsume(4, 0);
+        long rejected = bucket.tryConsume(2, 0);
+        long single = bucket.tryConsume(0);
+
+//        Assert
+        assertEquals(0, taken);
+        assertEquals(500, rejected);
+        assertEquals(0, single);
+        assertThrows(IllegalArgumentException.class, () -> bucket.tryConsume(6, 0));
+    }
+}
@@ -0,0 +1,32 @@
+package codearchitect99.taskory.security.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocialAccountCacheTest {
+
+    /**
+     * Test for evicting the social accounts of a deleted user
+     */
+    @Test
+    @DisplayName("Evict social accounts of a user")
+    void evictUser() {
+//        Arrange
+        SocialAccountCache cache = new SocialAccountCache(100, Duration.ofHours(1));
+        cache.put("first@example.com", new SocialAccountCache.LinkedAccount(1L, "sub-1"));
+        cache.put("second@example.com", new SocialAccountCache.LinkedAccount(1L, "sub-2"));
+        cache.put("other@example.com", new SocialAccountCache.LinkedAccount(2L, "sub-3"));
+
+//        Act
+        cache.evictUser(1L);
+
+//        Assert
+        assertTrue(cache.find("first@example.com").isEmpty());
+        assertTrue(cache.find("second@example.com").isEmpty());
+        assertEquals(2L, cache.find("other@example.com").orElseThrow().userId());
+    }
+}
@@ -0,0 +1,53 @@
+package codearchitect99.taskory.setup;
+
+import codearchitect99.taskory.monitoring.sql.SqlStatementCounter;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Assertions on the number of SQL statements a service call runs, to catch N+1 query patterns in tests.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Runs the action and asserts it ran at most the given number of SQL statements.
+     *
+     * @param maxStatements the statement budget of the action.
+     * @param action the service call to count.
+     * @return the result of the action.
+     */
+    public static <T> T assertMaxStatements(long maxStatements, ThrowingSupplier<T> action) {
+        try (SqlStatementCounter counter = SqlStatementCounter.start()) {
+            T result = get(action);
+            assertTrue(counter.getStatements() <= maxStatements,
+                    "Expected at most " + maxStatements + " SQL statements, but " + counter.getStatements() + " were run");
+            return result;
+        }
+    }
+
+    /**
+     * Runs the action and returns the number of SQL statements it ran.
+     *
+     * @param action the service call to count.
+     * @return the number of statements.
+     */
+    public static long countStatements(ThrowingSupplier<?> action) {
+        try (SqlStatementCounter counter = SqlStatementCounter.start()) {
+            get(action);
+            return counter.getStatements();
+        }
+    }
+
+    private static <T> T get(ThrowingSupplier<T> action) {
+        try {
+            return action.get();
+        } catch (Throwable e) {
+            return fail(e);
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package codearchitect99.taskory.tag;
 
+import codearchitect99.taskory.common.util.TimeUtil;
+import codearchitect99.taskory.event.EventNotFoundException;
+import codearchitect99.taskory.event.EventService;
+import codearchitect99.taskory.event.payload.EventResponse;
+import codearchitect99.taskory.event.payload.SaveEventRequest;
+import codearchitect99.taskory.event.payload.TaskInEventDto;
 import codearchitect99.taskory.tag.model.Color;
+import codearchitect99.taskory.tag.model.Tag;
 import codearchitect99.taskory.tag.payload.SaveTagRequest;
 import codearchitect99.taskory.tag.payload.TagResponse;
+import codearchitect99.taskory.task.exception.TaskNotFoundException;
+import codearchitect99.taskory.task.model.Status;
+import codearchitect99.taskory.task.payload.SaveTaskRequest;
+import codearchitect99.taskory.task.payload.TaskItemDto;
+import codearchitect99.taskory.task.payload.TaskResponse;
+import codearchitect99.taskory.task.service.TaskService;
 import codearchitect99.taskory.user.UserRepository;
 import codearchitect99.taskory.user.UserService;
 import codearchitect99.taskory.user.model.User;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,11 +27,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class TagServiceTest {
@@ -30,6 +47,18 @@ class TagServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
 
     private User user;
 
@@ -131,6 +160,54 @@ class TagServiceTest {
         assertEquals(updateTagResponse.toString(), tagService.getById(tagResponse.getId()).toString());
     }
 
+    /**
+     * Test for second-level cache invalidation after updating a tag
+     */
+    @Test
+    @DisplayName("update a cached tag")
+    void updateCachedTag() throws TagNotFoundException {
+//        Arrange
+        TagResponse tagResponse = tagService.save(user, new SaveTagRequest("cached tag", Color.BLUE.name()));
+        tagService.findAll(user);
+        tagRepository.findById(tagResponse.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Tag.class, tagResponse.getId()));
+
+//        Act
+        tagService.updateTag(tagResponse.getId(), new SaveTagRequest("updated tag", Color.RED.name()));
+
+//        Assert
+        Tag tag = tagRepository.findById(tagResponse.getId()).orElseThrow();
+        assertEquals("updated tag", tag.getTitle());
+        assertEquals(Color.RED, tag.getColor());
+        List<TagResponse> tagResponses = tagService.findAll(user);
+        assertEquals(1, tagResponses.size());
+        assertEquals("updated tag", tagResponses.get(0).getTitle());
+    }
+
+    /**
+     * Test for the task write path after a cached tag was updated and deleted
+     */
+    @Test
+    @DisplayName("save tasks with a cached tag after it changed")
+    void saveTaskWithChangedTag() throws Exception {
+//        Arrange
+        TagResponse tagResponse = tagService.save(user, new SaveTagRequest("cached tag", Color.BLUE.name()));
+        TaskResponse taskResponse = taskService.save(user, new SaveTaskRequest("cached tag task", null, tagResponse.getId(), Collections.emptyList(), "", "BACKLOG", null, null));
+        taskService.deleteById(taskResponse.getId());
+
+//        Act
+        tagService.updateTag(tagResponse.getId(), new SaveTagRequest("updated tag", Color.RED.name()));
+        TaskResponse updatedTaskResponse = taskService.save(user, new SaveTaskRequest("updated tag task", null, tagResponse.getId(), Collections.emptyList(), "", "BACKLOG", null, null));
+        taskService.deleteById(updatedTaskResponse.getId());
+        tagService.deleteById(tagResponse.getId());
+
+//        Assert
+        assertEquals("updated tag", updatedTaskResponse.getTag().getTitle());
+        assertEquals(Color.RED.name(), updatedTaskResponse.getTag().getColor());
+        assertThrows(TagNotFoundException.class, () -> taskService.save(user,
+                new SaveTaskRequest("deleted tag task", null, tagResponse.getId(), Collections.emptyList(), "", "BACKLOG", null, null)));
+    }
+
     /**
      * Test for delete a tag
      */
@@ -152,4 +229,32 @@ class TagServiceTest {
 //        Assert
         assertThrows(TagNotFoundException.class, () -> tagService.getById(tagId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for delete a tag with its tasks and events
+     */
+    @Test
+    @DisplayName("delete tag with tasks and events")
+    void deleteById_cascade() throws Exception {
+//        Arrange
+        TagResponse tagResponse = tagService.save(user, new SaveTagRequest("test tile", Color.BLUE.name()));
+        List<TaskItemDto> items = List.of(new TaskItemDto(null, null, "test item", false));
+        TaskResponse taskResponse = taskService.save(user, new SaveTaskRequest("test task", null, tagResponse.getId(), Collections.emptyList(), "", "BACKLOG", items, null));
+        EventResponse eventResponse = eventService.save(user, SaveEventRequest.builder()
+                .title("test event")
+                .tagId(tagResponse.getId())
+                .hashtagIds(Collections.emptyList())
+                .tasks(List.of(new TaskInEventDto(null, "task in event", Status.TODO)))
+                .startDateTime(TimeUtil.localDateTimeToString(LocalDateTime.now()))
+                .dueDateTime(TimeUtil.localDateTimeToString(LocalDateTime.now().plusDays(1)))
+                .build());
+
+//        Act
+        tagService.deleteById(tagResponse.getId());
+
+//        Assert
+        assertThrows(TagNotFoundException.class, () -> tagService.getById(tagResponse.getId()));
+        assertThrows(TaskNotFoundException.class, () -> taskService.getById(taskResponse.getId()));
+        assertThrows(EventNotFoundException.class, () -> eventService.getById(eventResponse.getId()));
+    }
+}
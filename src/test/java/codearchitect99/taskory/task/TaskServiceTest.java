@@ -3,6 +3,8 @@ package codearchitect99.taskory.task;
 import codearchitect99.taskory.event.Event;
 import codearchitect99.taskory.event.EventNotFoundException;
 import codearchitect99.taskory.event.EventRepository;
+import codearchitect99.taskory.hashtag.Hashtag;
+import codearchitect99.taskory.hashtag.HashtagRepository;
 import codearchitect99.taskory.setup.ArrangeTest;
 import codearchitect99.taskory.tag.TagNotFoundException;
 import codearchitect99.taskory.task.exception.InvalidDeadlineException;
@@ -26,6 +28,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static codearchitect99.taskory.setup.SqlStatementAssertions.assertMaxStatements;
+import static codearchitect99.taskory.setup.SqlStatementAssertions.countStatements;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -38,6 +42,8 @@ class TaskServiceTest extends ArrangeTest {
     private EventRepository eventRepository;
     @Autowired
     private TaskRepository taskRepository;
+    @Autowired
+    private HashtagRepository hashtagRepository;
 
     /**
      * Test for saving task
@@ -237,4 +243,38 @@ class TaskServiceTest extends ArrangeTest {
         assertTrue(task1Found, "Task 1 should be retrieved");
         assertTrue(task2Found, "Task 2 should be retrieved");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for the SQL statements of loading a task.
+     * The task row is read with its eager event and tag joined in, and one of its two eager bags joined as well;
+     * the other bag is loaded by a second select. Any further statement is an extra lazy load.
+     */
+    @Test
+    @DisplayName("get task with an exact number of SQL statements test")
+    void getByIdStatementCount() throws InvalidStatusNameException, TagNotFoundException, EventNotFoundException {
+//        Arrange
+        long expectedStatements = 2;
+        List<Long> hashtagIds = new ArrayList<>();
+        List<TaskItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Hashtag hashtag = new Hashtag();
+            hashtag.setTitle("statement count hashtag " + i);
+            hashtag.setUser(tempUser);
+            hashtagIds.add(hashtagRepository.save(hashtag).getId());
+            items.add(new TaskItemDto(null, null, "statement count item " + i, false));
+        }
+        SaveTaskRequest saveTaskRequest = new SaveTaskRequest("statement count task", null, tempTag.getId(), hashtagIds, null, "TODO", items, null);
+        Long taskId = taskService.save(tempUser, saveTaskRequest).getId();
+
+//        Act
+        long emptyTaskStatements = countStatements(() -> taskService.getById(tempTask.getId()));
+        long fullTaskStatements = countStatements(() -> taskService.getById(taskId));
+        TaskResponse taskResponse = assertMaxStatements(expectedStatements, () -> taskService.getById(taskId));
+
+//        Assert
+        assertEquals(expectedStatements, emptyTaskStatements);
+        assertEquals(expectedStatements, fullTaskStatements, "Hashtags and items of a task should not add statements");
+        assertEquals(3, taskResponse.getHashtags().size());
+        assertEquals(3, taskResponse.getItems().size());
+    }
+}
@@ -1,7 +1,17 @@
 package codearchitect99.taskory.user;
 
+import codearchitect99.taskory.security.model.UserPrincipal;
+import codearchitect99.taskory.security.service.CustomUserDetailsService;
+import codearchitect99.taskory.tag.TagRepository;
+import codearchitect99.taskory.tag.model.Color;
+import codearchitect99.taskory.tag.model.Tag;
+import codearchitect99.taskory.task.model.Status;
+import codearchitect99.taskory.task.model.Task;
+import codearchitect99.taskory.task.repository.TaskRepository;
+import codearchitect99.taskory.user.model.AccountDeletionJob;
 import codearchitect99.taskory.user.exception.UsernameAlreadyExistsException;
 import codearchitect99.taskory.user.model.User;
+import codearchitect99.taskory.user.payload.AccountDeletionResponse;
 import codearchitect99.taskory.user.payload.ProfileUpdateRequest;
 import codearchitect99.taskory.user.payload.UserResponse;
 import org.junit.jupiter.api.AfterEach;
@@ -11,11 +21,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class UserServiceTest {
@@ -26,6 +47,20 @@ class UserServiceTest {
     private UserRepository userRepository;
     @Autowired
     private UserService userService;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private AccountDeletionService accountDeletionService;
+    @Autowired
+    private UsernameFilter usernameFilter;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private AccountDeletionJobRepository accountDeletionJobRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
 
     /**
@@ -124,6 +159,121 @@ class UserServiceTest {
         assertThrows(UsernameNotFoundException.class, () -> userService.getByUsername(savedUserResponse.getUsername()));
     }
 
+    /**
+     * Test for principal cache invalidation on profile update and delete
+     */
+    @Test
+    @DisplayName("Cached principal follows profile update and delete")
+    void loadUserByUserId_cached() throws UsernameAlreadyExistsException {
+//        Arrange
+        userDetailsService.loadUserByUserId(user.getId());
+
+//        Act
+        String updateUsername = getUsername();
+        userService.updateProfile(user.getId(), new ProfileUpdateRequest(updateUsername));
 
+//        Assert
+        UserPrincipal userPrincipal = (UserPrincipal) userDetailsService.loadUserByUserId(user.getId());
+        assertEquals(updateUsername, userPrincipal.getUsername());
 
-}
\ No newline at end of file
+        userService.deleteById(user.getId());
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUserId(user.getId()));
+    }
+
+    /**
+     * Test for background account deletion
+     */
+    @Test
+    @DisplayName("Delete account in background")
+    void requestDeletion() {
+//        Arrange
+        Tag tag = tagRepository.save(Tag.builder().title("tag").color(Color.BLUE).user(user).build());
+        Task task = taskRepository.save(Task.builder().title("task").status(Status.TODO).tag(tag).user(user).build());
+
+//        Act
+        AccountDeletionResponse response = accountDeletionService.requestDeletion(user.getId());
+
+//        Assert
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUserId(user.getId()));
+
+        assertEquals(32, response.getJobId().length());
+        awaitCompleted(response.getJobId());
+        assertFalse(userRepository.existsById(user.getId()));
+        assertFalse(taskRepository.existsById(task.getId()));
+        assertFalse(tagRepository.existsById(tag.getId()));
+    }
+
+    /**
+     * Test for the periodic retry of a failed account deletion
+     */
+    @Test
+    @DisplayName("Retry failed account deletion")
+    void retryFailed() {
+//        Arrange
+        Tag tag = tagRepository.save(Tag.builder().title("tag").color(Color.BLUE).user(user).build());
+        AccountDeletionJob job = new AccountDeletionJob(user.getId());
+        job.fail();
+        accountDeletionJobRepository.save(job);
+
+//        Act
+        accountDeletionService.retryFailed();
+
+//        Assert
+        awaitCompleted(job.getId());
+        assertFalse(userRepository.existsById(user.getId()));
+        assertFalse(tagRepository.existsById(tag.getId()));
+    }
+
+    private void awaitCompleted(String jobId) {
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> accountDeletionService.findJob(jobId).orElseThrow().getState(),
+                        state -> state == AccountDeletionJob.State.COMPLETED);
+    }
+
+    /**
+     * Test for username availability through the username filter
+     */
+    @Test
+    @DisplayName("Check username availability")
+    void isUsernameAvailable() throws UsernameAlreadyExistsException {
+//        Arrange
+        usernameFilter.rebuild();
+        String updateUsername = getUsername();
+
+//        Act
+        boolean availableBeforeUpdate = userService.isUsernameAvailable(updateUsername);
+        userService.updateProfile(user.getId(), new ProfileUpdateRequest(updateUsername));
+
+//        Assert
+        assertTrue(availableBeforeUpdate);
+        assertFalse(userService.isUsernameAvailable(updateUsername));
+        assertTrue(usernameFilter.mightBeTaken(updateUsername.toUpperCase()));
+    }
+
+    /**
+     * Test for usernames added while the filter is rebuilt
+     */
+    @Test
+    @DisplayName("Add usernames during a filter rebuild")
+    void usernameFilter_addDuringRebuild() {
+//        Arrange
+        String addedUsername = getUsername();
+        AtomicReference<UsernameFilter> filter = new AtomicReference<>();
+        TransactionTemplate addingTransactionTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+                // Runs while the rebuild streams the table, add must neither block nor be lost
+                CompletableFuture.runAsync(() -> filter.get().add(addedUsername)).orTimeout(5, TimeUnit.SECONDS).join();
+                return super.execute(action);
+            }
+        };
+        filter.set(new UsernameFilter(userRepository, addingTransactionTemplate, 1000, 0.01));
+
+//        Act
+        filter.get().rebuild();
+
+//        Assert
+        assertTrue(filter.get().mightBeTaken(addedUsername));
+        assertTrue(filter.get().mightBeTaken(user.getUsername()));
+    }
+}